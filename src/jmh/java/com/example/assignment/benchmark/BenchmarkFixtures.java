@@ -0,0 +1,103 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.entity.Category;
+import com.example.assignment.entity.Customer;
+import com.example.assignment.entity.Product;
+import com.example.assignment.entity.Rating;
+import com.example.assignment.entity.User;
+import com.example.assignment.entity.UserProfile;
+import com.example.assignment.enums.MemberTier;
+import com.example.assignment.enums.Role;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.mapper.ProductMapperImpl;
+import com.example.assignment.mapper.UserMapper;
+import com.example.assignment.mapper.UserMapperImpl;
+import com.example.assignment.mapper.UserProfileMapperImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared test data and mapper wiring for the benchmarks.
+ * Mappers are the MapStruct generated implementations wired by hand, so no Spring context is started.
+ */
+final class BenchmarkFixtures {
+    static final String JWT_SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private BenchmarkFixtures() {
+        // Private constructor to prevent instantiation
+    }
+
+    static UserMapper userMapper() {
+        UserMapperImpl userMapper = new UserMapperImpl();
+        ReflectionTestUtils.setField(userMapper, "userProfileMapper", new UserProfileMapperImpl());
+        return userMapper;
+    }
+
+    static ProductMapper productMapper() {
+        ProductMapperImpl productMapper = new ProductMapperImpl();
+        ReflectionTestUtils.setField(productMapper, "userMapper", userMapper());
+        return productMapper;
+    }
+
+    static Customer customer(long id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setEmail("customer" + id + "@example.com");
+        customer.setRole(Role.CUSTOMER);
+        customer.setIsActive(true);
+        customer.setMemberTier(MemberTier.COMMON);
+        UserProfile profile = UserProfile.builder()
+            .id(id)
+            .firstName("First" + id)
+            .lastName("Last" + id)
+            .phoneNumber("0900" + id)
+            .avatar("https://cdn.example.com/avatar/" + id + ".png")
+            .build();
+        customer.setUserProfile(profile);
+        profile.setUser(customer);
+        return customer;
+    }
+
+    static Product product(long id, int ratingCount) {
+        Category category = new Category();
+        category.setId(id % 20);
+        category.setName("Category " + id % 20);
+        Product product = Product.builder()
+            .name("Product " + id)
+            .description("Description for product " + id)
+            .price(10.0 + id)
+            .avgRating(4.2)
+            .ratingCount(ratingCount)
+            .quantity(100)
+            .imageUrl("https://cdn.example.com/product/" + id + ".png")
+            .isActive(true)
+            .category(category)
+            .build();
+        product.setId(id);
+        product.setCreatedOn(new Date());
+        product.setUpdatedOn(new Date());
+        User createdBy = customer(1);
+        product.setCreatedBy(createdBy);
+        Set<Rating> ratings = new HashSet<>();
+        for (int i = 0; i < ratingCount; i++) {
+            Rating rating = new Rating(4.0, "Comment " + i, product, customer(i + 2L));
+            rating.setId(id * 1000 + i);
+            ratings.add(rating);
+        }
+        product.setRatings(ratings);
+        return product;
+    }
+
+    static List<Product> products(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(product(i + 1L, 0));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.mapper.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of a PagingRes of ProductRes, as returned by GET /api/v1/products,
+ * using an ObjectMapper built with the same defaults as the Spring MVC one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private PagingRes<ProductRes> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        ProductMapper productMapper = BenchmarkFixtures.productMapper();
+        page = productMapper.toPagingResult(
+            new PageImpl<>(BenchmarkFixtures.products(pageSize), PageRequest.of(0, pageSize), 10_000),
+            productMapper::toDto);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
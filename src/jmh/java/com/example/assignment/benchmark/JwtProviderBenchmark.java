@@ -0,0 +1,58 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.entity.User;
+import com.example.assignment.provider.JwtProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JWT work done on every authenticated request (JwtAuthenticationFilter)
+ * and on every login / refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtProviderBenchmark {
+    private JwtProvider jwtProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "secretKey", BenchmarkFixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "accessTokenExpiration", 900000L);
+        ReflectionTestUtils.setField(jwtProvider, "refreshTokenExpiration", 604800000L);
+        user = BenchmarkFixtures.customer(1);
+        token = jwtProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtProvider.extractUsername(token);
+    }
+}
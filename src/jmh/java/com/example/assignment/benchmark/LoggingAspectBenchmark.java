@@ -0,0 +1,90 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.aspect.LoggingAspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Benchmarks the per call overhead of LoggingAspect compared to a direct call.
+ * With level OFF only the proxy and advice dispatch are measured, with INFO the message
+ * formatting is measured too (records go to a no-op handler, so no I/O is involved).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+    @Param({"OFF", "INFO"})
+    public String level;
+
+    private Greeter direct;
+    private Greeter advised;
+
+    /**
+     * Stand-in for a service class annotated with @Logging.
+     */
+    @Logging
+    public static class Greeter {
+        public String greet(String name, Long id) {
+            return name + id;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Logger logger = Logger.getLogger(LoggingAspect.class.getName());
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord logRecord) {
+                // discard, only the formatting cost is measured
+            }
+
+            @Override
+            public void flush() {
+                // nothing to flush
+            }
+
+            @Override
+            public void close() {
+                // nothing to close
+            }
+        });
+        logger.setLevel(Level.parse(level));
+
+        direct = new Greeter();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Greeter());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect());
+        advised = factory.getProxy();
+    }
+
+    @Benchmark
+    public String directCall() {
+        return direct.greet("product", 42L);
+    }
+
+    @Benchmark
+    public String advisedCall() {
+        return advised.greet("product", 42L);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.ProductDetailRes;
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.entity.Customer;
+import com.example.assignment.entity.Product;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the MapStruct mappers and PagingMapper.toPagingResult on in-memory entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    /**
+     * Number of ratings attached to the product mapped by toDetailsDto.
+     */
+    @Param({"0", "20"})
+    public int ratingCount;
+
+    /**
+     * Number of products in the page mapped by toPagingResult.
+     */
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ProductMapper productMapper;
+    private UserMapper userMapper;
+    private Product product;
+    private Customer customer;
+    private Page<Product> page;
+
+    @Setup
+    public void setUp() {
+        productMapper = BenchmarkFixtures.productMapper();
+        userMapper = BenchmarkFixtures.userMapper();
+        product = BenchmarkFixtures.product(1, ratingCount);
+        customer = BenchmarkFixtures.customer(1);
+        page = new PageImpl<>(BenchmarkFixtures.products(pageSize), PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public ProductRes productToDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public ProductDetailRes productToDetailsDto() {
+        return productMapper.toDetailsDto(product);
+    }
+
+    @Benchmark
+    public UserRes userToDto() {
+        return userMapper.toDto(customer);
+    }
+
+    @Benchmark
+    public PagingRes<ProductRes> toPagingResult() {
+        return productMapper.toPagingResult(page, productMapper::toDto);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.dto.request.ProductFilterReq;
+import com.example.assignment.entity.Product;
+import com.example.assignment.specification.ProductSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the product filter specification of ProductServiceImpl.getProducts (ProductSpecification.fromFilter)
+ * for an empty filter and for a filter using every criterion: building the specification and resolving it with
+ * toPredicate into a criteria query of Hibernate's CriteriaBuilder, as the repository does before running it.
+ * Hibernate is bootstrapped over the entities without a database, no query is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+    private ProductFilterReq emptyFilter;
+    private ProductFilterReq fullFilter;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        emptyFilter = ProductFilterReq.builder().build();
+        fullFilter = ProductFilterReq.builder()
+            .name("phone")
+            .categoryId(3L)
+            .featured(true)
+            .isActive(true)
+            .minPrice(10.0)
+            .maxPrice(500.0)
+            .minRating(3.0)
+            .maxRating(5.0)
+            .build();
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPackagesToScan(Product.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // No JDBC metadata lookups, so the entities are mapped without a database
+        factory.setJpaPropertyMap(Map.of(
+            "hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect",
+            "hibernate.boot.allow_jdbc_metadata_access", "false",
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.cache.use_second_level_cache", "false"
+        ));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Product> emptyFilter() {
+        return query(emptyFilter);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Product> fullFilter() {
+        return query(fullFilter);
+    }
+
+    private CriteriaQuery<Product> query(ProductFilterReq filterReq) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        Predicate predicate = ProductSpecification.fromFilter(filterReq).toPredicate(root, query, criteriaBuilder);
+        return predicate != null ? query.where(predicate) : query;
+    }
+}
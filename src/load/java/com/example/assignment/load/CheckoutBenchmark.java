@@ -0,0 +1,136 @@
+package com.example.assignment.load;
+
+import com.example.assignment.dto.request.CheckoutReq;
+import com.example.assignment.dto.response.CartRes;
+import com.example.assignment.service.CartService;
+import com.example.assignment.service.CheckoutService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the orders per second of the checkout through the CartService and CheckoutService beans of the application,
+ * booted against an embedded Postgres with its configuration, for each number of concurrent customers (checkout.threads). Every customer fills its cart with checkout.items products picked at random
+ * among checkout.skus, so the checkouts keep reserving the same products concurrently, and places it.
+ * The stock never runs out.
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.main=com.example.assignment.load.CheckoutBenchmark
+ */
+@Slf4j
+public final class CheckoutBenchmark {
+    private CheckoutBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threads = integers(System.getProperty("checkout.threads", "1,2,4," + cores * 2));
+        int skus = Integer.getInteger("checkout.skus", 16);
+        int items = Math.min(Integer.getInteger("checkout.items", 3), skus);
+        long durationMillis = Long.getLong("checkout.duration-ms", 5000);
+        Path output = Path.of(System.getProperty("checkout.output", "target/checkout/checkout.csv"));
+        Files.createDirectories(output.getParent());
+        int customers = threads.stream().mapToInt(Integer::intValue).max().orElse(1);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = LoadApplication.start(postgres,
+                 "--seed.mode=off",
+                 "--spring.datasource.hikari.maximum-pool-size=" + customers)) {
+            insertDataset(new JdbcTemplate(context.getBean(DataSource.class)), skus, customers);
+            CartService cartService = context.getBean(CartService.class);
+            CheckoutService checkoutService = context.getBean(CheckoutService.class);
+
+            StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%8s %10s", "threads", "orders/s"));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                out.println("threads,skus,items,orders_per_second");
+                for (int threadCount : threads) {
+                    long throughput = run(cartService, checkoutService, threadCount, skus, items, durationMillis);
+                    out.println(threadCount + "," + skus + "," + items + "," + throughput);
+                    table.append(String.format(Locale.ROOT, "%n%8d %10d", threadCount, throughput));
+                }
+            }
+            log.info("Checkout benchmark finished ({} skus, {} items per order), results written to {}{}",
+                skus, items, output.toAbsolutePath(), table);
+        }
+    }
+
+    /**
+     * The products with a stock that never runs out, and one customer with a shipping address per thread.
+     */
+    private static void insertDataset(JdbcTemplate jdbcTemplate, int skus, int customers) {
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Hot')");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active)
+            SELECT n, 'Product ' || n, n + 0.99, 1000000000, 1, true FROM generate_series(1, ?) n
+            """, skus);
+        jdbcTemplate.update("""
+            INSERT INTO users (id, email, role)
+            SELECT n, 'buyer-' || n || '@example.com', 'CUSTOMER' FROM generate_series(1, ?) n
+            """, customers);
+        jdbcTemplate.update("INSERT INTO customers (id, member_tier) SELECT n, 'COMMON' FROM generate_series(1, ?) n", customers);
+        jdbcTemplate.update("""
+            INSERT INTO shipping_addresses (id, address_line_1, city, country, postal_code, phone_number, latitude, longitude, customer_id)
+            SELECT n, n || ' Main St', 'Hanoi', 'VN', '100000', '0900000000', 21.0, 105.8, n FROM generate_series(1, ?) n
+            """, customers);
+    }
+
+    /**
+     * Fill and place carts from threadCount customers, after a warmup of a fifth of the duration.
+     * @return the orders per second
+     */
+    private static long run(CartService cartService, CheckoutService checkoutService,
+                            int threadCount, int skus, int items, long durationMillis) throws Exception {
+        LongAdder orders = new LongAdder();
+        long warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis / 5);
+        long end = warmupEnd + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= threadCount; i++) {
+                long customerId = i;
+                futures.add(executor.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        ThreadLocalRandom.current().ints(1, skus + 1).distinct().limit(items)
+                            .forEach(productId -> cartService.addItem(customerId, (long) productId, 1));
+                        CartRes cart = cartService.getCart(customerId);
+                        checkoutService.checkout(customerId, UUID.randomUUID().toString(),
+                            new CheckoutReq(customerId, cart.getTotal()));
+                        if (now >= warmupEnd) {
+                            orders.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return orders.sum() * 1000 / durationMillis;
+    }
+
+    private static List<Integer> integers(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).map(Integer::valueOf).distinct().toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.assignment.load;
+
+import com.example.assignment.config.seed.DatasetGenerator;
+import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.service.CustomerService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures the latency of the customer search (CustomerService.getCustomers) against an embedded Postgres holding
+ * search.customers customers generated by the DatasetGenerator, with the schema and the trigram indexes migrated
+ * by Flyway. Every search asks for the first page of 20 customers and its total, search.iterations times after
+ * a warmup, and the median and 95th percentile are reported.
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.main=com.example.assignment.load.CustomerSearchBenchmark
+ */
+@Slf4j
+public final class CustomerSearchBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private CustomerSearchBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A search with its text and member tier, either of them null.
+     */
+    private record Search(String label, String name, String memberTier) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int customers = Integer.getInteger("search.customers", 1_000_000);
+        int iterations = Integer.getInteger("search.iterations", 50);
+        Path output = Path.of(System.getProperty("search.output", "target/customer-search/customer-search.csv"));
+        Files.createDirectories(output.getParent());
+        String rareEmail = DatasetGenerator.customerEmail(customers / 2L);
+        List<Search> searches = List.of(
+            new Search("all", null, null),
+            new Search("tier", null, "VIP"),
+            new Search("email", rareEmail.substring(0, rareEmail.indexOf('@') + 1), null),
+            new Search("phone", String.valueOf(1_000_000_000L + customers / 3), null),
+            new Search("last-name", "nguyen", null),
+            new Search("first-name-tier", "minh", "VIP"),
+            new Search("no-match", "zzzz", null)
+        );
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             // The customers, and a minimal catalog
+             ConfigurableApplicationContext context = LoadApplication.startWithDataset(postgres, 1, 1000, customers, 0)) {
+            new JdbcTemplate(context.getBean(DataSource.class)).execute("ANALYZE");
+            CustomerService customerService = context.getBean(CustomerService.class);
+
+            StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-16s %10s %10s %10s",
+                "search", "matches", "p50 ms", "p95 ms"));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                out.println("search,name,member_tier,matches,p50_ms,p95_ms");
+                for (Search search : searches) {
+                    long matches = run(customerService, search).getTotalElements();
+                    Histogram latencies = LoadApplication.measure(iterations, () -> run(customerService, search));
+                    double p50 = LoadReport.percentile(latencies, 50.0);
+                    double p95 = LoadReport.percentile(latencies, 95.0);
+                    out.printf(Locale.ROOT, "%s,%s,%s,%d,%.2f,%.2f%n", search.label(),
+                        search.name() == null ? "" : search.name(), search.memberTier() == null ? "" : search.memberTier(),
+                        matches, p50, p95);
+                    table.append(String.format(Locale.ROOT, "%n%-16s %10d %10.2f %10.2f", search.label(), matches, p50, p95));
+                }
+            }
+            log.info("Customer search benchmark finished ({} customers, {} iterations), results written to {}{}",
+                customers, iterations, output.toAbsolutePath(), table);
+        }
+    }
+
+    private static PagingRes<UserRes> run(CustomerService customerService, Search search) {
+        return customerService.getCustomers(search.name(), search.memberTier(), 0, PAGE_SIZE, "asc", "id");
+    }
+}
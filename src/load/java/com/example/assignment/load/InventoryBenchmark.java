@@ -0,0 +1,121 @@
+package com.example.assignment.load;
+
+import com.example.assignment.exception.OutOfStockException;
+import com.example.assignment.service.InventoryService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the reservations per second of a single hot product through the InventoryService bean of the application,
+ * booted against an embedded Postgres, for each number of concurrent buyers (inventory.threads) and stock slots
+ * (inventory.slots). The pool has one connection per buyer.
+ * Every reservation takes one unit in its own transaction, the stock never runs out.
+ * With one slot every buyer queues on the product row lock, with more slots the throughput should grow with the buyers.
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.main=com.example.assignment.load.InventoryBenchmark
+ */
+@Slf4j
+public final class InventoryBenchmark {
+    private static final long PRODUCT_ID = 1;
+
+    private InventoryBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threads = integers(System.getProperty("inventory.threads", "1,2,4," + cores));
+        List<Integer> slots = integers(System.getProperty("inventory.slots", "1,4," + cores));
+        long durationMillis = Long.getLong("inventory.duration-ms", 5000);
+        Path output = Path.of(System.getProperty("inventory.output", "target/inventory/inventory.csv"));
+        Files.createDirectories(output.getParent());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = LoadApplication.start(postgres,
+                 "--seed.mode=off",
+                 "--inventory.max-slots=" + max(slots),
+                 "--spring.datasource.hikari.maximum-pool-size=" + max(threads))) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Hot')");
+            jdbcTemplate.update("INSERT INTO products (id, name, price, quantity, category_id) VALUES (?, 'Hot product', 1, 0, 1)", PRODUCT_ID);
+            InventoryService inventoryService = context.getBean(InventoryService.class);
+
+            StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%8s %8s %14s", "slots", "threads", "reservations/s"));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                out.println("slots,threads,reservations_per_second");
+                for (int slotCount : slots) {
+                    for (int threadCount : threads) {
+                        inventoryService.splitStock(PRODUCT_ID, slotCount);
+                        inventoryService.restock(PRODUCT_ID, Integer.MAX_VALUE / 2);
+                        long throughput = run(inventoryService, threadCount, durationMillis);
+                        out.println(slotCount + "," + threadCount + "," + throughput);
+                        table.append(String.format(Locale.ROOT, "%n%8d %8d %14d", slotCount, threadCount, throughput));
+                    }
+                }
+            }
+            log.info("Inventory benchmark finished, results written to {}{}", output.toAbsolutePath(), table);
+        }
+    }
+
+    /**
+     * Reserve one unit per transaction (the transaction of the service) from threadCount threads,
+     * after a warmup of a fifth of the duration.
+     * @return the reservations per second
+     */
+    private static long run(InventoryService inventoryService, int threadCount, long durationMillis) throws Exception {
+        LongAdder reservations = new LongAdder();
+        long warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis / 5);
+        long end = warmupEnd + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        try {
+                            inventoryService.reserve(Map.of(PRODUCT_ID, 1));
+                        } catch (OutOfStockException e) {
+                            throw new IllegalStateException("The benchmark stock ran out", e);
+                        }
+                        if (now >= warmupEnd) {
+                            reservations.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return reservations.sum() * 1000 / durationMillis;
+    }
+
+    private static int max(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).max().orElse(1);
+    }
+
+    private static List<Integer> integers(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).map(Integer::valueOf).distinct().toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.assignment.load;
+
+import com.example.assignment.AssignmentApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Boots the application for the load test and the benchmarks, and measures the latency of the calls they make.
+ * The application runs against an embedded Postgres on a random port, with production-like logging:
+ * no SQL or security debug output, which would otherwise dominate the measured latencies.
+ * Latencies go to an HdrHistogram of the LoadReport range and precision.
+ */
+final class LoadApplication {
+
+    private LoadApplication() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Boot the application against an embedded Postgres.
+     * @param arguments the arguments of the caller (profiles, seed mode, dataset), appended to the common ones
+     */
+    static ConfigurableApplicationContext start(EmbeddedPostgres postgres, String... arguments) {
+        String logLevel = System.getProperty("load.log-level", "WARN");
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=" + logLevel,
+            "--logging.level.org.springframework.security=" + logLevel,
+            "--logging.level.com.example.assignment.load=INFO",
+            "--logging.level.com.example.assignment.config.seed=INFO"
+        ));
+        args.addAll(List.of(arguments));
+        return new SpringApplicationBuilder(AssignmentApplication.class).run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Boot the application in the fast-startup mode, Flyway creating the schema, with the dataset of the
+     * DatasetGenerator generated before it is ready.
+     */
+    static ConfigurableApplicationContext startWithDataset(EmbeddedPostgres postgres, int categoryRoots, int products,
+                                                           int customers, int ratings) {
+        return start(postgres,
+            "--spring.profiles.include=fast-startup",
+            "--seed.mode=sync",
+            "--dataset.generator.enabled=true",
+            "--dataset.category-roots=" + categoryRoots,
+            "--dataset.products=" + products,
+            "--dataset.customers=" + customers,
+            "--dataset.ratings=" + ratings
+        );
+    }
+
+    /**
+     * Make a call iterations times, after a warmup of a fifth of the iterations.
+     * @return the latencies in microseconds
+     */
+    static Histogram measure(int iterations, Callable<?> call) throws Exception {
+        for (int i = 0; i < Math.max(1, iterations / 5); i++) {
+            call.call();
+        }
+        Histogram histogram = LoadReport.histogram();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.call();
+            LoadReport.recordNanos(histogram, System.nanoTime() - start);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.assignment.load;
+
+import com.example.assignment.config.seed.DatasetGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * The dataset the load test runs against, created by the DatasetGenerator when the application boots
+ * (see LoadTestRunner for the dataset.* properties). This class only reads back the ids requests are built from.
+ */
+public class LoadDataset {
+    static final String PASSWORD = "load-password";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ids of the generated rows, used to build requests.
+     *
+     * @param categoryIds ids of the leaf categories
+     * @param productIds ids of the generated products
+     * @param customers number of generated customers
+     */
+    public record Handles(long[] categoryIds, long[] productIds, int customers) {
+        /**
+         * @param index the customer index, wrapped around the number of customers
+         * @return the email of the generated customer
+         */
+        public String customerEmail(int index) {
+            return DatasetGenerator.customerEmail(index % customers);
+        }
+    }
+
+    public LoadDataset(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @return the ids of the generated rows
+     */
+    public Handles load() {
+        long[] categoryIds = ids("""
+            SELECT id FROM categories c WHERE NOT EXISTS (SELECT 1 FROM categories s WHERE s.parent_id = c.id) ORDER BY id
+            """);
+        long[] productIds = ids("SELECT id FROM products ORDER BY id");
+        Integer customers = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM users WHERE email LIKE 'customer-%'", Integer.class);
+        return new Handles(categoryIds, productIds, customers == null ? 0 : customers);
+    }
+
+    private long[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+}
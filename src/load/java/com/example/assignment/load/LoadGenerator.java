@@ -0,0 +1,114 @@
+package com.example.assignment.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the traffic mix against a running application.
+ * Every virtual user runs on its own virtual thread and picks its next operation from the weighted mix.
+ * Without a target rate the users run in a closed loop and latency is the response time of each request.
+ * With a target rate each user follows a fixed schedule and latency is measured from the scheduled start,
+ * so a stalled server is not hidden by users that stop sending (coordinated omission).
+ */
+@Slf4j
+class LoadGenerator {
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadGenerator(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Run the warmup then the measured phase.
+     * @param baseUri the application base URI
+     * @param dataset the generated rows to build requests from
+     * @param threadMode the request execution mode of the application, used to label the report
+     * @param outputDir directory receiving the report files
+     * @return the report of the measured phase
+     */
+    LoadReport run(URI baseUri, LoadDataset.Handles dataset, String threadMode, Path outputDir)
+        throws IOException, InterruptedException {
+        List<LoadOperation> operations = config.weightedOperations();
+        LoadReport report = new LoadReport(threadMode, config.mix().keySet());
+        // The client gets its own executor, so stopping the users does not fail their in-flight requests
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .connectTimeout(Duration.ofSeconds(10))
+                 .executor(Executors.newVirtualThreadPerTaskExecutor())
+                 .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<VirtualUser> users = new ArrayList<>(config.users());
+            for (int i = 0; i < config.users(); i++) {
+                VirtualUser user = new VirtualUser(httpClient, objectMapper, baseUri, dataset, i, config.seed());
+                user.login();
+                users.add(user);
+            }
+
+            long startNanos = System.nanoTime();
+            long measureNanos = startNanos + config.warmup().toNanos();
+            long endNanos = measureNanos + config.duration().toNanos();
+            long periodNanos = config.targetRps() > 0 ? TimeUnit.SECONDS.toNanos(config.users()) / config.targetRps() : 0;
+            for (int i = 0; i < users.size(); i++) {
+                VirtualUser user = users.get(i);
+                SplittableRandom random = new SplittableRandom(config.seed() - i);
+                executor.execute(() -> drive(user, random, operations, report, startNanos, endNanos, periodNanos));
+            }
+
+            log.info("Warming up for {} s with {} users", config.warmup().toSeconds(), config.users());
+            LockSupport.parkNanos(measureNanos - System.nanoTime());
+            report.start(outputDir);
+            log.info("Measuring for {} s", config.duration().toSeconds());
+            while (System.nanoTime() < endNanos) {
+                LockSupport.parkNanos(Math.min(INTERVAL.toNanos(), endNanos - System.nanoTime()));
+                report.logInterval();
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Virtual users did not stop within a minute");
+            }
+            report.finish(outputDir);
+        }
+        return report;
+    }
+
+    private static void drive(VirtualUser user, SplittableRandom random, List<LoadOperation> operations,
+                              LoadReport report, long startNanos, long endNanos, long periodNanos) {
+        long intendedStart = startNanos + (periodNanos > 0 ? random.nextLong(periodNanos) : 0);
+        while (intendedStart < endNanos) {
+            if (periodNanos > 0) {
+                LockSupport.parkNanos(intendedStart - System.nanoTime());
+            } else {
+                intendedStart = System.nanoTime();
+            }
+            LoadOperation operation = operations.get(random.nextInt(operations.size()));
+            boolean success;
+            try {
+                int status = user.execute(operation);
+                success = status >= 200 && status < 300;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                success = false;
+            }
+            report.record(operation, System.nanoTime() - intendedStart, success);
+            intendedStart += periodNanos;
+        }
+    }
+}
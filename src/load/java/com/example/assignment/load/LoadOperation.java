@@ -0,0 +1,33 @@
+package com.example.assignment.load;
+
+import lombok.Getter;
+
+/**
+ * Operations of the traffic mix, each reported as its own endpoint.
+ */
+@Getter
+public enum LoadOperation {
+    BROWSE("browse", "GET /api/v1/products"),
+    DETAIL("detail", "GET /api/v1/products/{id}"),
+    CATEGORY_TREE("category-tree", "GET /api/v1/categories/tree"),
+    RATE("rate", "POST /api/v1/ratings"),
+    LOGIN("login", "POST /api/v1/auth/login"),
+    REFRESH("refresh", "GET /api/v1/auth/refresh");
+
+    private final String key;
+    private final String endpoint;
+
+    LoadOperation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public static LoadOperation fromKey(String key) {
+        for (LoadOperation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Invalid load operation: " + key);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.assignment.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error statistics of a load test run, per operation.
+ * Latencies are recorded in microseconds into HdrHistogram recorders.
+ * Interval histograms are written to an HDR log tagged with the operation key
+ * (readable by HistogramLogProcessor and the HdrHistogram plotter),
+ * and the accumulated histograms give the summary and the percentile distributions.
+ */
+class LoadReport {
+    static final String HISTOGRAM_LOG = "latency.hlog";
+    static final String SUMMARY = "summary.csv";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<LoadOperation, Recorder> recorders = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, Histogram> totals = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private final String threadMode;
+    private HistogramLogWriter logWriter;
+    private PrintStream logStream;
+    private long startMillis;
+    private long endMillis;
+
+    LoadReport(String threadMode, Iterable<LoadOperation> operations) {
+        this.threadMode = threadMode;
+        for (LoadOperation operation : operations) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            totals.put(operation, histogram());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * @return an empty histogram of latencies in microseconds, with the range and precision of the report
+     */
+    static Histogram histogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    static void recordNanos(Histogram histogram, long latencyNanos) {
+        histogram.recordValue(micros(latencyNanos));
+    }
+
+    private static long micros(long latencyNanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    void record(LoadOperation operation, long latencyNanos, boolean success) {
+        recorders.get(operation).recordValue(micros(latencyNanos));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Drop what was recorded during the warmup and start the measured run.
+     * @param outputDir directory of the HDR log
+     */
+    void start(Path outputDir) throws IOException {
+        startMillis = System.currentTimeMillis();
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        Files.createDirectories(outputDir);
+        logStream = new PrintStream(Files.newOutputStream(outputDir.resolve(HISTOGRAM_LOG)), false);
+        logWriter = new HistogramLogWriter(logStream);
+        logWriter.outputLogFormatVersion();
+        logWriter.outputComment("thread mode: " + threadMode);
+        logWriter.outputStartTime(startMillis);
+        logWriter.setBaseTime(startMillis);
+        logWriter.outputLegend();
+    }
+
+    /**
+     * Move the latencies recorded since the previous interval to the HDR log and the totals.
+     */
+    synchronized void logInterval() {
+        long now = System.currentTimeMillis();
+        recorders.forEach((operation, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            if (interval.getTotalCount() == 0) {
+                return;
+            }
+            interval.setTag(operation.getKey());
+            interval.setEndTimeStamp(now);
+            logWriter.outputIntervalHistogram(interval);
+            totals.get(operation).add(interval);
+        });
+    }
+
+    /**
+     * Log the last interval, close the HDR log and write the summary and percentile distributions.
+     * @param outputDir directory of the report files
+     */
+    void finish(Path outputDir) throws IOException {
+        logInterval();
+        endMillis = System.currentTimeMillis();
+        logStream.close();
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(outputDir.resolve(SUMMARY)), false)) {
+            summary.println("thread_mode,operation,endpoint,requests,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms,errors,error_rate");
+            totals.forEach((operation, histogram) -> summary.println(String.join(",",
+                threadMode, operation.getKey(), operation.getEndpoint(),
+                Long.toString(histogram.getTotalCount()),
+                format(throughput(histogram)),
+                format(percentile(histogram, 50.0)),
+                format(percentile(histogram, 99.0)),
+                format(percentile(histogram, 99.9)),
+                format(histogram.getMaxValue() / MICROS_PER_MILLI),
+                Long.toString(errors.get(operation).sum()),
+                format(errorRate(operation, histogram)))));
+        }
+        for (Map.Entry<LoadOperation, Histogram> entry : totals.entrySet()) {
+            try (PrintStream distribution = new PrintStream(
+                Files.newOutputStream(outputDir.resolve(entry.getKey().getKey() + ".hgrm")), false)) {
+                entry.getValue().outputPercentileDistribution(distribution, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * @return a human-readable table of the run
+     */
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+            "%nThread mode: %s, duration: %.1f s%n%-30s %10s %10s %10s %10s %10s %8s %8s%n",
+            threadMode, (endMillis - startMillis) / 1000.0,
+            "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors", "error %"));
+        totals.forEach((operation, histogram) -> table.append(String.format(Locale.ROOT,
+            "%-30s %10d %10.1f %10.2f %10.2f %10.2f %8d %8.2f%n",
+            operation.getEndpoint(), histogram.getTotalCount(), throughput(histogram),
+            percentile(histogram, 50.0), percentile(histogram, 99.0), percentile(histogram, 99.9),
+            errors.get(operation).sum(), errorRate(operation, histogram) * 100)));
+        return table.toString();
+    }
+
+    private double throughput(Histogram histogram) {
+        long elapsed = Math.max(endMillis - startMillis, 1);
+        return histogram.getTotalCount() * 1000.0 / elapsed;
+    }
+
+    private double errorRate(LoadOperation operation, Histogram histogram) {
+        long count = histogram.getTotalCount();
+        return count == 0 ? 0 : (double) errors.get(operation).sum() / count;
+    }
+
+    /**
+     * @return the latency at a percentile of a histogram of the report, in milliseconds
+     */
+    static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
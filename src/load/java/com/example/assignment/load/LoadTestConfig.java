@@ -0,0 +1,97 @@
+package com.example.assignment.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from "load.*" system properties.
+ *
+ * @param duration measured duration of each run
+ * @param warmup duration of the unmeasured warmup before each run
+ * @param users number of concurrent virtual users
+ * @param targetRps total request rate, 0 runs the users in a closed loop as fast as possible
+ * @param mix weight of each operation in the traffic mix
+ * @param threadModes request execution modes to run, "platform" and/or "virtual"
+ * @param categoryRoots number of root categories of the generated tree
+ * @param products number of generated products
+ * @param customers number of generated customers
+ * @param ratings number of generated ratings
+ * @param seed seed of the dataset and of the random traffic, the same seed replays the same requests
+ * @param outputDir directory receiving the HDR histogram logs and the summary
+ */
+public record LoadTestConfig(
+    Duration duration,
+    Duration warmup,
+    int users,
+    int targetRps,
+    Map<LoadOperation, Integer> mix,
+    List<String> threadModes,
+    int categoryRoots,
+    int products,
+    int customers,
+    int ratings,
+    long seed,
+    Path outputDir
+) {
+    static final String DEFAULT_MIX = "browse=40,detail=30,category-tree=10,rate=10,login=5,refresh=5";
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            DurationStyle.detectAndParse(System.getProperty("load.duration", "60s")),
+            DurationStyle.detectAndParse(System.getProperty("load.warmup", "15s")),
+            Integer.getInteger("load.users", 64),
+            Integer.getInteger("load.target-rps", 0),
+            parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+            List.of(System.getProperty("load.threads", "platform,virtual").split(",")),
+            Integer.getInteger("load.category-roots", 12),
+            Integer.getInteger("load.products", 10_000),
+            Integer.getInteger("load.customers", 1_000),
+            Integer.getInteger("load.ratings", 100_000),
+            Long.getLong("load.seed", 42L),
+            Path.of(System.getProperty("load.output", "target/load"))
+        );
+    }
+
+    /**
+     * Parse a traffic mix such as "browse=40,detail=30".
+     * @param mix the comma separated list of operation=weight
+     * @return the weight of each operation, in declaration order
+     */
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must be >= 0: " + entry);
+            }
+            weights.put(LoadOperation.fromKey(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must contain at least one positive weight");
+        }
+        return weights;
+    }
+
+    /**
+     * @return the operations weighted by the mix, to be picked uniformly
+     */
+    List<LoadOperation> weightedOperations() {
+        List<LoadOperation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.assignment.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of the end-to-end load test.
+ * It starts an embedded Postgres (no network or installed database needed), then for each thread mode
+ * boots the application against it, generating the dataset on the first boot, and runs the traffic mix.
+ * Reports go to load.output/&lt;timestamp&gt;/&lt;thread mode&gt;, so runs made before and after a change can be compared.
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.duration=60s -Dload.users=64
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Path runDir = config.outputDir().resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        StringBuilder tables = new StringBuilder();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            for (String threadMode : config.threadModes()) {
+                try (ConfigurableApplicationContext context = startApplication(config, postgres, threadMode.trim())) {
+                    LoadDataset.Handles dataset = new LoadDataset(context.getBean(DataSource.class)).load();
+                    int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                    LoadReport report = new LoadGenerator(config)
+                        .run(URI.create("http://localhost:" + port), dataset, threadMode.trim(), runDir.resolve(threadMode.trim()));
+                    tables.append(report.toTable());
+                }
+            }
+        }
+        log.info("Load test finished, reports written to {}{}", runDir.toAbsolutePath(), tables);
+    }
+
+    /**
+     * Boot the application in a thread mode, generating the dataset of the configuration.
+     */
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config, EmbeddedPostgres postgres, String threadMode) {
+        if (!"platform".equals(threadMode) && !"virtual".equals(threadMode)) {
+            throw new IllegalArgumentException("Invalid thread mode: " + threadMode);
+        }
+        return LoadApplication.start(postgres,
+            "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+            "--dataset.generator.enabled=true",
+            "--dataset.seed=" + config.seed(),
+            "--dataset.category-roots=" + config.categoryRoots(),
+            "--dataset.products=" + config.products(),
+            "--dataset.customers=" + config.customers(),
+            "--dataset.ratings=" + config.ratings(),
+            "--dataset.customer-password=" + LoadDataset.PASSWORD
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.assignment.load;
+
+import com.example.assignment.service.ShippingAddressService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+
+/**
+ * Measures the latency of the shipping address searches (ShippingAddressService) against an embedded Postgres holding
+ * address.count addresses clustered around a few cities, with the schema and the spatial index migrated by Flyway.
+ * Every search is run address.iterations times after a warmup, and the median and 95th percentile are reported,
+ * along with a radius search computing the distance of every address (the scan the index replaces).
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.main=com.example.assignment.load.ShippingAddressBenchmark
+ */
+@Slf4j
+public final class ShippingAddressBenchmark {
+    private static final double LATITUDE = 21.0285;
+    private static final double LONGITUDE = 105.8542;
+    /**
+     * Addresses spread around these cities, most of them within 20 km.
+     */
+    private static final String INSERT_ADDRESSES = """
+        WITH cities (i, city, latitude, longitude) AS (VALUES (0, 'Hanoi', 21.0285, 105.8542),
+                 (1, 'Ho Chi Minh City', 10.8231, 106.6297), (2, 'Da Nang', 16.0544, 108.2022),
+                 (3, 'Hai Phong', 20.8449, 106.6881), (4, 'Can Tho', 10.0452, 105.7469), (5, 'Hue', 16.4637, 107.5909),
+                 (6, 'Nha Trang', 12.2388, 109.1967), (7, 'Vinh', 18.6796, 105.6813)),
+             customer_ids AS (SELECT array_agg(id ORDER BY id) AS ids FROM customers)
+        INSERT INTO shipping_addresses (address_line_1, city, country, postal_code, phone_number, latitude, longitude, customer_id)
+        SELECT n || ' Generated Street', c.city, 'VN', '100000', '0900000000',
+               c.latitude + (random() + random() + random() - 1.5) * 0.2,
+               c.longitude + (random() + random() + random() - 1.5) * 0.2,
+               customer_ids.ids[1 + n % cardinality(customer_ids.ids)]
+        FROM generate_series(0, ? - 1) n JOIN cities c ON c.i = n % 8, customer_ids
+        """;
+    private static final String SCAN_WITHIN_RADIUS = """
+        SELECT count(*) FROM shipping_addresses
+        WHERE earth_distance(ll_to_earth(?, ?), ll_to_earth(latitude, longitude)) <= ?
+        """;
+
+    private ShippingAddressBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A search returning its number of results.
+     */
+    private record Search(String label, IntSupplier run) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int addresses = Integer.getInteger("address.count", 2_000_000);
+        int iterations = Integer.getInteger("address.iterations", 50);
+        Path output = Path.of(System.getProperty("address.output", "target/shipping-address/shipping-address.csv"));
+        Files.createDirectories(output.getParent());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             // The customers owning the addresses, and a minimal catalog
+             ConfigurableApplicationContext context = LoadApplication.startWithDataset(postgres, 1, 1000,
+                 Math.max(1, addresses / 5), 0)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            long start = System.nanoTime();
+            jdbcTemplate.update(INSERT_ADDRESSES, addresses);
+            jdbcTemplate.execute("ANALYZE shipping_addresses");
+            log.info("Inserted and indexed {} addresses in {} ms", addresses, (System.nanoTime() - start) / 1_000_000);
+
+            ShippingAddressService shippingAddressService = context.getBean(ShippingAddressService.class);
+            List<Search> searches = List.of(
+                new Search("within-1km", () -> shippingAddressService.findWithinRadius(LATITUDE, LONGITUDE, 1_000, 1_000, false).size()),
+                new Search("within-5km", () -> shippingAddressService.findWithinRadius(LATITUDE, LONGITUDE, 5_000, 1_000, false).size()),
+                new Search("within-5km-customers", () -> shippingAddressService.findWithinRadius(LATITUDE, LONGITUDE, 5_000, 1_000, true).size()),
+                new Search("within-50km-top100", () -> shippingAddressService.findWithinRadius(LATITUDE, LONGITUDE, 50_000, 100, false).size()),
+                new Search("nearest-10", () -> shippingAddressService.findNearest(LATITUDE, LONGITUDE, 10, false).size()),
+                new Search("nearest-1000", () -> shippingAddressService.findNearest(LATITUDE, LONGITUDE, 1_000, false).size()),
+                new Search("nearest-100-customers", () -> shippingAddressService.findNearest(LATITUDE, LONGITUDE, 100, true).size()),
+                // Far from every city, the nearest addresses are hundreds of kilometers away
+                new Search("nearest-10-remote", () -> shippingAddressService.findNearest(0, 0, 10, false).size()),
+                new Search("scan-within-5km", () -> jdbcTemplate.queryForObject(SCAN_WITHIN_RADIUS, Integer.class, LATITUDE, LONGITUDE, 5_000))
+            );
+
+            StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-24s %10s %10s %10s",
+                "search", "results", "p50 ms", "p95 ms"));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                out.println("search,addresses,results,p50_ms,p95_ms");
+                for (Search search : searches) {
+                    // The scan takes seconds at millions of addresses
+                    int runs = search.label().startsWith("scan") ? Math.max(1, iterations / 10) : iterations;
+                    int results = search.run().getAsInt();
+                    Histogram latencies = LoadApplication.measure(runs, search.run()::getAsInt);
+                    double p50 = LoadReport.percentile(latencies, 50.0);
+                    double p95 = LoadReport.percentile(latencies, 95.0);
+                    out.printf(Locale.ROOT, "%s,%d,%d,%.2f,%.2f%n", search.label(), addresses, results, p50, p95);
+                    table.append(String.format(Locale.ROOT, "%n%-24s %10d %10.2f %10.2f", search.label(), results, p50, p95));
+                }
+            }
+            log.info("Shipping address benchmark finished ({} addresses, {} iterations), results written to {}{}",
+                addresses, iterations, output.toAbsolutePath(), table);
+        }
+    }
+}
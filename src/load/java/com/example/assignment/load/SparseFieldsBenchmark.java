@@ -0,0 +1,122 @@
+package com.example.assignment.load;
+
+import com.example.assignment.dto.request.ProductFilterReq;
+import com.example.assignment.service.ProductService;
+import com.example.assignment.service.RatingService;
+import com.example.assignment.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compares the full responses of the product, rating and user endpoints with sparse fieldsets (?fields=) of the
+ * same requests, against an embedded Postgres holding the dataset of the DatasetGenerator (sparse.products products,
+ * sparse.customers customers and sparse.ratings ratings). Every request is served by its service and serialized
+ * with the application ObjectMapper as the controller would, sparse.iterations times after a warmup: the size of
+ * the JSON body and the median and 95th percentile latency are reported per request and representation.
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.main=com.example.assignment.load.SparseFieldsBenchmark
+ */
+@Slf4j
+public final class SparseFieldsBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private SparseFieldsBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A request, served in full and with the sparse fieldset.
+     */
+    private record Scenario(String label, String fields, Supplier<Object> full, Supplier<Object> sparse) {
+    }
+
+    /**
+     * The measures of one representation of a request.
+     */
+    private record Measure(int bytes, double p50, double p95) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int products = Integer.getInteger("sparse.products", 20_000);
+        int customers = Integer.getInteger("sparse.customers", 20_000);
+        int ratings = Integer.getInteger("sparse.ratings", 200_000);
+        int iterations = Integer.getInteger("sparse.iterations", 100);
+        Path output = Path.of(System.getProperty("sparse.output", "target/sparse-fields/sparse-fields.csv"));
+        Files.createDirectories(output.getParent());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             // The default category tree of 12 departments
+             ConfigurableApplicationContext context = LoadApplication.startWithDataset(postgres, 12, products, customers, ratings)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            jdbcTemplate.execute("ANALYZE");
+            ProductService productService = context.getBean(ProductService.class);
+            RatingService ratingService = context.getBean(RatingService.class);
+            UserService userService = context.getBean(UserService.class);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            // The most rated product, its detail carries every rating
+            Long productId = jdbcTemplate.queryForObject(
+                "SELECT product_id FROM ratings GROUP BY product_id ORDER BY count(*) DESC LIMIT 1", Long.class);
+
+            Set<String> productFields = Set.of("id", "name", "price");
+            Set<String> ratingFields = Set.of("score", "comment", "createdOn");
+            Set<String> userFields = Set.of("id", "firstName", "lastName");
+            List<Scenario> scenarios = List.of(
+                new Scenario("products", "id,name,price",
+                    () -> productService.getProducts(new ProductFilterReq(), 0, PAGE_SIZE, "desc", "avgRating"),
+                    () -> productService.getProducts(new ProductFilterReq(), productFields, 0, PAGE_SIZE, "desc", "avgRating")),
+                new Scenario("product-detail", "id,name,price",
+                    () -> productService.getProductById(productId),
+                    () -> productService.getProductById(productId, productFields)),
+                new Scenario("product-ratings", "score,comment,createdOn",
+                    () -> ratingService.getRatingsByProductId(productId, 0, PAGE_SIZE, "desc", "createdOn"),
+                    () -> ratingService.getRatingsByProductId(productId, ratingFields, 0, PAGE_SIZE, "desc", "createdOn")),
+                new Scenario("ratings", "score,comment,createdOn",
+                    () -> ratingService.getAllRatings(0, PAGE_SIZE, "desc", "createdOn"),
+                    () -> ratingService.getAllRatings(ratingFields, 0, PAGE_SIZE, "desc", "createdOn")),
+                new Scenario("users", "id,firstName,lastName",
+                    () -> userService.getUsers(0, PAGE_SIZE, "asc", "id"),
+                    () -> userService.getUsers(userFields, 0, PAGE_SIZE, "asc", "id"))
+            );
+
+            StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-16s %-24s %10s %10s %10s %10s %10s %10s",
+                "request", "fields", "full B", "sparse B", "full p50", "sparse p50", "full p95", "sparse p95"));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                out.println("request,fields,full_bytes,sparse_bytes,full_p50_ms,sparse_p50_ms,full_p95_ms,sparse_p95_ms");
+                for (Scenario scenario : scenarios) {
+                    Measure full = measure(objectMapper, scenario.full(), iterations);
+                    Measure sparse = measure(objectMapper, scenario.sparse(), iterations);
+                    out.printf(Locale.ROOT, "%s,\"%s\",%d,%d,%.2f,%.2f,%.2f,%.2f%n", scenario.label(), scenario.fields(),
+                        full.bytes(), sparse.bytes(), full.p50(), sparse.p50(), full.p95(), sparse.p95());
+                    table.append(String.format(Locale.ROOT, "%n%-16s %-24s %10d %10d %10.2f %10.2f %10.2f %10.2f",
+                        scenario.label(), scenario.fields(), full.bytes(), sparse.bytes(), full.p50(), sparse.p50(),
+                        full.p95(), sparse.p95()));
+                }
+            }
+            log.info("Sparse fields benchmark finished ({} products, {} customers, {} ratings, {} iterations), "
+                + "results written to {}{}", products, customers, ratings, iterations, output.toAbsolutePath(), table);
+        }
+    }
+
+    /**
+     * Serve and serialize a request, after a warmup, and measure the body size and latency.
+     */
+    private static Measure measure(ObjectMapper objectMapper, Supplier<Object> request, int iterations) throws Exception {
+        int bytes = objectMapper.writeValueAsBytes(request.get()).length;
+        Histogram latencies = LoadApplication.measure(iterations, () -> objectMapper.writeValueAsBytes(request.get()));
+        return new Measure(bytes, LoadReport.percentile(latencies, 50.0), LoadReport.percentile(latencies, 95.0));
+    }
+}
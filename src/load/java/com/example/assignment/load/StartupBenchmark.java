@@ -0,0 +1,248 @@
+package com.example.assignment.load;
+
+import com.example.assignment.AssignmentApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the cold start of the application in its startup modes, each in a fresh JVM against an embedded Postgres:
+ * - default: Flyway migrates the schema, Hibernate validates it and the seeds run before the application is ready
+ * - fast: the fast-startup profile, the migrated schema is not validated and the seeds run in the background
+ * - fast-cds: fast with a class data sharing archive recorded by a training run
+ * - aot: fast with the context initializer generated by the aot Maven profile, its classes (startup.aot-classes,
+ *   target/aot/classes by default) replacing target/classes on the classpath (skipped when it was not built)
+ * Every mode gets its own database and a first unmeasured run creating its schema and seed data,
+ * then the median of each stage logged by the StartupReporter over startup.runs runs is reported.
+ * <p>
+ * Run with: mvn -Pload test-compile exec:java -Dload.main=com.example.assignment.load.StartupBenchmark -Dstartup.runs=5
+ */
+@Slf4j
+public final class StartupBenchmark {
+    private static final String STAGES_MARKER = "Startup stages (ms):";
+    private static final List<String> STAGES = List.of("jvm", "environment", "refresh", "flyway", "jpa", "runners", "total");
+    private static final Pattern STAGE = Pattern.compile("(\\w+)=(\\d+)");
+    private static final String AOT_INITIALIZER = AssignmentApplication.class.getName() + "__ApplicationContextInitializer";
+    private static final long RUN_TIMEOUT_SECONDS = 180;
+
+    private StartupBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        List<String> modes = List.of(System.getProperty("startup.modes", "default,fast,fast-cds,aot").split(","));
+        Path outputDir = Path.of(System.getProperty("startup.output", "target/startup"));
+        Files.createDirectories(outputDir);
+        String classpath = classpath();
+
+        Map<String, Map<String, Long>> medians = new LinkedHashMap<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            for (String mode : modes) {
+                String database = "startup_" + mode.trim().replace('-', '_');
+                createDatabase(postgres, database);
+                List<String> command = command(mode.trim(), classpath, postgres.getJdbcUrl("postgres", database), outputDir);
+                if (command.isEmpty()) {
+                    log.warn("Skipping {}: {} not found, build it with mvn -Paot package", mode, AOT_INITIALIZER);
+                    continue;
+                }
+                if (mode.trim().equals("fast-cds")) {
+                    train(command, outputDir);
+                }
+                start(command);
+                List<Map<String, Long>> samples = new ArrayList<>();
+                for (int i = 0; i < runs; i++) {
+                    samples.add(start(command));
+                }
+                medians.put(mode.trim(), median(samples));
+            }
+        }
+        String table = write(medians, outputDir.resolve("startup.csv"));
+        log.info("Startup benchmark finished ({} runs per mode), results written to {}{}", runs, outputDir.toAbsolutePath(), table);
+    }
+
+    /**
+     * @return the JVM command line of the mode, or an empty list if the mode cannot run
+     */
+    private static List<String> command(String mode, String classpath, String jdbcUrl, Path outputDir) {
+        List<String> command = new ArrayList<>();
+        String modeClasspath = classpath;
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dspring.devtools.restart.enabled=false");
+        switch (mode) {
+            case "default" -> { }
+            case "fast" -> command.add("-Dspring.profiles.include=fast-startup");
+            case "fast-cds" -> {
+                command.add("-Dspring.profiles.include=fast-startup");
+                command.add("-XX:SharedArchiveFile=" + outputDir.resolve("application.jsa").toAbsolutePath());
+                command.add("-Xshare:auto");
+            }
+            case "aot" -> {
+                Path aotClasses = Path.of(System.getProperty("startup.aot-classes", "target/aot/classes")).toAbsolutePath();
+                if (!Files.exists(aotClasses.resolve(AOT_INITIALIZER.replace('.', '/') + ".class"))) {
+                    return List.of();
+                }
+                modeClasspath = withClasses(classpath, aotClasses);
+                command.add("-Dspring.profiles.include=fast-startup");
+                command.add("-Dspring.aot.enabled=true");
+            }
+            default -> throw new IllegalArgumentException("Invalid startup mode: " + mode);
+        }
+        command.addAll(List.of(
+            "-cp", modeClasspath,
+            AssignmentApplication.class.getName(),
+            "--spring.datasource.url=" + jdbcUrl,
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--logging.level.com.example.assignment.config.StartupReporter=INFO"
+        ));
+        return command;
+    }
+
+    /**
+     * Record the classes loaded until the context is refreshed into the archive used by the fast-cds runs.
+     * Classes loaded from directories such as target/classes cannot be archived, only the dependency jars are.
+     */
+    private static void train(List<String> command, Path outputDir) throws IOException, InterruptedException {
+        List<String> training = new ArrayList<>(command);
+        training.removeIf(option -> option.startsWith("-XX:SharedArchiveFile") || option.startsWith("-Xshare"));
+        training.add(1, "-XX:ArchiveClassesAtExit=" + outputDir.resolve("application.jsa").toAbsolutePath());
+        training.add(2, "-Dspring.context.exit=onRefresh");
+        Process process = new ProcessBuilder(training).redirectErrorStream(true)
+            .redirectOutput(outputDir.resolve("cds-training.log").toFile())
+            .start();
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("CDS training run timed out");
+        }
+    }
+
+    /**
+     * Start the application, wait for its startup stages and stop it.
+     * @return the duration of each stage in milliseconds
+     */
+    private static Map<String, Long> start(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> output = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int marker = line.indexOf(STAGES_MARKER);
+                if (marker >= 0) {
+                    Map<String, Long> stages = new LinkedHashMap<>();
+                    Matcher matcher = STAGE.matcher(line.substring(marker + STAGES_MARKER.length()));
+                    while (matcher.find()) {
+                        stages.put(matcher.group(1), Long.parseLong(matcher.group(2)));
+                    }
+                    return stages;
+                }
+                output.add(line);
+            }
+            throw new IOException("Application exited before being ready:\n" + String.join("\n", output));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Map<String, Long> median(List<Map<String, Long>> samples) {
+        Map<String, Long> medians = new LinkedHashMap<>();
+        for (String stage : samples.get(0).keySet()) {
+            long[] values = samples.stream().mapToLong(sample -> sample.getOrDefault(stage, 0L)).sorted().toArray();
+            medians.put(stage, values[values.length / 2]);
+        }
+        return medians;
+    }
+
+    private static String write(Map<String, Map<String, Long>> medians, Path csv) throws IOException {
+        List<String> stages = STAGES.stream()
+            .filter(stage -> medians.values().stream().anyMatch(values -> values.containsKey(stage)))
+            .toList();
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-10s", "mode"));
+        stages.forEach(stage -> table.append(String.format(Locale.ROOT, " %12s", stage)));
+        try (PrintStream out = new PrintStream(Files.newOutputStream(csv), false, StandardCharsets.UTF_8)) {
+            out.println("mode," + String.join(",", stages));
+            medians.forEach((mode, values) -> {
+                table.append(String.format(Locale.ROOT, "%n%-10s", mode));
+                List<String> row = new ArrayList<>(List.of(mode));
+                for (String stage : stages) {
+                    String value = values.containsKey(stage) ? values.get(stage).toString() : "";
+                    table.append(String.format(Locale.ROOT, " %12s", value));
+                    row.add(value);
+                }
+                out.println(String.join(",", row));
+            });
+        }
+        return table.toString();
+    }
+
+    private static void createDatabase(EmbeddedPostgres postgres, String database) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database);
+            statement.execute("CREATE DATABASE " + database);
+        }
+    }
+
+    /**
+     * exec:java runs this class in Maven's JVM with its own class loader, so the test classpath
+     * is read from that class loader rather than from java.class.path.
+     */
+    /**
+     * @return the classpath with the application classes replaced by the given directory
+     */
+    private static String withClasses(String classpath, Path classes) {
+        String applicationClasses;
+        try {
+            applicationClasses = Paths.get(AssignmentApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the application classes", e);
+        }
+        List<String> entries = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            entries.add(entry.equals(applicationClasses) ? classes.toString() : entry);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static String classpath() throws URISyntaxException {
+        if (StartupBenchmark.class.getClassLoader() instanceof URLClassLoader loader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : loader.getURLs()) {
+                entries.add(Paths.get(url.toURI()).toString());
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.assignment.load;
+
+import com.example.assignment.config.seed.DatasetGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * A simulated customer issuing the requests of the traffic mix.
+ * Each user logs in once before the run, keeps its access and refresh tokens,
+ * and updates them whenever a login or refresh operation succeeds.
+ */
+class VirtualUser {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String JSON = "application/json";
+    private static final String[] SORT_FIELDS = {"id", "price", "avgRating", "name"};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final LoadDataset.Handles dataset;
+    private final String email;
+    private final SplittableRandom random;
+
+    private String accessToken;
+    private String refreshToken;
+    private long customerId;
+
+    VirtualUser(HttpClient httpClient, ObjectMapper objectMapper, URI baseUri, LoadDataset.Handles dataset, int index, long seed) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        this.email = dataset.customerEmail(index);
+        this.random = new SplittableRandom(seed + index);
+    }
+
+    /**
+     * Log in so authenticated operations can run.
+     * @throws IOException if the login fails
+     */
+    void login() throws IOException, InterruptedException {
+        int status = execute(LoadOperation.LOGIN);
+        if (status != 200) {
+            throw new IOException("Login of " + email + " failed with status " + status);
+        }
+    }
+
+    /**
+     * Send the request of the given operation and wait for the whole response.
+     * @param operation the operation to run
+     * @return the HTTP status code
+     */
+    int execute(LoadOperation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case BROWSE -> send(get("/api/v1/products?" + browseQuery())).statusCode();
+            case DETAIL -> send(get("/api/v1/products/" + pick(dataset.productIds()))).statusCode();
+            case CATEGORY_TREE -> send(get("/api/v1/categories/tree")).statusCode();
+            case RATE -> send(post("/api/v1/ratings", """
+                {"score": %d, "comment": "Load test rating", "productId": %d, "customerId": %d}
+                """.formatted(1 + random.nextInt(5), pick(dataset.productIds()), customerId))
+                .header("Authorization", "Bearer " + accessToken)).statusCode();
+            case LOGIN -> loginRequest();
+            case REFRESH -> refreshRequest();
+        };
+    }
+
+    private int loginRequest() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/v1/auth/login", """
+            {"email": "%s", "password": "%s"}
+            """.formatted(email, LoadDataset.PASSWORD)));
+        if (response.statusCode() == 200) {
+            JsonNode body = objectMapper.readTree(response.body());
+            accessToken = body.path("accessToken").asText();
+            refreshToken = body.path("refreshToken").asText();
+            customerId = body.path("userDetails").path("id").asLong();
+        }
+        return response.statusCode();
+    }
+
+    private int refreshRequest() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(get("/api/v1/auth/refresh")
+            .header("Cookie", "refreshToken=" + refreshToken));
+        if (response.statusCode() == 200) {
+            accessToken = objectMapper.readTree(response.body()).path("accessToken").asText();
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Catalog browsing: a category page, a price or rating range or a name search,
+     * with a random sort and mostly shallow pages.
+     */
+    private String browseQuery() {
+        StringBuilder query = new StringBuilder();
+        switch (random.nextInt(4)) {
+            case 0 -> query.append("categoryId=").append(pick(dataset.categoryIds()));
+            case 1 -> {
+                int minPrice = random.nextInt(900);
+                query.append("minPrice=").append(minPrice).append("&maxPrice=").append(minPrice + 100);
+            }
+            case 2 -> query.append("minRating=").append(random.nextInt(5));
+            default -> query.append("name=").append(DatasetGenerator.PRODUCT_NOUNS.get(random.nextInt(DatasetGenerator.PRODUCT_NOUNS.size())));
+        }
+        if (random.nextInt(10) == 0) {
+            query.append("&featured=true");
+        }
+        int pageNo = random.nextInt(10) == 0 ? random.nextInt(10, 50) : random.nextInt(3);
+        query.append("&pageNo=").append(pageNo)
+            .append("&pageSize=20")
+            .append("&sortBy=").append(SORT_FIELDS[random.nextInt(SORT_FIELDS.length)])
+            .append("&sortDir=").append(random.nextBoolean() ? "asc" : "desc");
+        return query.toString();
+    }
+
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.header("Accept", JSON).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -2,17 +2,23 @@ package com.example.assignment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
 @EnableCaching
 @EnableJpaAuditing(auditorAwareRef = "auditorProvider")
 @EnableAspectJAutoProxy
+@EnableAsync
 public class AssignmentApplication {
     public static void main(String[] args) {
-        SpringApplication.run(AssignmentApplication.class, args);
+        SpringApplication application = new SpringApplication(AssignmentApplication.class);
+        // Records the startup steps for the StartupReporter and /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(10000));
+        application.run(args);
     }
 
 }
@@ -39,9 +39,13 @@ public class LoggingAspect extends BaseAspect {
     }
 
     /**
-     * Pointcut for all methods in classes ending with ServiceImpl
+     * Pointcut for all methods in classes ending with ServiceImpl, but the in-memory cart, the stock reservations
+     * and the featured product snapshot, whose operations are too frequent and too cheap to be logged
      */
-    @Pointcut("execution(* com.example.assignment.service.impl..*ServiceImpl.*(..))")
+    @Pointcut("execution(* com.example.assignment.service.impl..*ServiceImpl.*(..))"
+        + " && !within(com.example.assignment.service.impl.CartServiceImpl)"
+        + " && !within(com.example.assignment.service.impl.InventoryServiceImpl)"
+        + " && !within(com.example.assignment.service.impl.FeaturedProductServiceImpl)")
     public void serviceImplPointcut() {
     }
 
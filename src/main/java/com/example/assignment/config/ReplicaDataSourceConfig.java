@@ -0,0 +1,133 @@
+package com.example.assignment.config;
+
+import com.example.assignment.filter.ReadYourWritesFilter;
+import com.example.assignment.util.ReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Configuration routing the read-only transactions to a read replica (replica.enabled=true).
+ * The application data source hands out lazy connections that are only fetched on their first statement, once the
+ * transaction has marked them read-only or not: read-only transactions (@Transactional(readOnly = true), the Spring Data
+ * finders) take a connection from the replica pool, everything else from the primary pool. Statements run outside a
+ * transaction use the primary.
+ * <p>
+ * The reads flagged by ReadYourWrites, those of a client that just wrote and those building cached responses,
+ * use the primary even in a read-only transaction.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${replica.url}")
+    private String url;
+
+    @Value("${replica.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${replica.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${replica.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${replica.read-your-writes:5s}")
+    private Duration readYourWrites;
+
+    /**
+     * @param properties the spring.datasource properties
+     * @return the pool of the primary, configured by spring.datasource and spring.datasource.hikari
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * @param properties the spring.datasource properties, for the driver
+     * @return the pool of the replica, its connections are read-only
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource replica = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        log.info("Read-only transactions routed to the replica {}", url);
+        return replica;
+    }
+
+    /**
+     * @param primaryDataSource the primary pool
+     * @param replicaDataSource the replica pool
+     * @return the application data source, routing each connection on its first statement
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaDataSource(replicaDataSource, primaryDataSource));
+        return dataSource;
+    }
+
+    /**
+     * Registers the ReadYourWritesFilter before the security filter chain, so the user lookup of the JWT
+     * authentication reads from the primary too.
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWrites));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    /**
+     * The replica, unless the current thread must read from the primary.
+     */
+    private static final class ReplicaDataSource extends DelegatingDataSource {
+        private final DataSource primary;
+
+        private ReplicaDataSource(DataSource replica, DataSource primary) {
+            super(replica);
+            this.primary = primary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return ReadYourWrites.isPrimaryRequired() ? primary.getConnection() : super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return ReadYourWrites.isPrimaryRequired() ? primary.getConnection(username, password)
+                : super.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.assignment.config;
+
+import com.example.assignment.entity.Category;
+import com.example.assignment.entity.Product;
+import com.example.assignment.entity.Rating;
+import com.example.assignment.service.FeaturedProductService;
+import com.example.assignment.service.ResponseCacheService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached responses once a transaction changing their data has committed:
+ * - the category tree on any category insert, update or delete
+ * - the featured products when a featured product changes, a product stops being featured,
+ *   or a featured product is rated (its average rating changes)
+ * Evicting after the commit guarantees the next request rebuilds the response from the committed data.
+ * The snapshot of the featured products is refreshed along with their cached response.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInvalidator
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final ResponseCacheService responseCacheService;
+    private final FeaturedProductService featuredProductService;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getEntity(), wasFeatured(event));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, the cached responses are still current
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, the cached responses are still current
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, the cached responses are still current
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return Category.class.isAssignableFrom(entityClass)
+            || Product.class.isAssignableFrom(entityClass)
+            || Rating.class.isAssignableFrom(entityClass);
+    }
+
+    private void evict(Object entity, boolean wasFeatured) {
+        if (entity instanceof Category) {
+            responseCacheService.evict(ResponseCacheService.CATEGORY_TREE);
+        } else if (entity instanceof Product product && (product.isFeatured() || wasFeatured)) {
+            evictFeaturedProducts();
+        } else if (entity instanceof Rating rating && rating.getProduct() != null && rating.getProduct().isFeatured()) {
+            evictFeaturedProducts();
+        }
+    }
+
+    private void evictFeaturedProducts() {
+        featuredProductService.refresh();
+        responseCacheService.evict(ResponseCacheService.FEATURED_PRODUCTS);
+    }
+
+    private static boolean wasFeatured(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (!(event.getEntity() instanceof Product) || oldState == null) {
+            // Without the old state (detached update) the flag may have just been cleared
+            return event.getEntity() instanceof Product;
+        }
+        int featured = event.getPersister().getPropertyIndex("featured");
+        return Boolean.TRUE.equals(oldState[featured]);
+    }
+}
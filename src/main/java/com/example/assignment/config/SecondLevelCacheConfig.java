@@ -0,0 +1,61 @@
+package com.example.assignment.config;
+
+import com.example.assignment.constant.CacheRegion;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration of the Hibernate second-level cache, holding the reference data read on almost every request:
+ * the categories (eager association of every product) and their sub-category collections, @Cache on the entity
+ * with the regions named in CacheRegion.
+ * <p>
+ * The regions are Caffeine caches behind JCache, each bounded to second-level-cache.max-size entries and expiring
+ * second-level-cache.expire-after-write after being loaded. Hibernate keeps them in sync with its own writes
+ * (read-write strategy, collection caches evicted when the owning side of the association changes), writes done
+ * through JDBC evict them explicitly. Hits and misses per region are published by the Hibernate metrics
+ * (hibernate.second.level.cache.requests).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    @Value("${second-level-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${second-level-cache.expire-after-write:1h}")
+    private Duration expireAfterWrite;
+
+    /**
+     * Hands Hibernate a cache manager with the bounded regions, Hibernate closes it with the session factory.
+     * Each application context gets its own manager, the provider shares managers by URI.
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer() {
+        return properties -> {
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+            for (String region : List.of(CacheRegion.CATEGORIES, CacheRegion.SUB_CATEGORIES)) {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(maxSize));
+                configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+                cacheManager.createCache(region, configuration);
+            }
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            // Regions of entities cached without a configuration here, unbounded
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE.getExternalRepresentation());
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.assignment.config;
 
 import com.example.assignment.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,6 +50,8 @@ public class SecurityConfig {
                 // Public endpoints - anyone can access
                 .requestMatchers(HttpMethod.GET, PUBLIC_URLS).permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
+                // Streamed exports complete on an async dispatch, the request was authorized on the first dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Any other request requires authentication
                 .anyRequest().authenticated()
             );
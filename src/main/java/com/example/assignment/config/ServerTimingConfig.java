@@ -0,0 +1,67 @@
+package com.example.assignment.config;
+
+import com.example.assignment.filter.ServerTimingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration for the Server-Timing breakdown.
+ * Enabled with server-timing.enabled=true, when disabled none of these beans exist and
+ * the ServerTiming calls in the filters and services are no-ops.
+ * Stages: auth (JwtAuthenticationFilter), query and count (JDBC execution),
+ * map (MapStruct mapping) and serialize (Jackson).
+ */
+@Configuration
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    /**
+     * Registers the ServerTimingFilter before the security filter chain,
+     * so the JWT authentication time is part of the breakdown.
+     * @param meterRegistry the registry for the per-endpoint stage histograms
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+            new FilterRegistrationBean<>(new ServerTimingFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Plugs the ServerTimingJpaListener into Hibernate as statement inspector and session listener.
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer serverTimingHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new ServerTimingJpaListener());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, ServerTimingJpaListener.class.getName());
+        };
+    }
+
+    /**
+     * Replaces the Jackson converters with timed ones to measure serialization.
+     * @param converters the configured message converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter ->
+            converter instanceof MappingJackson2HttpMessageConverter jackson
+                && !(converter instanceof TimedJackson2HttpMessageConverter)
+                ? new TimedJackson2HttpMessageConverter(jackson.getObjectMapper())
+                : converter);
+    }
+}
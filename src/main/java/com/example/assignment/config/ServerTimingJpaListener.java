@@ -0,0 +1,58 @@
+package com.example.assignment.config;
+
+import com.example.assignment.util.ServerTiming;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hooks feeding the "query" and "count" stages of the Server-Timing header.
+ * As a StatementInspector it sees every SQL string before it is prepared and flags count queries,
+ * as a session event listener it measures the JDBC execution time of each statement.
+ * Both are no-ops when no timing context is bound to the current thread.
+ */
+public class ServerTimingJpaListener extends BaseSessionEventListener implements StatementInspector {
+    private static final String COUNT_PREFIX = "select count(";
+
+    private transient long statementStart;
+
+    @Override
+    public String inspect(String sql) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.setCountStatement(isCountQuery(sql));
+        }
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            String stage = timing.isCountStatement() ? ServerTiming.COUNT : ServerTiming.QUERY;
+            timing.record(stage, System.nanoTime() - statementStart);
+        }
+    }
+
+    /**
+     * Check whether a SQL string is a count query, skipping the leading comment
+     * added by hibernate.use_sql_comments.
+     * @param sql the SQL string
+     * @return true if the statement starts with "select count("
+     */
+    static boolean isCountQuery(String sql) {
+        int offset = 0;
+        if (sql.startsWith("/*")) {
+            int commentEnd = sql.indexOf("*/");
+            offset = commentEnd < 0 ? 0 : commentEnd + 2;
+        }
+        while (offset < sql.length() && Character.isWhitespace(sql.charAt(offset))) {
+            offset++;
+        }
+        return sql.regionMatches(true, offset, COUNT_PREFIX, 0, COUNT_PREFIX.length());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.assignment.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Logs how long each startup stage took once the application is ready, on a single line:
+ * - jvm: from the JVM start to the SpringApplication creation (class loading, CDS)
+ * - environment: preparing the environment (property sources, profiles)
+ * - refresh: refreshing the context, which includes flyway and jpa
+ * - flyway: running the schema migrations
+ * - jpa: building the entity manager factory (Hibernate metamodel, schema validation or update)
+ * - runners: the command line runners, i.e. the synchronous seeds
+ * - total: from the JVM start to the application being ready
+ * The stage breakdown needs the BufferingApplicationStartup set in AssignmentApplication,
+ * without it only runners and total are reported. The full timeline is exposed on /actuator/startup.
+ */
+@Slf4j
+@Component
+public class StartupReporter {
+    private static final String FLYWAY_BEAN = "flywayInitializer";
+    private static final String JPA_BEAN = "entityManagerFactory";
+
+    private long startedAt;
+
+    @EventListener
+    public void onApplicationStarted(ApplicationStartedEvent event) {
+        startedAt = System.nanoTime();
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        long runnersMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        Map<String, Long> stages = new LinkedHashMap<>();
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            stages.putAll(timelineStages(startup.getBufferedTimeline()));
+        }
+        stages.put("runners", runnersMillis);
+        stages.put("total", System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+
+        StringBuilder line = new StringBuilder("Startup stages (ms):");
+        stages.forEach((stage, millis) -> line.append(' ').append(stage).append('=').append(millis));
+        log.info(line.toString());
+    }
+
+    /**
+     * @param timeline the recorded startup steps
+     * @return the duration in milliseconds of the stages found in the timeline
+     */
+    static Map<String, Long> timelineStages(StartupTimeline timeline) {
+        Map<String, Long> stages = new LinkedHashMap<>();
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        stages.put("jvm", Math.max(0, timeline.getStartTime().toEpochMilli() - jvmStart));
+        find(timeline, "spring.boot.application.environment-prepared", null)
+            .ifPresent(event -> stages.put("environment", event.getDuration().toMillis()));
+        find(timeline, "spring.context.refresh", null)
+            .ifPresent(event -> stages.put("refresh", event.getDuration().toMillis()));
+
+        Optional<StartupTimeline.TimelineEvent> flyway = find(timeline, "spring.beans.instantiate", FLYWAY_BEAN);
+        flyway.ifPresent(event -> stages.put("flyway", event.getDuration().toMillis()));
+        find(timeline, "spring.beans.instantiate", JPA_BEAN).ifPresent(jpa -> {
+            // The migrations run as a dependency of the entity manager factory, so they are nested in its step
+            Duration nested = flyway.filter(event -> within(event, jpa))
+                .map(StartupTimeline.TimelineEvent::getDuration)
+                .orElse(Duration.ZERO);
+            stages.put("jpa", jpa.getDuration().minus(nested).toMillis());
+        });
+        return stages;
+    }
+
+    private static Optional<StartupTimeline.TimelineEvent> find(StartupTimeline timeline, String name, String beanName) {
+        return timeline.getEvents().stream()
+            .filter(event -> event.getStartupStep().getName().equals(name))
+            .filter(event -> beanName == null || hasTag(event.getStartupStep(), "beanName", beanName))
+            .findFirst();
+    }
+
+    private static boolean hasTag(StartupStep step, String key, String value) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key) && tag.getValue().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean within(StartupTimeline.TimelineEvent inner, StartupTimeline.TimelineEvent outer) {
+        Instant start = inner.getStartTime();
+        return !start.isBefore(outer.getStartTime()) && !inner.getEndTime().isAfter(outer.getEndTime());
+    }
+}
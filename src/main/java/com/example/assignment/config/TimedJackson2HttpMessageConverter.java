@@ -0,0 +1,29 @@
+package com.example.assignment.config;
+
+import com.example.assignment.util.ServerTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson message converter that records the "serialize" stage of the Server-Timing header.
+ * It replaces the default Jackson converter only when server timing is enabled.
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        try (ServerTiming.Stage ignored = ServerTiming.start(ServerTiming.SERIALIZE)) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.assignment.config;
+
+import com.example.assignment.filter.ConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration for the virtual-thread request execution mode (spring.threads.virtual.enabled=true).
+ * Spring Boot already runs Tomcat requests, @Async methods and scheduled tasks on virtual threads in this mode,
+ * this class sizes them against the JDBC connection pool so they do not stampede the database
+ * and reports carrier-thread pinning.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Value("${virtual-threads.requests-per-connection:2}")
+    private int requestsPerConnection;
+
+    @Value("${virtual-threads.acquire-timeout:5s}")
+    private Duration acquireTimeout;
+
+    @Value("${virtual-threads.pinning-threshold:20ms}")
+    private Duration pinningThreshold;
+
+    /**
+     * Bounds in-flight requests to a multiple of the connection pool size.
+     * Registered right after the Server-Timing filter, before security and the JWT lookup.
+     * @param dataSource the application data source
+     * @param meterRegistry the registry exposing the in-flight request gauge
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(DataSource dataSource, MeterRegistry meterRegistry) {
+        int maxConcurrentRequests = getPoolSize(dataSource) * requestsPerConnection;
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout);
+        Gauge.builder("http.server.requests.in-flight", filter, ConcurrencyLimitFilter::getInFlightRequests)
+            .description("Requests currently holding a concurrency permit")
+            .register(meterRegistry);
+        log.info("Virtual threads enabled, limiting concurrent requests to {}", maxConcurrentRequests);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Limits concurrent @Async tasks and background pipelines to the connection pool size,
+     * extra tasks block (without pinning) until a slot is free.
+     * @param dataSource the application data source
+     * @return the customizer of the virtual-thread task executor
+     */
+    @Bean
+    public SimpleAsyncTaskExecutorCustomizer poolSizedTaskExecutorCustomizer(DataSource dataSource) {
+        int poolSize = getPoolSize(dataSource);
+        return executor -> executor.setConcurrencyLimit(poolSize);
+    }
+
+    /**
+     * Streams JFR pinning events while the application runs.
+     * @param meterRegistry the registry for the pinning counter
+     * @return the pinning monitor
+     */
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(meterRegistry, pinningThreshold);
+    }
+
+    private static int getPoolSize(DataSource dataSource) {
+        // The primary pool when the read-only transactions are routed to a replica
+        if (dataSource instanceof LazyConnectionDataSourceProxy proxy) {
+            dataSource = proxy.getTargetDataSource();
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return 10; // Hikari default pool size
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads pinned to their carrier thread (synchronized blocks, native frames,
+ * JDBC drivers holding monitors while doing I/O).
+ * It streams the JFR "jdk.VirtualThreadPinned" event in-process, logs the stack trace
+ * and counts the events in "jvm.threads.virtual.pinned" tagged with the frame that caused the pinning.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.example.assignment";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String culprit = findCulprit(frames);
+        Counter.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads pinned to their carrier longer than the threshold")
+            .tag("frame", culprit)
+            .register(meterRegistry)
+            .increment();
+        if (log.isWarnEnabled()) {
+            StringBuilder trace = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame -> trace.append("\n\tat ").append(describe(frame)));
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), culprit, trace);
+        }
+    }
+
+    /**
+     * Pick the most useful frame to blame: the first frame of our own code,
+     * otherwise the first non JDK frame (e.g. the JDBC driver), otherwise the top frame.
+     */
+    private static String findCulprit(List<RecordedFrame> frames) {
+        RecordedFrame library = null;
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return describe(frame);
+            }
+            if (library == null && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                library = frame;
+            }
+        }
+        if (library != null) {
+            return describe(library);
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
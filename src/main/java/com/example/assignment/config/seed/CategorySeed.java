@@ -2,14 +2,17 @@ package com.example.assignment.config.seed;
 
 import com.example.assignment.entity.Category;
 import com.example.assignment.repository.CategoryRepository;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Component
-public class CategorySeed implements CommandLineRunner {
+@ConditionalOnProperty(name = "dataset.generator.enabled", havingValue = "false", matchIfMissing = true)
+@Order(1)
+public class CategorySeed implements DataSeed {
     private final CategoryRepository categoryRepository;
 
     public CategorySeed(CategoryRepository categoryRepository) {
@@ -18,7 +21,7 @@ public class CategorySeed implements CommandLineRunner {
 
     @Override
     @Transactional
-    public void run(String... args) {
+    public void seed() {
         // Check if categories already exist
         if (categoryRepository.count() != 0) {
             return;
@@ -0,0 +1,14 @@
+package com.example.assignment.config.seed;
+
+/**
+ * A seed filling the database at startup.
+ * Seeds are run in @Order by the SeedRunner, either before the application accepts traffic or in the background
+ * depending on seed.mode, so they must check whether their data already exists.
+ */
+public interface DataSeed {
+    /**
+     * Insert the seed data if it does not exist yet.
+     * @throws Exception if seeding fails
+     */
+    void seed() throws Exception;
+}
@@ -0,0 +1,382 @@
+package com.example.assignment.config.seed;
+
+import com.example.assignment.enums.MemberTier;
+import com.example.assignment.enums.Role;
+import com.example.assignment.util.PasswordUtil;
+import com.example.assignment.util.ZipfSampler;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a large synthetic dataset in place of the category, product and rating seeds.
+ * Enabled with dataset.generator.enabled=true, sizes come from the dataset.* properties, e.g.
+ * --dataset.generator.enabled=true --dataset.products=2000000 --dataset.ratings=20000000 on the command line.
+ * <p>
+ * - Categories form a tree with a random fanout per node, products only belong to leaf categories
+ * - Category, product and customer popularity follow Zipf distributions, so a few products get most ratings
+ * - Rows get explicit ids and are streamed with PostgreSQL COPY in chunks loaded by parallel workers
+ * - Every chunk has its own random generator derived from dataset.seed, the table and the chunk index,
+ *   so the same seed produces the same rows whatever the number of workers
+ * <p>
+ * Generation is skipped when the dataset already exists.
+ */
+@Slf4j
+@Component
+@Order(5)
+@ConditionalOnProperty(name = "dataset.generator.enabled", havingValue = "true")
+public class DatasetGenerator implements DataSeed {
+    /**
+     * Nouns used in product names, useful to build name searches against the generated catalog.
+     */
+    public static final List<String> PRODUCT_NOUNS = List.of(
+        "Phone", "Laptop", "Headphones", "Camera", "Watch", "Tablet", "Speaker", "Monitor",
+        "Keyboard", "Shirt", "Jacket", "Dress", "Sneakers", "Backpack", "Lamp", "Blender"
+    );
+    private static final List<String> PRODUCT_ADJECTIVES = List.of(
+        "Classic", "Smart", "Wireless", "Compact", "Premium", "Eco", "Ultra", "Vintage", "Portable", "Pro"
+    );
+    private static final List<String> DEPARTMENTS = List.of(
+        "Electronics", "Fashion", "Home", "Sports", "Beauty", "Toys", "Books", "Garden",
+        "Automotive", "Grocery", "Health", "Office"
+    );
+    private static final List<String> FIRST_NAMES = List.of(
+        "An", "Binh", "Chi", "Dung", "Emma", "Giang", "Hoa", "Khanh", "Linh", "Minh", "Nam", "Olivia", "Phuong", "Quang"
+    );
+    private static final List<String> LAST_NAMES = List.of(
+        "Nguyen", "Tran", "Le", "Pham", "Hoang", "Vu", "Dang", "Bui", "Do", "Smith", "Garcia", "Brown"
+    );
+    private static final List<String> COMMENTS = List.of(
+        "Poor quality. Not recommended.", "Not great, expected more.", "Average product. Could be better.",
+        "Good product, does the job.", "Excellent product! Highly recommended."
+    );
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long CATEGORY_SALT = 1;
+    private static final long PRODUCT_SALT = 2;
+    private static final long CUSTOMER_SALT = 3;
+    private static final long RATING_SALT = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final PasswordUtil passwordUtil;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    @Value("${dataset.products:1000000}")
+    private int products;
+
+    @Value("${dataset.customers:100000}")
+    private int customers;
+
+    @Value("${dataset.ratings:10000000}")
+    private long ratings;
+
+    @Value("${dataset.category-roots:12}")
+    private int categoryRoots;
+
+    @Value("${dataset.category-depth:3}")
+    private int categoryDepth;
+
+    @Value("${dataset.category-fanout:6}")
+    private int categoryFanout;
+
+    @Value("${dataset.popularity-exponent:1.0}")
+    private double popularityExponent;
+
+    @Value("${dataset.workers:4}")
+    private int workers;
+
+    @Value("${dataset.chunk-size:20000}")
+    private int chunkSize;
+
+    @Value("${dataset.customer-password:customer}")
+    private String customerPassword;
+
+    public DatasetGenerator(DataSource dataSource, PasswordUtil passwordUtil, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dataSource = dataSource;
+        this.passwordUtil = passwordUtil;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param index the customer index, starting at 0
+     * @return the email of the generated customer
+     */
+    public static String customerEmail(long index) {
+        return "customer-" + (index + 1) + "@example.com";
+    }
+
+    @Override
+    public void seed() throws Exception {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM categories WHERE name = ?)", Boolean.class, categoryName(0, "1")))) {
+            log.info("Generated dataset already exists, skipping generation");
+            return;
+        }
+        long start = System.nanoTime();
+        long[] leafCategoryIds = insertCategories();
+        // Inserted behind Hibernate, the cached sub-category collections read in the meantime are outdated
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        long productBase = nextId("products");
+        long userBase = nextId("users");
+        long ratingBase = nextId("ratings");
+        String passwordHash = passwordUtil.encode(customerPassword);
+        log.info("Generated {} categories ({} leaves) in {} ms",
+            jdbcTemplate.queryForObject("SELECT count(*) FROM categories", Long.class), leafCategoryIds.length, elapsedMillis(start));
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            long stageStart = System.nanoTime();
+            // Products and customers are independent, their chunks are loaded together
+            List<Future<?>> futures = new ArrayList<>();
+            futures.addAll(submitChunks(executor, products, PRODUCT_SALT,
+                (copyManager, from, to, random) -> copyProducts(copyManager, from, to, random, productBase, leafCategoryIds)));
+            futures.addAll(submitChunks(executor, customers, CUSTOMER_SALT,
+                (copyManager, from, to, random) -> copyCustomers(copyManager, from, to, random, userBase, passwordHash)));
+            await(futures);
+            log.info("Generated {} products and {} customers in {} ms", products, customers, elapsedMillis(stageStart));
+
+            stageStart = System.nanoTime();
+            await(submitChunks(executor, ratings, RATING_SALT,
+                (copyManager, from, to, random) -> copyRatings(copyManager, from, to, random, ratingBase, productBase, userBase)));
+            log.info("Generated {} ratings in {} ms", ratings, elapsedMillis(stageStart));
+        } finally {
+            executor.shutdown();
+        }
+
+        long stageStart = System.nanoTime();
+        jdbcTemplate.update("""
+            UPDATE products p SET average_rating = r.average_rating, rating_count = r.rating_count
+            FROM (SELECT product_id, avg(score) AS average_rating, count(*) AS rating_count
+                  FROM ratings WHERE id >= ? GROUP BY product_id) r
+            WHERE p.id = r.product_id
+            """, ratingBase);
+        // The featured products get an open-ended window, as featuring a product through its window would
+        jdbcTemplate.update("""
+            INSERT INTO feature_products (id, priority)
+            SELECT id, (ARRAY['HIGH', 'MEDIUM', 'LOW'])[1 + id % 3] FROM products WHERE id >= ? AND is_featured
+            """, productBase);
+        for (String table : List.of("categories", "products", "users", "ratings")) {
+            jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT max(id) FROM " + table + "))");
+        }
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Updated product ratings, featured windows and statistics in {} ms", elapsedMillis(stageStart));
+        log.info("Generated dataset with seed {} in {} ms", seed, elapsedMillis(start));
+    }
+
+    /**
+     * Loads the rows [from, to) of one chunk through COPY.
+     */
+    @FunctionalInterface
+    private interface ChunkLoader {
+        void load(CopyManager copyManager, long from, long to, SplittableRandom random) throws SQLException, IOException;
+    }
+
+    private List<Future<?>> submitChunks(ExecutorService executor, long rows, long salt, ChunkLoader loader) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (long chunk = 0; chunk * chunkSize < rows; chunk++) {
+            long from = chunk * chunkSize;
+            long to = Math.min(rows, from + chunkSize);
+            SplittableRandom random = chunkRandom(salt, chunk);
+            futures.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    loader.load(connection.unwrap(PGConnection.class).getCopyAPI(), from, to, random);
+                }
+                return null;
+            }));
+        }
+        return futures;
+    }
+
+    private static void await(List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * Insert the category tree level by level, each node gets between 2 and categoryFanout children.
+     * @return the ids of the leaf categories
+     */
+    private long[] insertCategories() {
+        SplittableRandom random = chunkRandom(CATEGORY_SALT, 0);
+        long nextId = nextId("categories");
+        String now = timestamp(0);
+        List<Object[]> level = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < categoryRoots; i++) {
+            String path = Integer.toString(i + 1);
+            level.add(new Object[]{nextId++, categoryName(i, path), "Generated category " + path, null, now, now});
+            paths.add(path);
+        }
+        for (int depth = 1; ; depth++) {
+            jdbcTemplate.batchUpdate("""
+                INSERT INTO categories (id, name, description, parent_id, created_on, updated_on)
+                VALUES (?, ?, ?, ?, ?::timestamp, ?::timestamp)
+                """, level);
+            if (depth == categoryDepth) {
+                return level.stream().mapToLong(row -> (Long) row[0]).toArray();
+            }
+            List<Object[]> children = new ArrayList<>();
+            List<String> childPaths = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                int fanout = 2 + random.nextInt(Math.max(categoryFanout - 1, 1));
+                for (int child = 1; child <= fanout; child++) {
+                    String path = paths.get(i) + "." + child;
+                    int department = Integer.parseInt(path.substring(0, path.indexOf('.'))) - 1;
+                    children.add(new Object[]{nextId++, categoryName(department, path), "Generated category " + path, level.get(i)[0], now, now});
+                    childPaths.add(path);
+                }
+            }
+            level = children;
+            paths = childPaths;
+        }
+    }
+
+    private static String categoryName(int department, String path) {
+        return DEPARTMENTS.get(department % DEPARTMENTS.size()) + " " + path;
+    }
+
+    private void copyProducts(CopyManager copyManager, long from, long to, SplittableRandom random,
+                              long productBase, long[] leafCategoryIds) throws SQLException, IOException {
+        ZipfSampler categoryPopularity = new ZipfSampler(leafCategoryIds.length, popularityExponent);
+        StringBuilder rows = new StringBuilder();
+        for (long i = from; i < to; i++) {
+            long id = productBase + i;
+            String created = timestamp(random.nextLong(3 * 365 * SECONDS_PER_DAY));
+            // log-normal prices, most products are cheap and a few are very expensive
+            double price = Math.max(0.99, Math.round(Math.exp(3.5 + random.nextGaussian()) * 100) / 100.0);
+            rows.append(id).append(',')
+                .append(PRODUCT_ADJECTIVES.get(random.nextInt(PRODUCT_ADJECTIVES.size()))).append(' ')
+                .append(PRODUCT_NOUNS.get(random.nextInt(PRODUCT_NOUNS.size()))).append(' ').append(i + 1).append(',')
+                .append("Generated product ").append(i + 1).append(',')
+                .append(price).append(",0,0,")
+                .append(random.nextInt(100) == 0).append(',')
+                .append(random.nextInt(500)).append(',')
+                .append("https://cdn.example.com/products/").append(id).append(".jpg,")
+                .append(random.nextInt(100) < 97).append(',')
+                .append(leafCategoryIds[categoryPopularity.sample(random) - 1]).append(',')
+                .append(created).append(',').append(created).append('\n');
+        }
+        copyManager.copyIn("""
+            COPY products (id, name, description, price, average_rating, rating_count, is_featured,
+                           quantity, image_url, is_active, category_id, created_on, updated_on) FROM STDIN (FORMAT csv)
+            """, new StringReader(rows.toString()));
+    }
+
+    private static void copyCustomers(CopyManager copyManager, long from, long to, SplittableRandom random,
+                                      long userBase, String passwordHash) throws SQLException, IOException {
+        StringBuilder users = new StringBuilder();
+        StringBuilder customerRows = new StringBuilder();
+        StringBuilder profiles = new StringBuilder();
+        for (long i = from; i < to; i++) {
+            long id = userBase + i;
+            String created = timestamp(random.nextLong(3 * 365 * SECONDS_PER_DAY));
+            int tier = random.nextInt(100);
+            MemberTier memberTier = tier < 80 ? MemberTier.COMMON : tier < 95 ? MemberTier.PREMIUM : MemberTier.VIP;
+            users.append(id).append(',').append(customerEmail(i)).append(',').append(passwordHash)
+                .append(",true,").append(Role.CUSTOMER.name()).append(',').append(created).append(',').append(created).append('\n');
+            customerRows.append(id).append(',').append(memberTier.name()).append('\n');
+            profiles.append(id).append(',').append(1_000_000_000L + i).append(',')
+                .append(FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()))).append(',')
+                .append(LAST_NAMES.get(random.nextInt(LAST_NAMES.size()))).append(',')
+                .append(random.nextInt(1, 1000)).append(" Generated Street\n");
+        }
+        copyManager.copyIn("COPY users (id, email, password, is_active, role, created_on, updated_on) FROM STDIN (FORMAT csv)",
+            new StringReader(users.toString()));
+        copyManager.copyIn("COPY customers (id, member_tier) FROM STDIN (FORMAT csv)",
+            new StringReader(customerRows.toString()));
+        copyManager.copyIn("COPY user_profiles (id, phone_number, first_name, last_name, address) FROM STDIN (FORMAT csv)",
+            new StringReader(profiles.toString()));
+    }
+
+    private void copyRatings(CopyManager copyManager, long from, long to, SplittableRandom random,
+                             long ratingBase, long productBase, long userBase) throws SQLException, IOException {
+        ZipfSampler productPopularity = new ZipfSampler(products, popularityExponent);
+        ZipfSampler customerActivity = new ZipfSampler(customers, popularityExponent / 2);
+        long productStride = scatterStride(products);
+        long customerStride = scatterStride(customers);
+        StringBuilder rows = new StringBuilder();
+        for (long i = from; i < to; i++) {
+            long product = (productPopularity.sample(random) - 1L) * productStride % products;
+            long customer = (customerActivity.sample(random) - 1L) * customerStride % customers;
+            // each product has a stable quality, scores spread around it
+            double quality = 2.5 + 2.3 * new SplittableRandom(seed ^ product).nextDouble();
+            int score = (int) Math.min(5, Math.max(1, Math.round(quality + random.nextGaussian())));
+            String created = timestamp(random.nextLong(2 * 365 * SECONDS_PER_DAY));
+            rows.append(ratingBase + i).append(',')
+                .append(score).append(',')
+                .append('"').append(COMMENTS.get(score - 1)).append("\",")
+                .append(productBase + product).append(',')
+                .append(userBase + customer).append(',')
+                .append(created).append(',').append(created).append('\n');
+        }
+        copyManager.copyIn("COPY ratings (id, score, comment, product_id, customer_id, created_on, updated_on) FROM STDIN (FORMAT csv)",
+            new StringReader(rows.toString()));
+    }
+
+    /**
+     * Popularity ranks are spread over the ids with the permutation rank * stride % size,
+     * so the most popular rows are not simply the first ones.
+     * @param size the number of rows
+     * @return a stride coprime with size
+     */
+    private static long scatterStride(long size) {
+        long stride = (long) (size * 0.6180339887) | 1;
+        while (gcd(stride, size) != 1) {
+            stride += 2;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private SplittableRandom chunkRandom(long salt, long chunk) {
+        return new SplittableRandom(seed * 1_000_003L + salt * 7_919L + chunk);
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    /**
+     * Dates are relative to a fixed reference date (2025-01-01) rather than now, to keep the dataset reproducible.
+     * @param secondsAgo how long before the reference date
+     * @return the timestamp in a format accepted by COPY
+     */
+    private static String timestamp(long secondsAgo) {
+        return LocalDateTime.ofEpochSecond(1_735_689_600L - secondsAgo, 0, ZoneOffset.UTC).toString();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -5,14 +5,17 @@ import com.example.assignment.entity.Product;
 import com.example.assignment.repository.CategoryRepository;
 import com.example.assignment.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 @Slf4j
 @Component
-public class ProductSeed implements CommandLineRunner {
+@ConditionalOnProperty(name = "dataset.generator.enabled", havingValue = "false", matchIfMissing = true)
+@Order(3)
+public class ProductSeed implements DataSeed {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
 
@@ -21,7 +24,7 @@ public class ProductSeed implements CommandLineRunner {
         this.categoryRepository = categoryRepository;
     }
     @Override
-    public void run(String... args) {
+    public void seed() {
         if (productRepository.count() > 0) {
             return;
         }
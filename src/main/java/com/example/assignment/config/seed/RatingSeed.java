@@ -10,7 +10,8 @@ import com.example.assignment.repository.RatingRepository;
 import com.example.assignment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,15 +20,17 @@ import java.util.List;
 
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "dataset.generator.enabled", havingValue = "false", matchIfMissing = true)
+@Order(4)
 @RequiredArgsConstructor
-public class RatingSeed implements CommandLineRunner {
+public class RatingSeed implements DataSeed {
     private final RatingRepository ratingRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
 
     @Override
     @Transactional
-    public void run(String... args) {
+    public void seed() {
         // Check if ratings already exist
         if (ratingRepository.count() > 0) {
             log.info("Ratings already exist, skipping seed");
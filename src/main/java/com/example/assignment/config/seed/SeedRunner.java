@@ -0,0 +1,71 @@
+package com.example.assignment.config.seed;
+
+import com.example.assignment.enums.SeedMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs the data seeds according to seed.mode:
+ * - sync: in order before the application accepts traffic (default)
+ * - background: in order on the application task executor once the application is ready
+ * - off: not at all
+ */
+@Slf4j
+@Component
+public class SeedRunner implements CommandLineRunner {
+    private final List<DataSeed> seeds;
+    private final TaskExecutor taskExecutor;
+
+    @Value("${seed.mode:sync}")
+    private SeedMode mode;
+
+    public SeedRunner(
+        List<DataSeed> seeds,
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor
+    ) {
+        this.seeds = seeds;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (mode == SeedMode.SYNC) {
+            runSeeds();
+        } else if (mode == SeedMode.OFF) {
+            log.info("Seeding disabled");
+        }
+    }
+
+    /**
+     * Starts the seeds in the background mode, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (mode == SeedMode.BACKGROUND) {
+            taskExecutor.execute(() -> {
+                try {
+                    runSeeds();
+                } catch (Exception e) {
+                    log.error("Background seeding failed", e);
+                }
+            });
+        }
+    }
+
+    private void runSeeds() throws Exception {
+        for (DataSeed seed : seeds) {
+            long start = System.nanoTime();
+            seed.seed();
+            log.info("{} done in {} ms", seed.getClass().getSimpleName(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
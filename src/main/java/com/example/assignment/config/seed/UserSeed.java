@@ -13,13 +13,14 @@ import com.example.assignment.repository.UserRepository;
 import com.example.assignment.util.PasswordUtil;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
+@Order(2)
 @RequiredArgsConstructor
-public class UserSeed implements CommandLineRunner {
+public class UserSeed implements DataSeed {
 
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
@@ -47,12 +48,10 @@ public class UserSeed implements CommandLineRunner {
     /**
      * This method is called when the application starts.
      * It seeds the database with an admin user and a customer user if they do not already exist.
-     *
-     * @param args command line arguments
      */
     @Override
     @Transactional
-    public void run(String... args) {
+    public void seed() {
         // Seed admin user
         if (!userRepository.existsUserByEmail("admin@example.com")) {
             UserCreationReq adminReq = buildUserCreationReq(
@@ -0,0 +1,11 @@
+package com.example.assignment.constant;
+
+public final class CacheRegion {
+    // Hibernate second-level cache regions, configured in SecondLevelCacheConfig
+    public static final String CATEGORIES = "categories";              // Category entities
+    public static final String SUB_CATEGORIES = "categories.subCategories"; // Category.subCategories collections
+
+    private CacheRegion() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.request.CartItemReq;
+import com.example.assignment.dto.response.CartRes;
+import com.example.assignment.entity.User;
+import com.example.assignment.service.CartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The cart of the authenticated customer.
+ */
+@RestController
+@RequestMapping("/api/v1/cart")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('CUSTOMER')")
+public class CartController {
+    private final CartService cartService;
+
+    @GetMapping
+    public ResponseEntity<CartRes> getCart(@AuthenticationPrincipal User principal) {
+        return ResponseEntity.ok(cartService.getCart(principal.getId()));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<CartRes> addItem(@AuthenticationPrincipal User principal,
+                                           @Valid @RequestBody CartItemReq cartItemReq) {
+        return ResponseEntity.ok(cartService.addItem(principal.getId(), cartItemReq.getProductId(), cartItemReq.getQuantity()));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<CartRes> removeItem(@AuthenticationPrincipal User principal,
+                                              @PathVariable Long productId,
+                                              @RequestParam(required = false) Integer quantity) {
+        return ResponseEntity.ok(cartService.removeItem(principal.getId(), productId, quantity));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearCart(@AuthenticationPrincipal User principal) {
+        cartService.clearCart(principal.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,25 +4,30 @@ import com.example.assignment.dto.request.CategoryCreationReq;
 import com.example.assignment.dto.response.CategoryRes;
 import com.example.assignment.dto.response.CategoryTreeRes;
 import com.example.assignment.service.CategoryService;
+import com.example.assignment.service.ResponseCacheService;
+import com.example.assignment.util.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/categories")
 @RequiredArgsConstructor
 public class CategoryController {
     private final CategoryService categoryService;
+    private final ResponseCacheService responseCacheService;
 
     @GetMapping("/parents")
-    public ResponseEntity<List<CategoryRes>> getParents() {
+    public ResponseEntity<List<CategoryRes>> getParents(WebRequest request) {
         try {
-            List<CategoryRes> parentCategories = categoryService.getTopLevelCategories();
-            return ResponseEntity.ok(parentCategories);
+            // Top-level categories change with the tree, so they share its version
+            return categoryService.getCategoryTreeVersion().respond(request, categoryService::getTopLevelCategories);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -73,8 +78,12 @@ public class CategoryController {
     }
 
     @GetMapping("/{categoryId}")
-    public ResponseEntity<CategoryRes> getCategoryById(@PathVariable Long categoryId) {
+    public ResponseEntity<CategoryRes> getCategoryById(@PathVariable Long categoryId, WebRequest request) {
         try {
+            Optional<ResourceVersion> version = categoryService.getCategoryVersion(categoryId);
+            if (version.isPresent()) {
+                return version.get().respond(request, () -> categoryService.getCategoryById(categoryId));
+            }
             CategoryRes category = categoryService.getCategoryById(categoryId);
             return ResponseEntity.ok(category);
         } catch (Exception e) {
@@ -83,20 +92,21 @@ public class CategoryController {
     }
 
     @GetMapping("/tree")
-    public ResponseEntity<List<CategoryTreeRes>> getCategoryTree() {
+    public ResponseEntity<byte[]> getCategoryTree(WebRequest request) {
         try {
-            List<CategoryTreeRes> categoryTree = categoryService.getCategoryTree();
-            return ResponseEntity.ok(categoryTree);
+            // Served from the pre-compressed response cache, its ETag is a digest of the cached JSON
+            return responseCacheService.get(ResponseCacheService.CATEGORY_TREE, categoryService::getCategoryTree)
+                .respond(request);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
     @GetMapping("/tree/{categoryId}")
-    public ResponseEntity<List<CategoryTreeRes>> getCategoryTreeByParentId(@PathVariable Long categoryId) {
+    public ResponseEntity<List<CategoryTreeRes>> getCategoryTreeByParentId(@PathVariable Long categoryId, WebRequest request) {
         try {
-            List<CategoryTreeRes> categoryTree = categoryService.getCategoryTreeByParentId(categoryId);
-            return ResponseEntity.ok(categoryTree);
+            return categoryService.getCategoryTreeVersion()
+                .respond(request, () -> categoryService.getCategoryTreeByParentId(categoryId));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -1,8 +1,12 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.response.MemberTierRunRes;
 import com.example.assignment.dto.response.PagingRes;
 import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.exception.ResourceNotFoundException;
 import com.example.assignment.service.CustomerService;
+import com.example.assignment.service.MemberTierService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -11,9 +15,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/customers")
 public class CustomerController {
     private final CustomerService customerService;
+    private final MemberTierService memberTierService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, MemberTierService memberTierService) {
         this.customerService = customerService;
+        this.memberTierService = memberTierService;
     }
 
     @GetMapping
@@ -28,6 +34,8 @@ public class CustomerController {
         try {
             PagingRes<UserRes> customers = customerService.getCustomers(name, memberTier, pageNo, pageSize, sortDir, sortBy);
             return ResponseEntity.ok(customers);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -58,5 +66,19 @@ public class CustomerController {
         }
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/tiers/recalculation")
+    public ResponseEntity<MemberTierRunRes> recalculateMemberTiers() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(memberTierService.startRecalculation());
+    }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/tiers/recalculation")
+    public ResponseEntity<MemberTierRunRes> getMemberTierRecalculation() {
+        try {
+            return ResponseEntity.ok(memberTierService.getLatestRun());
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
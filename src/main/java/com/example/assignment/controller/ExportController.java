@@ -0,0 +1,53 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.enums.DataFormat;
+import com.example.assignment.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Admin exports of whole tables as NDJSON or CSV.
+ * The body is streamed from a database cursor on an async thread while rows are read,
+ * instead of being paged through the listing endpoints.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+public class ExportController {
+    private final ExportService exportService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/products")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        DataFormat exportFormat = DataFormat.fromValue(format);
+        return stream("products", exportFormat, out -> exportService.exportProducts(exportFormat, out));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/customers")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(defaultValue = "ndjson") String format) {
+        DataFormat exportFormat = DataFormat.fromValue(format);
+        return stream("customers", exportFormat, out -> exportService.exportCustomers(exportFormat, out));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/ratings")
+    public ResponseEntity<StreamingResponseBody> exportRatings(@RequestParam(defaultValue = "ndjson") String format) {
+        DataFormat exportFormat = DataFormat.fromValue(format);
+        return stream("ratings", exportFormat, out -> exportService.exportRatings(exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, DataFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(name + "." + format.getExtension()).build().toString())
+            .body(body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.response.InventoryRes;
+import com.example.assignment.service.InventoryService;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin view and management of the product stock.
+ * Reservations are not exposed here, they are made by the order flow through the InventoryService.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+    private final InventoryService inventoryService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{productId}")
+    public ResponseEntity<InventoryRes> getInventory(@PathVariable Long productId) {
+        return ResponseEntity.ok(InventoryRes.builder()
+            .productId(productId)
+            .quantity(inventoryService.getAvailableQuantity(productId))
+            .build());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{productId}")
+    public ResponseEntity<Void> restock(@PathVariable Long productId, @RequestParam @NotNull @Positive Integer quantity) {
+        inventoryService.restock(productId, quantity);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{productId}/slots")
+    public ResponseEntity<Void> splitStock(@PathVariable Long productId, @RequestParam Integer count) {
+        inventoryService.splitStock(productId, count);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.request.CheckoutReq;
+import com.example.assignment.dto.response.CursorPageRes;
+import com.example.assignment.dto.response.OrderRes;
+import com.example.assignment.dto.response.OrderSummaryRes;
+import com.example.assignment.entity.User;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.CheckoutService;
+import com.example.assignment.service.OrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+@RequiredArgsConstructor
+public class OrderController {
+    private final CheckoutService checkoutService;
+    private final OrderService orderService;
+
+    /**
+     * The orders of the authenticated customer, newest first.
+     * The next page is requested with the nextCursor of the previous one.
+     */
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @GetMapping
+    public ResponseEntity<CursorPageRes<OrderSummaryRes>> getOrderHistory(
+        @AuthenticationPrincipal User principal,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") Integer size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrderHistory(principal.getId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{orderId}/status/{status}")
+    public ResponseEntity<Void> updateOrderStatus(@PathVariable Long orderId, @PathVariable String status) {
+        try {
+            orderService.updateOrderStatus(orderId, status);
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Place the cart of the authenticated customer as an order.
+     * Returns 201 for a new order, 200 with the same order when the Idempotency-Key was already used.
+     */
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @PostMapping
+    public ResponseEntity<OrderRes> checkout(@AuthenticationPrincipal User principal,
+                                             @RequestHeader("Idempotency-Key") String idempotencyKey,
+                                             @Valid @RequestBody CheckoutReq checkoutReq) {
+        try {
+            OrderRes order = checkoutService.checkout(principal.getId(), idempotencyKey, checkoutReq);
+            return ResponseEntity.status(order.isReplayed() ? HttpStatus.OK : HttpStatus.CREATED).body(order);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
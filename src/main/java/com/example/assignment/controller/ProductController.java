@@ -1,16 +1,32 @@
 package com.example.assignment.controller;
 
 import com.example.assignment.dto.request.*;
+import com.example.assignment.dto.response.FeatureWindowRes;
 import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.ProductBulkUpdateRes;
 import com.example.assignment.dto.response.ProductDetailRes;
+import com.example.assignment.dto.response.ProductImportRes;
 import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.enums.DataFormat;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.FeaturedProductService;
+import com.example.assignment.service.ProductImportService;
 import com.example.assignment.service.ProductService;
+import com.example.assignment.service.ResponseCacheService;
+import com.example.assignment.util.ResourceVersion;
+import com.example.assignment.util.SparseFields;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -18,26 +34,67 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/products")
 public class ProductController {
     private final ProductService productService;
+    private final ResponseCacheService responseCacheService;
+    private final ProductImportService productImportService;
+    private final FeaturedProductService featuredProductService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ResponseCacheService responseCacheService,
+                             ProductImportService productImportService, FeaturedProductService featuredProductService) {
         this.productService = productService;
+        this.responseCacheService = responseCacheService;
+        this.productImportService = productImportService;
+        this.featuredProductService = featuredProductService;
+    }
+
+    @GetMapping("/featured")
+    public ResponseEntity<byte[]> getFeaturedProducts(WebRequest request) {
+        return responseCacheService.get(ResponseCacheService.FEATURED_PRODUCTS, productService::getFeaturedProducts)
+            .respond(request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDetailRes> getProduct(@PathVariable Long id) {
+    public ResponseEntity<?> getProduct(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                        WebRequest request) {
+        Set<String> fieldSet = SparseFields.parse(fields);
+        if (!fieldSet.isEmpty()) {
+            try {
+                // The fields are part of the URL, so the version of the product still identifies the representation
+                Optional<ResourceVersion> version = productService.getProductVersion(id);
+                if (version.isPresent()) {
+                    return version.get().respond(request, () -> productService.getProductById(id, fieldSet));
+                }
+                return ResponseEntity.ok(productService.getProductById(id, fieldSet));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        // Answer conditional requests from the version lookup, the product is only loaded when it changed
+        Optional<ResourceVersion> version = productService.getProductVersion(id);
+        if (version.isPresent()) {
+            return version.get().respond(request, () -> productService.getProductById(id));
+        }
         ProductDetailRes products = productService.getProductById(id);
         return ResponseEntity.ok(products);
     }
 
     @GetMapping
-    public ResponseEntity<PagingRes<ProductRes>> getProducts(
+    public ResponseEntity<?> getProducts(
         @Valid @ModelAttribute ProductFilterReq filter,
         @RequestParam(defaultValue = "0") Integer pageNo,
         @RequestParam(defaultValue = "10") Integer pageSize,
         @RequestParam(defaultValue = "id") String sortBy,
-        @RequestParam(defaultValue = "asc") String sortDir
+        @RequestParam(defaultValue = "asc") String sortDir,
+        @RequestParam(required = false) String fields
     ) {
         log.info("Get products by filter: {}", filter);
+        Set<String> fieldSet = SparseFields.parse(fields);
+        if (!fieldSet.isEmpty()) {
+            try {
+                return ResponseEntity.ok(productService.getProducts(filter, fieldSet, pageNo, pageSize, sortDir, sortBy));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         PagingRes<ProductRes> products = productService.getProducts(filter, pageNo, pageSize, sortDir, sortBy);
         return ResponseEntity.ok(products);
     }
@@ -49,6 +106,22 @@ public class ProductController {
         return ResponseEntity.status(201).body(createdProduct);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import")
+    public ResponseEntity<ProductImportRes> importProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                                           InputStream body) throws IOException {
+        // The body is read as a stream, rows are imported while they are received
+        ProductImportRes result = productImportService.importProducts(DataFormat.fromValue(format), body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/bulk")
+    public ResponseEntity<ProductBulkUpdateRes> bulkUpdateProducts(@Valid @RequestBody ProductBulkUpdateReq productBulkUpdateReq) {
+        ProductBulkUpdateRes result = productService.bulkUpdateProducts(productBulkUpdateReq);
+        return ResponseEntity.ok(result);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<ProductRes> updateProductById(@PathVariable Long id, @Valid @RequestBody ProductUpdatingReq productUpdatingReq) {
@@ -78,4 +151,27 @@ public class ProductController {
         productService.updateToFeaturedProduct(id, featured);
         return ResponseEntity.noContent().build();
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/feature-window")
+    public ResponseEntity<FeatureWindowRes> scheduleFeature(@PathVariable Long id, @Valid @RequestBody FeatureWindowReq featureWindowReq) {
+        try {
+            return ResponseEntity.ok(featuredProductService.scheduleFeature(id, featureWindowReq));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}/feature-window")
+    public ResponseEntity<Void> removeFeature(@PathVariable Long id) {
+        try {
+            featuredProductService.removeFeature(id);
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
@@ -6,11 +6,17 @@ import com.example.assignment.dto.response.PagingRes;
 import com.example.assignment.dto.response.RatingRes;
 import com.example.assignment.exception.ResourceNotFoundException;
 import com.example.assignment.service.RatingService;
+import com.example.assignment.util.ResourceVersion;
+import com.example.assignment.util.SparseFields;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/ratings")
@@ -29,8 +35,12 @@ public class RatingController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RatingRes> getRatingById(@PathVariable Long id) {
+    public ResponseEntity<RatingRes> getRatingById(@PathVariable Long id, WebRequest request) {
         try {
+            Optional<ResourceVersion> version = ratingService.getRatingVersion(id);
+            if (version.isPresent()) {
+                return version.get().respond(request, () -> ratingService.getRatingById(id));
+            }
             RatingRes rating = ratingService.getRatingById(id);
             return ResponseEntity.ok(rating);
         } catch (ResourceNotFoundException e) {
@@ -41,44 +51,67 @@ public class RatingController {
     }
 
     @GetMapping
-    public ResponseEntity<PagingRes<RatingRes>> getAllRatings(
+    public ResponseEntity<?> getAllRatings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdOn") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
+        Set<String> fieldSet = SparseFields.parse(fields);
+        if (!fieldSet.isEmpty()) {
+            try {
+                return ResponseEntity.ok(ratingService.getAllRatings(fieldSet, page, size, sortDir, sortBy));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         PagingRes<RatingRes> ratings = ratingService.getAllRatings(page, size, sortDir, sortBy);
         return ResponseEntity.ok(ratings);
     }
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<PagingRes<RatingRes>> getRatingsByProductId(
+    public ResponseEntity<?> getRatingsByProductId(
             @PathVariable Long productId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdOn") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
         try {
+            Set<String> fieldSet = SparseFields.parse(fields);
+            if (!fieldSet.isEmpty()) {
+                return ResponseEntity.ok(ratingService.getRatingsByProductId(productId, fieldSet, page, size, sortDir, sortBy));
+            }
             PagingRes<RatingRes> ratings = ratingService.getRatingsByProductId(productId, page, size, sortDir, sortBy);
             return ResponseEntity.ok(ratings);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<PagingRes<RatingRes>> getRatingsByCustomerId(
+    public ResponseEntity<?> getRatingsByCustomerId(
             @PathVariable Long customerId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdOn") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
         try {
+            Set<String> fieldSet = SparseFields.parse(fields);
+            if (!fieldSet.isEmpty()) {
+                return ResponseEntity.ok(ratingService.getRatingsByCustomerId(customerId, fieldSet, page, size, sortDir, sortBy));
+            }
             PagingRes<RatingRes> ratings = ratingService.getRatingsByCustomerId(customerId, page, size, sortDir, sortBy);
             return ResponseEntity.ok(ratings);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -0,0 +1,48 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.response.NearbyAddressRes;
+import com.example.assignment.service.ShippingAddressService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/shipping-addresses")
+public class ShippingAddressController {
+    private final ShippingAddressService shippingAddressService;
+
+    public ShippingAddressController(ShippingAddressService shippingAddressService) {
+        this.shippingAddressService = shippingAddressService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyAddressRes>> findWithinRadius(
+        @RequestParam double latitude,
+        @RequestParam double longitude,
+        @RequestParam double radius,
+        @RequestParam(defaultValue = "100") int limit,
+        @RequestParam(defaultValue = "false") boolean perCustomer) {
+        try {
+            return ResponseEntity.ok(shippingAddressService.findWithinRadius(latitude, longitude, radius, limit, perCustomer));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyAddressRes>> findNearest(
+        @RequestParam double latitude,
+        @RequestParam double longitude,
+        @RequestParam(defaultValue = "10") int k,
+        @RequestParam(defaultValue = "false") boolean perCustomer) {
+        try {
+            return ResponseEntity.ok(shippingAddressService.findNearest(latitude, longitude, k, perCustomer));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.example.assignment.dto.response.UserRes;
 import com.example.assignment.entity.User;
 import com.example.assignment.exception.ExistingResourceException;
 import com.example.assignment.service.UserService;
+import com.example.assignment.util.SparseFields;
 import com.example.assignment.dto.request.UserCreationReq;
 import com.example.assignment.dto.request.UserInfoUpdatingReq;
 import jakarta.validation.Valid;
@@ -16,6 +17,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -78,19 +81,26 @@ public class UserController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<PagingRes<UserRes>> getUsers(
+    public ResponseEntity<?> getUsers(
             @RequestParam(defaultValue = "0") Integer pageNo,
             @RequestParam(defaultValue = "10") Integer pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields
     ) {
         try {
+            Set<String> fieldSet = SparseFields.parse(fields);
+            if (!fieldSet.isEmpty()) {
+                return ResponseEntity.ok(userService.getUsers(fieldSet, pageNo, pageSize, sortDir, sortBy));
+            }
             PagingRes<UserRes> users = userService.getUsers(pageNo, pageSize, sortDir, sortBy);
             return ResponseEntity.ok(users);
         } catch (UsernameNotFoundException e) {
             return ResponseEntity.status(404).build(); // Not Found
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).build(); // Forbidden
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // Unknown field
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
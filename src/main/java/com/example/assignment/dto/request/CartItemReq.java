@@ -0,0 +1,21 @@
+package com.example.assignment.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemReq {
+    @NotNull(message = "Product ID cannot be null")
+    private Long productId;
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 999, message = "Quantity must be at most 999")
+    private int quantity;
+}
@@ -0,0 +1,26 @@
+package com.example.assignment.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Places the cart of the authenticated customer as an order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutReq {
+    @NotNull(message = "Shipping address ID cannot be null")
+    private Long shippingAddressId;
+    /**
+     * The total shown to the customer, the checkout is refused when the current prices give another total.
+     */
+    @NotNull(message = "Expected total cannot be null")
+    @Min(value = 0, message = "Expected total must be greater than or equal to 0")
+    private Double expectedTotal;
+}
@@ -0,0 +1,28 @@
+package com.example.assignment.dto.request;
+
+import com.example.assignment.enums.ProductPriority;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Features a product between two dates, replacing its previous window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeatureWindowReq {
+    @NotNull(message = "Start date cannot be null")
+    private Date startDate;
+    /**
+     * The product stays featured until it is unscheduled when null.
+     */
+    private Date endDate;
+    @NotNull(message = "Priority cannot be null")
+    private ProductPriority priority;
+}
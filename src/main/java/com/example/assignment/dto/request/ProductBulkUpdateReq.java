@@ -0,0 +1,37 @@
+package com.example.assignment.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A change applied to many products at once.
+ * The products are selected either by ids or by a filter (an empty filter selects every product),
+ * at least one change must be given and price and priceFactor are exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateReq {
+    private List<Long> ids;
+    @Valid
+    private ProductFilterReq filter;
+
+    private Boolean featured;
+    private Boolean isActive;
+    @Min(value = 0, message = "Price must be greater than or equal to 0")
+    private Double price;
+    /**
+     * Multiplies the current prices, e.g. 1.1 for a 10% increase. Prices are rounded to cents.
+     */
+    @Positive(message = "Price factor must be greater than 0")
+    private Double priceFactor;
+    private Long categoryId;
+}
@@ -3,11 +3,15 @@ package com.example.assignment.dto.request;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductCreationReq {
     @NotNull(message = "Product name cannot be null")
     @NotBlank(message = "Product name cannot be blank")
@@ -0,0 +1,16 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemRes {
+    private Long productId;
+    private int quantity;
+    private double unitPrice;
+}
@@ -0,0 +1,18 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartRes {
+    private Long customerId;
+    private List<CartItemRes> items;
+    private double total;
+}
@@ -0,0 +1,24 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a keyset pagination: the next page starts after the last row of this one instead of at an offset,
+ * so every page costs the same whatever its depth.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageRes<T> {
+    private List<T> content;
+    /**
+     * Opaque position to pass as cursor to get the next page, null on the last page.
+     */
+    private String nextCursor;
+}
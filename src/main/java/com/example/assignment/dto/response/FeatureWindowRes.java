@@ -0,0 +1,21 @@
+package com.example.assignment.dto.response;
+
+import com.example.assignment.enums.ProductPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeatureWindowRes {
+    private Long productId;
+    private Date startDate;
+    private Date endDate;
+    private ProductPriority priority;
+    private boolean featured;
+}
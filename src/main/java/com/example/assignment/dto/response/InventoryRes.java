@@ -0,0 +1,15 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryRes {
+    private Long productId;
+    private int quantity;
+}
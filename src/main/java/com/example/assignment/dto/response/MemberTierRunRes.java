@@ -0,0 +1,24 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberTierRunRes {
+    private Long id;
+    private Date asOf;
+    private Date startedOn;
+    private Date finishedOn;
+    private int chunks;
+    private int completedChunks;
+    private long customers;
+    private long changed;
+    private long customersPerSecond;
+}
@@ -0,0 +1,24 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyAddressRes {
+    private Long addressId;
+    private Long customerId;
+    private String city;
+    private String country;
+    private String postalCode;
+    private double latitude;
+    private double longitude;
+    /**
+     * Great-circle distance from the searched point, in meters.
+     */
+    private double distance;
+}
@@ -0,0 +1,28 @@
+package com.example.assignment.dto.response;
+
+import com.example.assignment.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRes {
+    private Long id;
+    private Long customerId;
+    private Long shippingAddressId;
+    private OrderStatus status;
+    private double total;
+    private Date createdOn;
+    private List<OrderItemRes> items;
+    /**
+     * True when the order was created by an earlier checkout with the same idempotency key.
+     */
+    private boolean replayed;
+}
@@ -0,0 +1,22 @@
+package com.example.assignment.dto.response;
+
+import com.example.assignment.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryRes {
+    private Long orderId;
+    private Date createdOn;
+    private OrderStatus status;
+    private double total;
+    private int itemCount;
+    private String thumbnailUrl;
+}
@@ -0,0 +1,24 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRes {
+    private long received;
+    private long imported;
+    private long rejected;
+    /**
+     * The first rejected rows, as "line n: reason".
+     */
+    private List<String> errors;
+    private long durationMs;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,24 @@
+package com.example.assignment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Flat rating row of the rating export, read with a constructor expression
+ * so exporting does not load the product and customer of every rating.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class RatingExportRes {
+    private Long id;
+    private double score;
+    private String comment;
+    private Long productId;
+    private Long customerId;
+    private Date createdOn;
+    private Date updatedOn;
+}
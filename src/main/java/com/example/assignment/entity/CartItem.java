@@ -5,7 +5,7 @@ import jakarta.validation.constraints.Min;
 import lombok.*;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = @UniqueConstraint(name = "uk_cart_items_cart_product", columnNames = {"cart_id", "product_id"}))
 @Getter
 @Setter
 @Builder
@@ -17,7 +17,7 @@ public class CartItem {
     private Long id;
     @Min(value = 1, message = "Quantity must be at least 1")
     private int quantity;
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
     @ManyToOne
@@ -1,12 +1,18 @@
 package com.example.assignment.entity;
 
+import com.example.assignment.constant.CacheRegion;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
+// Reference data read by every product load, kept in the second-level cache (SecondLevelCacheConfig)
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegion.CATEGORIES)
 @Getter
 @Setter
 @Builder
@@ -22,5 +28,6 @@ public class Category extends BaseEntityAudit {
     private Category parent;
 
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegion.SUB_CATEGORIES)
     private List<Category> subCategories;
 }
@@ -0,0 +1,31 @@
+package com.example.assignment.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A share of the stock of a hot product, see InventoryService.splitStock.
+ * Slot 0 is the quantity column of the product itself, the rows hold the slots from 1.
+ */
+@Entity
+@Table(name = "inventory_slots", uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "slot"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+    private int slot;
+    @Min(value = 0, message = "Quantity must be greater than or equal to 0")
+    private int quantity;
+}
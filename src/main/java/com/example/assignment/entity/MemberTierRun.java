@@ -0,0 +1,37 @@
+package com.example.assignment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * A recalculation of the member tiers (see MemberTierService) over the customers with an id between
+ * firstCustomerId and lastCustomerId, in chunks of chunkSize ids. The orders and ratings counted are the ones
+ * created in the window ending at asOf, so a run resumed after a restart computes the same tiers.
+ * It is unfinished while finishedOn is null.
+ */
+@Entity
+@Table(name = "member_tier_runs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberTierRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "as_of", nullable = false)
+    private Date asOf;
+    @Column(name = "first_customer_id", nullable = false)
+    private long firstCustomerId;
+    @Column(name = "last_customer_id", nullable = false)
+    private long lastCustomerId;
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+    @Column(name = "started_on", nullable = false)
+    private Date startedOn;
+    @Column(name = "finished_on")
+    private Date finishedOn;
+}
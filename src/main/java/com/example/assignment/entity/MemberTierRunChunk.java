@@ -0,0 +1,42 @@
+package com.example.assignment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.Date;
+
+/**
+ * A completed chunk of a member tier recalculation, written in the transaction that updated its tiers,
+ * so a resumed run skips exactly the chunks already applied.
+ */
+@Entity
+@Table(name = "member_tier_run_chunks", uniqueConstraints = @UniqueConstraint(
+    name = "uk_member_tier_run_chunks_run_first", columnNames = {"run_id", "first_customer_id"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberTierRunChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private MemberTierRun run;
+    @Column(name = "first_customer_id", nullable = false)
+    private long firstCustomerId;
+    /**
+     * Customers in the chunk.
+     */
+    private int customers;
+    /**
+     * Customers whose tier changed.
+     */
+    private int changed;
+    @Column(name = "completed_on", nullable = false)
+    private Date completedOn;
+}
@@ -8,14 +8,14 @@ import lombok.*;
 import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = @UniqueConstraint(name = "uk_orders_customer_idempotency_key", columnNames = {"customer_id", "idempotency_key"}))
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order extends BaseEntity {
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name = "shipping_address_id", nullable = false)
     private ShippingAddress shippingAddress;
     @ManyToOne
@@ -25,6 +25,11 @@ public class Order extends BaseEntity {
     private double total;
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
+    /**
+     * Key sent by the client with the checkout, a retried checkout returns the order created with the same key.
+     */
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     @ToString.Exclude
     private Set<OrderItem> orderItems;
@@ -15,6 +15,11 @@ public class OrderItem {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private Integer quantity;
+    /**
+     * Price of the product when the order was placed.
+     */
+    @Column(name = "unit_price")
+    private Double unitPrice;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
@@ -0,0 +1,47 @@
+package com.example.assignment.entity;
+
+import com.example.assignment.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.Date;
+
+/**
+ * Read model of the order history: one row per order, written with the order and its status changes
+ * (see CheckoutService and OrderService), so listing the orders of a customer reads neither the items nor the products.
+ * The index matches the keyset pagination of the history, newest first.
+ */
+@Entity
+@Table(name = "order_summaries",
+    indexes = @Index(name = "idx_order_summaries_customer_created", columnList = "customer_id, created_on, order_id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "order_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Order order;
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    @Column(name = "created_on", nullable = false)
+    private Date createdOn;
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    private double total;
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+    /**
+     * Image of the first item of the order.
+     */
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+}
@@ -2,10 +2,13 @@ package com.example.assignment.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Set;
 
+// Only the changed columns are updated, so saving a product does not overwrite stock reserved concurrently by InventoryService
 @Entity
+@DynamicUpdate
 @Table(name = "products")
 @Inheritance(strategy = InheritanceType.JOINED)
 @Getter
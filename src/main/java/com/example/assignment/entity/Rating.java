@@ -6,7 +6,7 @@ import jakarta.validation.constraints.DecimalMin;
 import lombok.*;
 
 @Entity
-@Table(name = "ratings")
+@Table(name = "ratings", indexes = @Index(name = "idx_ratings_customer_created", columnList = "customer_id, created_on"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +28,7 @@ public class ShippingAddress extends BaseEntity {
     @Column(name = "is_default")
     private boolean isDefault;
 
+    // Indexed as ll_to_earth(latitude, longitude) by V8__shipping_address_earth.sql
     private double latitude;
     private double longitude;
 
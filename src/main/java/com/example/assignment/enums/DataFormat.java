@@ -0,0 +1,34 @@
+package com.example.assignment.enums;
+
+import lombok.Getter;
+
+/**
+ * Line-oriented file formats of the bulk exports and imports.
+ */
+@Getter
+public enum DataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Convert a string value to a DataFormat enum.
+     * @param value the string value to convert
+     * @return the corresponding DataFormat enum
+     */
+    public static DataFormat fromValue(String value) {
+        for (DataFormat format : DataFormat.values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid data format: " + value);
+    }
+}
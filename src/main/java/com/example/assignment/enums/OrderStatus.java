@@ -6,6 +6,7 @@ import lombok.Getter;
 
 @Getter
 public enum OrderStatus {
+    PLACED("placed"),
     DELIVERING("delivering"),
     COMPLETED("completed");
 
@@ -0,0 +1,19 @@
+package com.example.assignment.enums;
+
+/**
+ * When the data seeds run at startup (seed.mode).
+ */
+public enum SeedMode {
+    /**
+     * Before the application accepts traffic.
+     */
+    SYNC,
+    /**
+     * On the task executor once the application is ready, off the startup critical path.
+     */
+    BACKGROUND,
+    /**
+     * Never, e.g. for instances of a fleet sharing an already seeded database.
+     */
+    OFF
+}
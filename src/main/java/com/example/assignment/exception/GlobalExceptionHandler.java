@@ -47,4 +47,24 @@ public class GlobalExceptionHandler {
                 .build();
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorRes);
     }
+
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<ErrorRes> handleOutOfStock(OutOfStockException ex) {
+        ErrorRes errorRes = ErrorRes.builder()
+                .error("Out Of Stock")
+                .cause("Not enough stock for the requested quantity")
+                .message(ex.getClass().getName() + ": " + ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorRes);
+    }
+
+    @ExceptionHandler(PriceChangedException.class)
+    public ResponseEntity<ErrorRes> handlePriceChanged(PriceChangedException ex) {
+        ErrorRes errorRes = ErrorRes.builder()
+                .error("Price Changed")
+                .cause("The prices changed since the cart was shown")
+                .message(ex.getClass().getName() + ": " + ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorRes);
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.assignment.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a reservation asks for more units than a product has in stock.
+ * This exception is annotated with @ResponseStatus to return a 409 CONFLICT status code.
+ */
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class OutOfStockException extends RuntimeException {
+    private final List<Long> productIds;
+
+    /**
+     * Constructs a new OutOfStockException for the products lacking stock.
+     *
+     * @param productIds the ids of the products without enough stock
+     */
+    public OutOfStockException(List<Long> productIds) {
+        super("Not enough stock for products " + productIds);
+        this.productIds = productIds;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.assignment.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the total of a checkout differs from the total shown to the customer.
+ * This exception is annotated with @ResponseStatus to return a 409 CONFLICT status code.
+ */
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class PriceChangedException extends RuntimeException {
+    private final double total;
+
+    /**
+     * Constructs a new PriceChangedException with the total at the current prices.
+     *
+     * @param expectedTotal the total shown to the customer
+     * @param total the total at the current prices
+     */
+    public PriceChangedException(double expectedTotal, double total) {
+        super("The total changed from " + expectedTotal + " to " + total);
+        this.total = total;
+    }
+}
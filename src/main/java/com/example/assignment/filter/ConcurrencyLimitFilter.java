@@ -0,0 +1,106 @@
+package com.example.assignment.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter bounding the number of requests processed at the same time.
+ * With virtual threads Tomcat no longer caps concurrency with its thread pool,
+ * so this bulkhead keeps the in-flight requests proportional to the JDBC connection pool.
+ * Requests wait up to the acquire timeout for a permit and get a 503 response otherwise.
+ * A Semaphore is used instead of synchronized blocks so waiting virtual threads never pin their carrier.
+ * The permit of an asynchronous request (a streamed export) is kept until the request completes,
+ * as its response is still written with a connection after the first dispatch returns.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            logger.warn("Concurrency limit reached, rejecting request");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable");
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests currently being processed
+     */
+    public int getInFlightRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once its response is complete.
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Released on completion
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Released on completion
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
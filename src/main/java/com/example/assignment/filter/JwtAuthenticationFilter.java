@@ -3,6 +3,7 @@ package com.example.assignment.filter;
 import com.example.assignment.entity.User;
 import com.example.assignment.provider.JwtProvider;
 import com.example.assignment.service.UserService;
+import com.example.assignment.util.ServerTiming;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,39 +40,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Check if the Authorization header is present and starts with "Bearer"
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-           final String jwt = authHeader.substring(7);
-            // Check if the JWT token is valid
-            if (jwt.isEmpty() || Boolean.FALSE.equals(jwtProvider.validateToken(jwt))) {
-                filterChain.doFilter(request, response);
-                return;
+            // Token parsing and user lookup are reported as the "auth" Server-Timing stage
+            try (ServerTiming.Stage ignored = ServerTiming.start(ServerTiming.AUTH)) {
+                authenticate(authHeader.substring(7), request);
             }
-            // Extract username from JWT token
-           final String userEmail = jwtProvider.extractUsername(jwt);
-            // Check if the username is not null and authentication is not yet set
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details from database
-                User user = (User) this.userService.loadUserByUsername(userEmail);
+        }
+        // Continue filter chain
+        filterChain.doFilter(request, response);
+    }
 
-                // check if this token's owner is the same as the one in the database
-                if(!userEmail.equals(user.getEmail())) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
+    private void authenticate(String jwt, HttpServletRequest request) {
+        // Check if the JWT token is valid
+        if (jwt.isEmpty() || Boolean.FALSE.equals(jwtProvider.validateToken(jwt))) {
+            return;
+        }
+        // Extract username from JWT token
+        final String userEmail = jwtProvider.extractUsername(jwt);
+        // Check if the username is not null and authentication is not yet set
+        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Load user details from database
+            User user = (User) this.userService.loadUserByUsername(userEmail);
 
-                // Create an authentication token
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        user,
-                        null,
-                        user.getAuthorities()
-                );
-                // Set details for the authentication token
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                // Set authentication in SecurityContext
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            // check if this token's owner is the same as the one in the database
+            if(!userEmail.equals(user.getEmail())) {
+                return;
             }
 
+            // Create an authentication token
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    user,
+                    null,
+                    user.getAuthorities()
+            );
+            // Set details for the authentication token
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Set authentication in SecurityContext
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
-        // Continue filter chain
-        filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
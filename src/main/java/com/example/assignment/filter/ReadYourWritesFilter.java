@@ -0,0 +1,72 @@
+package com.example.assignment.filter;
+
+import com.example.assignment.util.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Filter giving a client read-your-writes consistency over the read replica.
+ * A request that may write (any method but GET, HEAD and OPTIONS) is served by the primary and sets a cookie holding
+ * the time until which the requests of the client keep reading from the primary, the longest lag expected from the
+ * replica. The hint is carried by the client, so it holds whichever instance serves the next request.
+ * This filter is only registered when replica.enabled is true.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE = "primary-until";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration window;
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + window.toMillis()));
+            cookie.setHttpOnly(true);
+            cookie.setPath("/");
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        } else if (primaryUntil(request) <= now) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean previous = ReadYourWrites.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.restore(previous);
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.assignment.filter;
+
+import com.example.assignment.util.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter binding a ServerTiming context to each request.
+ * The response is not buffered: the Server-Timing header is written when the body is opened, just before
+ * the response commits, with the stages finished by then (auth, query, count, map). Clients accepting
+ * trailers (TE: trailers) also get the final header, with serialize and the total, as a trailer.
+ * Every stage is then recorded into a per-endpoint histogram ("http.server.stage" tagged with uri and stage),
+ * when the request completes, so asynchronous and streamed responses are recorded once they are written.
+ * This filter is only registered when server-timing.enabled is true.
+ */
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Server-Timing";
+    public static final String METRIC = "http.server.stage";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        if (acceptsTrailers(request)) {
+            try {
+                response.setTrailerFields(() -> Map.of(HEADER, timing.toHeaderValue()));
+                response.setHeader(HttpHeaders.TRAILER, HEADER);
+            } catch (IllegalStateException e) {
+                // The protocol (HTTP/1.0) does not carry trailers, the header alone is written
+            }
+        }
+        try {
+            filterChain.doFilter(request, new TimingResponse(response, timing));
+        } finally {
+            ServerTiming.end();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnComplete(request, timing));
+            } else {
+                record(request, timing);
+            }
+        }
+    }
+
+    private static boolean acceptsTrailers(HttpServletRequest request) {
+        String te = request.getHeader("TE");
+        return te != null && te.toLowerCase(Locale.ROOT).contains("trailers");
+    }
+
+    private void record(HttpServletRequest request, ServerTiming timing) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // unmatched requests are grouped together to keep the uri tag bounded
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        for (Map.Entry<String, Long> stage : timing.getStageNanos().entrySet()) {
+            stageTimer(uri, stage.getKey()).record(Duration.ofNanos(stage.getValue()));
+        }
+        stageTimer(uri, ServerTiming.TOTAL).record(Duration.ofNanos(timing.elapsedNanos()));
+    }
+
+    private Timer stageTimer(String uri, String stage) {
+        return Timer.builder(METRIC)
+            .description("Time spent per request stage")
+            .tag("uri", uri)
+            .tag("stage", stage)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * Writes the Server-Timing header once, before anything can commit the response:
+     * when the body is opened, flushed, or replaced by an error or a redirect.
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+        private final ServerTiming timing;
+        private boolean written;
+
+        private TimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        private void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(HEADER, timing.toHeaderValue());
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+
+    /**
+     * Records the stages of an asynchronous request once its response is complete.
+     */
+    @RequiredArgsConstructor
+    private final class RecordOnComplete implements AsyncListener {
+        private final HttpServletRequest request;
+        private final ServerTiming timing;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, timing);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Recorded on completion
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Recorded on completion
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
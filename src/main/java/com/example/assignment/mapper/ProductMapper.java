@@ -5,15 +5,30 @@ import com.example.assignment.dto.response.ProductDetailRes;
 import com.example.assignment.dto.response.ProductRes;
 import com.example.assignment.entity.Product;
 import com.example.assignment.mapper.helper.CategoryMappingHelper;
+import com.example.assignment.util.SparseFields;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.Map;
+
 /**
  * Mapper interface for mapping between Product entity and Product DTOs.
  * This interface uses MapStruct to generate the implementation at compile time.
  */
 @Mapper(componentModel = "spring", uses = {CategoryMappingHelper.class, UserMapper.class})
 public interface ProductMapper extends PagingMapper {
+    /**
+     * The columns of ProductRes for the sparse fieldsets of the listings, see {@link SparseFields}.
+     */
+    Map<String, String> COLUMNS = SparseFields.columns("id", "name", "price", "imageUrl", "isActive", "avgRating",
+        "ratingCount");
+    /**
+     * The columns of ProductDetailRes for the sparse fieldsets of the product lookup, the ratings excepted.
+     */
+    Map<String, String> DETAIL_COLUMNS = SparseFields.with(SparseFields.columns("id", "name", "description",
+        "category.id", "category.name", "category.description", "category.parentId=category.parent.id", "price",
+        "quantity", "avgRating", "ratingCount", "imageUrl", "isActive", "createdOn", "updatedOn"), "createdBy", UserMapper.COLUMNS);
+
     /**
      * Maps a Product entity to a Product DTO.
      *
@@ -3,9 +3,12 @@ package com.example.assignment.mapper;
 import com.example.assignment.dto.request.RatingCreationReq;
 import com.example.assignment.dto.response.RatingRes;
 import com.example.assignment.entity.Rating;
+import com.example.assignment.util.SparseFields;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.Map;
+
 /**
  * Mapper interface for converting between Rating entity and DTOs.
  * This mapper is used to convert RatingCreationReq to Rating entity and Rating entity to RatingRes.
@@ -13,6 +16,13 @@ import org.mapstruct.Mapping;
  */
 @Mapper(componentModel = "spring", uses = {UserMapper.class})
 public interface RatingMapper extends PagingMapper {
+    /**
+     * The columns of RatingRes for the sparse fieldsets, see {@link SparseFields}.
+     * The product id is read from the foreign key, the customer through its profile.
+     */
+    Map<String, String> COLUMNS = SparseFields.with(SparseFields.columns("id", "score", "comment", "createdOn", "updatedOn",
+        "productId=product.id"), "customer", UserMapper.COLUMNS);
+
     /**
      * Converts a RatingCreationReq DTO to a Rating entity.
      * @param ratingCreationReq the RatingCreationReq DTO
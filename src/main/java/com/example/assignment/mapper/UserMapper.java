@@ -6,10 +6,13 @@ import com.example.assignment.dto.response.UserRes;
 import com.example.assignment.entity.Customer;
 import com.example.assignment.entity.User;
 import com.example.assignment.entity.UserProfile;
+import com.example.assignment.util.SparseFields;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.SubclassMapping;
 
+import java.util.Map;
+
 /**
  * Mapper interface for converting between User entity and DTOs.
  * This interface uses MapStruct to generate the implementation at compile time.
@@ -18,6 +21,13 @@ import org.mapstruct.SubclassMapping;
  */
 @Mapper(componentModel = "spring", uses = {UserProfileMapper.class})
 public interface UserMapper extends PagingMapper {
+    /**
+     * The columns of UserRes for the sparse fieldsets, see {@link SparseFields}.
+     * The member tier is an attribute of the customers, null for the other users.
+     */
+    Map<String, String> COLUMNS = SparseFields.columns("id", "firstName=userProfile.firstName",
+        "lastName=userProfile.lastName", "avatar=userProfile.avatar", "role", "memberTier", "active=isActive");
+
     /**
      * Converts a UserCreation DTO to a User entity.
      *
@@ -14,4 +14,9 @@ import java.io.Serializable;
  */
 @NoRepositoryBean
 public interface BaseRepository<E, K extends Serializable> extends JpaRepository<E, K>, JpaSpecificationExecutor<E> {
+    /**
+     * Rows fetched per round trip by the export streams. The PostgreSQL driver only uses a cursor
+     * when a fetch size is set inside a transaction, otherwise it reads the whole result into memory.
+     */
+    String EXPORT_FETCH_SIZE = "1000";
 }
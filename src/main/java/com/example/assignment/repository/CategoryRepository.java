@@ -1,8 +1,12 @@
 package com.example.assignment.repository;
 import com.example.assignment.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for managing Category entities.
@@ -30,4 +34,27 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return a list of root categories
      */
     List<Category> findCategoriesByParentIsNull(); // Find all root categories
+
+    /**
+     * Find the version of a category.
+     * @param categoryId the category ID
+     * @return the last update of the category, or empty if it does not exist
+     */
+    @Query("SELECT c.updatedOn AS lastModified, 1L AS count FROM Category c WHERE c.id = :categoryId")
+    Optional<EntityVersion> findVersionById(@Param("categoryId") Long categoryId);
+
+    /**
+     * Find the version of the whole category tree.
+     * The count changes when a category is deleted, the last update when one is created or modified.
+     * @return the latest update and the number of categories
+     */
+    @Query("SELECT max(c.updatedOn) AS lastModified, count(c) AS count FROM Category c")
+    EntityVersion findTreeVersion();
+
+    /**
+     * Find the ids of all categories, to validate category references in memory.
+     * @return the category ids
+     */
+    @Query("SELECT c.id FROM Category c")
+    Set<Long> findAllIds();
 }
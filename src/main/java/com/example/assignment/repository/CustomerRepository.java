@@ -2,8 +2,14 @@ package com.example.assignment.repository;
 
 import com.example.assignment.entity.Customer;
 import com.example.assignment.enums.MemberTier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Customer entities.
@@ -20,4 +26,17 @@ public interface CustomerRepository extends BaseRepository<Customer, Long> {
      * @return a page of customers belonging to the specified member tier
      */
     Page<Customer> findByMemberTier(MemberTier memberTier, Pageable pageable);
+
+    /**
+     * Streams all customers with their profile through a read-only database cursor, for exports.
+     * The profile is fetched in the same query instead of one query per customer.
+     * The stream must be consumed and closed inside a transaction.
+     * @return the customers ordered by ID
+     */
+    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.userProfile ORDER BY c.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Customer> streamAllByOrderById();
 }
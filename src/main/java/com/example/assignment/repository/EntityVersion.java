@@ -0,0 +1,19 @@
+package com.example.assignment.repository;
+
+import java.util.Date;
+
+/**
+ * Projection of the version of an entity, or of a set of entities, used to answer conditional GETs.
+ * The queries returning it only read timestamps and counts.
+ */
+public interface EntityVersion {
+    /**
+     * @return the latest updatedOn of the rows
+     */
+    Date getLastModified();
+
+    /**
+     * @return the number of rows
+     */
+    long getCount();
+}
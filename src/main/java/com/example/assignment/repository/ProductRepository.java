@@ -1,10 +1,13 @@
 package com.example.assignment.repository;
 
 import com.example.assignment.entity.Product;
+import jakarta.persistence.QueryHint;
 import lombok.NonNull;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Product entities.
@@ -41,4 +44,31 @@ public interface ProductRepository extends BaseRepository<Product, Long> {
   WHERE id = :productId
 """, nativeQuery = true)
     void updateProductRating(@Param("productId") Long productId, @Param("score") double score);
+
+    /**
+     * Finds the version of a product detail: the product, its category and its ratings.
+     * Reads timestamps and a count only, so it is much cheaper than loading the product with its ratings.
+     * @param productId the ID of the product
+     * @return the latest update and the number of ratings, or empty if the product does not exist
+     */
+    @Query(value = """
+  SELECT greatest(p.updated_on, c.updated_on, max(r.updated_on)) AS lastModified, count(r.id) AS count
+  FROM products p
+  JOIN categories c ON c.id = p.category_id
+  LEFT JOIN ratings r ON r.product_id = p.id
+  WHERE p.id = :productId
+  GROUP BY p.id, c.id
+""", nativeQuery = true)
+    Optional<EntityVersion> findVersionById(@Param("productId") Long productId);
+
+    /**
+     * Streams all products through a read-only database cursor, for exports.
+     * The stream must be consumed and closed inside a transaction.
+     * @return the products ordered by ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllByOrderById();
 }
@@ -1,10 +1,36 @@
 package com.example.assignment.repository;
 
+import com.example.assignment.dto.response.RatingExportRes;
 import com.example.assignment.entity.Rating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RatingRepository extends BaseRepository<Rating, Long> {
     Page<Rating> findByProductId(Long productId, Pageable pageable);
     Page<Rating> findByCustomerId(Long customerId, Pageable pageable);
+
+    @Query("SELECT r.updatedOn AS lastModified, 1L AS count FROM Rating r WHERE r.id = :ratingId")
+    Optional<EntityVersion> findVersionById(@Param("ratingId") Long ratingId);
+
+    /**
+     * Streams all ratings as flat rows through a database cursor, for exports.
+     * The product and customer IDs are read from the foreign keys, the associations are not loaded.
+     * The stream must be consumed and closed inside a transaction.
+     * @return the rating rows ordered by ID
+     */
+    @Query("""
+        SELECT new com.example.assignment.dto.response.RatingExportRes(
+            r.id, r.score, r.comment, r.product.id, r.customer.id, r.createdOn, r.updatedOn)
+        FROM Rating r ORDER BY r.id
+        """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<RatingExportRes> streamExportRows();
 }
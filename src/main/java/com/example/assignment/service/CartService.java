@@ -0,0 +1,54 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.response.CartRes;
+
+/**
+ * Service managing the shopping cart of each customer.
+ * <p>
+ * Active carts are kept in memory and written behind to the database: changing a cart does not wait for a write,
+ * the changed carts are written in batches every cart.flush-interval and when the application stops.
+ */
+public interface CartService {
+    /**
+     * Get the cart of a customer, empty when the customer has none.
+     *
+     * @param customerId the customer id
+     * @return the items and the total of the cart
+     */
+    CartRes getCart(Long customerId);
+
+    /**
+     * Add units of a product to the cart of a customer.
+     *
+     * @param customerId the customer id
+     * @param productId the id of an active product
+     * @param quantity the number of units to add, greater than 0
+     * @return the updated cart
+     * @throws com.example.assignment.exception.ResourceNotFoundException if the product does not exist or is inactive
+     */
+    CartRes addItem(Long customerId, Long productId, int quantity);
+
+    /**
+     * Remove units of a product from the cart of a customer.
+     *
+     * @param customerId the customer id
+     * @param productId the product id
+     * @param quantity the number of units to remove, null (or more than the cart holds) removes the product
+     * @return the updated cart
+     */
+    CartRes removeItem(Long customerId, Long productId, Integer quantity);
+
+    /**
+     * Remove every item from the cart of a customer.
+     *
+     * @param customerId the customer id
+     */
+    void clearCart(Long customerId);
+
+    /**
+     * Write the carts changed since the last flush.
+     *
+     * @return the number of carts written
+     */
+    int flush();
+}
@@ -3,8 +3,10 @@ package com.example.assignment.service;
 import com.example.assignment.dto.request.CategoryCreationReq;
 import com.example.assignment.dto.response.CategoryRes;
 import com.example.assignment.dto.response.CategoryTreeRes;
+import com.example.assignment.util.ResourceVersion;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service class for managing categories.
@@ -53,6 +55,20 @@ public interface CategoryService {
      */
     CategoryRes getCategoryById(Long categoryId);
 
+    /**
+     * Retrieves the version of a category, without loading the category.
+     *
+     * @param categoryId the ID of the category
+     * @return the version of the category, or empty if it does not exist
+     */
+    Optional<ResourceVersion> getCategoryVersion(Long categoryId);
+
+    /**
+     * Retrieves the version of the category tree, shared by the tree and top-level category endpoints.
+     * @return the version of the category tree
+     */
+    ResourceVersion getCategoryTreeVersion();
+
 
     /**
      * Retrieves a tree structure of categories by parent ID.
@@ -0,0 +1,26 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.request.CheckoutReq;
+import com.example.assignment.dto.response.OrderRes;
+
+/**
+ * Service turning the cart of a customer into an order.
+ */
+public interface CheckoutService {
+    /**
+     * Place the cart of a customer as an order: price it against the current catalog, reserve the stock of every item
+     * and create the order with its items in one transaction, then remove the ordered units from the cart.
+     * A checkout retried with the same idempotency key returns the order of the first one, marked as replayed,
+     * without checking the prices or reserving the stock again.
+     *
+     * @param customerId the customer id
+     * @param idempotencyKey a key unique per checkout of the customer, at most 64 characters
+     * @param checkoutReq the shipping address and the total shown to the customer
+     * @return the created, or replayed, order
+     * @throws com.example.assignment.exception.PriceChangedException if the current prices give another total
+     * @throws com.example.assignment.exception.OutOfStockException if an item does not have enough stock
+     * @throws com.example.assignment.exception.ResourceNotFoundException if a product is inactive or deleted,
+     *         or the shipping address is not one of the customer
+     */
+    OrderRes checkout(Long customerId, String idempotencyKey, CheckoutReq checkoutReq);
+}
@@ -28,11 +28,15 @@ public interface CustomerService {
 
     /**
      * Get a list of customers with pagination and sorting.
+     * @param name a part of the email, first name, last name or phone number of the customers, ignoring case,
+     *             or null for all customers
+     * @param memberTier the member tier to filter customers by, or null for all tiers
      * @param pageNo the page number for pagination
      * @param pageSize the number of customers per page
      * @param sortDir the direction to sort (ascending or descending)
      * @param sortBy the field to sort by
      * @return a pageable result of customers
+     * @throws IllegalArgumentException if the member tier is unknown
      */
     PagingRes<UserRes> getCustomers(String name, String memberTier, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
 
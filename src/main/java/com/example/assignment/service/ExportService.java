@@ -0,0 +1,37 @@
+package com.example.assignment.service;
+
+import com.example.assignment.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service streaming whole tables to an output stream, for admin exports.
+ * Rows are read through a forward-only database cursor and written one by one,
+ * so the memory used does not depend on the number of rows.
+ */
+public interface ExportService {
+    /**
+     * Export all products, ordered by id.
+     * @param format the output format
+     * @param outputStream the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    void exportProducts(DataFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Export all customers, ordered by id.
+     * @param format the output format
+     * @param outputStream the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    void exportCustomers(DataFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Export all ratings, ordered by id.
+     * @param format the output format
+     * @param outputStream the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    void exportRatings(DataFormat format, OutputStream outputStream) throws IOException;
+}
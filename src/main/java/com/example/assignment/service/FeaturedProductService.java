@@ -0,0 +1,50 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.request.FeatureWindowReq;
+import com.example.assignment.dto.response.FeatureWindowRes;
+import com.example.assignment.dto.response.ProductRes;
+
+import java.util.List;
+
+/**
+ * Service featuring products during scheduled windows and serving the featured products of the home page.
+ */
+public interface FeaturedProductService {
+    /**
+     * Retrieves the active featured products from an in-memory snapshot, without locking.
+     *
+     * @return the featured products, by window priority then best rated first
+     */
+    List<ProductRes> getFeaturedProducts();
+
+    /**
+     * Features a product from the start to the end date of the window, replacing its previous window.
+     * The product is featured at once if the window has started, and unfeatured if it has ended.
+     *
+     * @param productId the product id
+     * @param featureWindowReq the window and its priority
+     * @return the window and whether the product is featured now
+     * @throws com.example.assignment.exception.ResourceNotFoundException if the product does not exist
+     * @throws IllegalArgumentException if the window ends before it starts
+     */
+    FeatureWindowRes scheduleFeature(Long productId, FeatureWindowReq featureWindowReq);
+
+    /**
+     * Removes the window of a product and unfeatures it.
+     *
+     * @param productId the product id
+     * @throws com.example.assignment.exception.ResourceNotFoundException if the product has no window
+     */
+    void removeFeature(Long productId);
+
+    /**
+     * Rebuilds the snapshot on its next read, after a committed change to the featured products.
+     */
+    void refresh();
+
+    /**
+     * Rebuilds the snapshot on its next read once the current transaction commits, or now without a transaction.
+     * Used after bulk or native updates, which do not go through the Hibernate events.
+     */
+    void refreshAfterCommit();
+}
@@ -0,0 +1,56 @@
+package com.example.assignment.service;
+
+import java.util.Map;
+
+/**
+ * Service reserving and releasing product stock with conditional atomic updates (quantity >= n),
+ * without reading the stock first or locking the product.
+ * <p>
+ * The stock of a hot product can be split into slots: a reservation takes the units from one slot picked at random,
+ * so concurrent reservations of the product mostly update different rows instead of queuing on a single row lock.
+ * Slot 0 is the quantity of the product, updating it directly (e.g. through updateProductById) only changes that slot,
+ * use restock to set the stock of a split product.
+ */
+public interface InventoryService {
+    /**
+     * Reserve stock for several products, all or nothing.
+     * Products are updated in id order, so concurrent reservations of the same products cannot deadlock.
+     * Must run in the caller's transaction to be released on rollback, e.g. when the order cannot be created.
+     *
+     * @param quantities the number of units to reserve per product id, each greater than 0
+     * @throws com.example.assignment.exception.OutOfStockException if a product does not have enough stock,
+     *         nothing is reserved then
+     */
+    void reserve(Map<Long, Integer> quantities);
+
+    /**
+     * Put reserved units back in stock.
+     *
+     * @param quantities the number of units to release per product id, each greater than 0
+     */
+    void release(Map<Long, Integer> quantities);
+
+    /**
+     * Get the units in stock of a product, over all its slots.
+     *
+     * @param productId the product id
+     * @return the units in stock
+     */
+    int getAvailableQuantity(Long productId);
+
+    /**
+     * Spread the current stock of a product evenly over a number of slots, 1 merges it back into the product.
+     *
+     * @param productId the product id
+     * @param slots the number of slots, between 1 and inventory.max-slots
+     */
+    void splitStock(Long productId, int slots);
+
+    /**
+     * Set the stock of a product, spread over its current slots.
+     *
+     * @param productId the product id
+     * @param quantity the new number of units in stock
+     */
+    void restock(Long productId, int quantity);
+}
@@ -0,0 +1,31 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.response.MemberTierRunRes;
+
+/**
+ * Service recalculating the member tiers of all customers from their order totals and rating activity.
+ */
+public interface MemberTierService {
+    /**
+     * Recalculate the member tiers, resuming the unfinished run if there is one, and wait for the end of the run.
+     * The customers are processed in id-range chunks by a pool of workers, each chunk computes the tiers with one
+     * aggregation and updates only the customers whose tier changed.
+     *
+     * @return the finished run
+     * @throws IllegalStateException if a run is already in progress
+     */
+    MemberTierRunRes recalculate();
+
+    /**
+     * Start a recalculation in the background, unless one is already in progress.
+     *
+     * @return the progress of the started or running run
+     */
+    MemberTierRunRes startRecalculation();
+
+    /**
+     * @return the progress of the latest run
+     * @throws com.example.assignment.exception.ResourceNotFoundException if the tiers were never recalculated
+     */
+    MemberTierRunRes getLatestRun();
+}
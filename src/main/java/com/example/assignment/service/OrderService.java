@@ -0,0 +1,28 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.response.CursorPageRes;
+import com.example.assignment.dto.response.OrderSummaryRes;
+
+/**
+ * Service reading the order history of the customers and changing the status of the orders.
+ */
+public interface OrderService {
+    /**
+     * Get a page of the orders of a customer, newest first, from the order summaries.
+     *
+     * @param customerId the customer id
+     * @param cursor the nextCursor of the previous page, null for the first page
+     * @param size the number of orders, between 1 and 100
+     * @return the orders and the cursor of the next page
+     */
+    CursorPageRes<OrderSummaryRes> getOrderHistory(Long customerId, String cursor, int size);
+
+    /**
+     * Change the status of an order and of its summary.
+     *
+     * @param orderId the order id
+     * @param status the new status
+     * @throws com.example.assignment.exception.ResourceNotFoundException if the order does not exist
+     */
+    void updateOrderStatus(Long orderId, String status);
+}
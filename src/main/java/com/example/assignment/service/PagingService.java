@@ -1,6 +1,7 @@
 package com.example.assignment.service;
 
 import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.util.FetchPlan;
 import org.springframework.data.jpa.domain.Specification;
 
 /**
@@ -20,4 +21,16 @@ public interface PagingService<T, E> {
      */
     PagingRes<T> getMany(Specification<E> spec, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
 
+    /**
+     * Get a paginated list of entities, loading their associations as the fetch plan says.
+     * @param spec the spec to filter the entities. This can be null.
+     * @param fetchPlan the associations fetched with the page (entity graph) or in batches
+     * @param pageNo number of the page to retrieve
+     * @param pageSize number of items per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return a paginated response containing the entities
+     */
+    PagingRes<T> getMany(Specification<E> spec, FetchPlan fetchPlan, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
+
 }
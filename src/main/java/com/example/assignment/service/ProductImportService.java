@@ -0,0 +1,25 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.response.ProductImportRes;
+import com.example.assignment.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service importing products in bulk from a streamed file.
+ * Rows are validated as they are read and loaded in batches, so large catalogs are onboarded
+ * with a few statements per thousand products instead of one INSERT per product.
+ */
+public interface ProductImportService {
+    /**
+     * Import products, one ProductCreationReq per row.
+     * Invalid rows (bean validation, unknown category) are rejected and reported, the valid rows are imported
+     * in a single transaction.
+     * @param format the input format, NDJSON or CSV with a header line
+     * @param inputStream the rows to import
+     * @return the number of imported and rejected rows, with the import throughput
+     * @throws IOException if reading the input fails
+     */
+    ProductImportRes importProducts(DataFormat format, InputStream inputStream) throws IOException;
+}
@@ -2,8 +2,15 @@ package com.example.assignment.service;
 
 import com.example.assignment.dto.request.*;
 import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.ProductBulkUpdateRes;
 import com.example.assignment.dto.response.ProductDetailRes;
 import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.util.ResourceVersion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * ProductService interface for managing product (CRUD) operations.
@@ -37,6 +44,24 @@ public interface ProductService {
      */
     ProductDetailRes getProductById(Long id);
 
+    /**
+     * Retrieves the version of a product detail, without loading the product.
+     *
+     * @param id the id of the product
+     * @return the version of the product detail, or empty if the product does not exist
+     */
+    Optional<ResourceVersion> getProductVersion(Long id);
+
+    /**
+     * Retrieves the requested fields of a product detail.
+     * Only the columns of the fields are queried, the ratings only when they are requested.
+     *
+     * @param id the id of the product to retrieve
+     * @param fields the requested fields of ProductDetailRes
+     * @return the requested fields of the product
+     */
+    Map<String, Object> getProductById(Long id, Set<String> fields);
+
     /**
      * Deletes a product by id.
      *
@@ -61,6 +86,24 @@ public interface ProductService {
      */
     void updateToFeaturedProduct(Long id, Boolean isFeatured);
 
+    /**
+     * Applies the same change to many products with set-based UPDATE statements,
+     * instead of loading, validating and saving every product.
+     * The products get a new updated date, so their ETags change, and the cached featured products
+     * are evicted once the change commits.
+     *
+     * @param productBulkUpdateReq the selected products (ids or filter) and the change to apply
+     * @return the number of updated products
+     */
+    ProductBulkUpdateRes bulkUpdateProducts(ProductBulkUpdateReq productBulkUpdateReq);
+
+    /**
+     * Retrieves the active featured products, the same list for every visitor.
+     *
+     * @return the featured products, by window priority then best rated first
+     */
+    List<ProductRes> getFeaturedProducts();
+
     /**
      * Retrieves a list of products using pagination and filter by name, featured status, and category id.
      * @param filterReq the filter request object containing filter criteria
@@ -77,4 +120,24 @@ public interface ProductService {
         String sortDir,
         String sortBy
     );
+
+    /**
+     * Retrieves the requested fields of a page of products, filtered as {@link #getProducts(ProductFilterReq, Integer, Integer, String, String)}.
+     * Only the columns of the fields are queried.
+     * @param filterReq the filter request object containing filter criteria
+     * @param fields the requested fields of ProductRes
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of products per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return the requested fields of the products
+     */
+    PagingRes<Map<String, Object>> getProducts(
+        ProductFilterReq filterReq,
+        Set<String> fields,
+        Integer pageNo,
+        Integer pageSize,
+        String sortDir,
+        String sortBy
+    );
 }
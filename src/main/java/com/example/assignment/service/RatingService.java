@@ -4,6 +4,11 @@ import com.example.assignment.dto.request.RatingCreationReq;
 import com.example.assignment.dto.request.RatingUpdatingReq;
 import com.example.assignment.dto.response.PagingRes;
 import com.example.assignment.dto.response.RatingRes;
+import com.example.assignment.util.ResourceVersion;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service interface for managing ratings.
@@ -25,6 +30,13 @@ public interface RatingService {
      */
     RatingRes getRatingById(Long id);
 
+    /**
+     * Retrieves the version of a rating, without loading the rating.
+     * @param id the ID of the rating
+     * @return the version of the rating, or empty if it does not exist
+     */
+    Optional<ResourceVersion> getRatingVersion(Long id);
+
     /**
      * Retrieves all ratings with pagination.
      * @param pageNo the page number to retrieve
@@ -35,6 +47,17 @@ public interface RatingService {
      */
     PagingRes<RatingRes> getAllRatings(Integer pageNo, Integer pageSize, String sortDir, String sortBy);
 
+    /**
+     * Retrieves the requested fields of all ratings with pagination, only their columns being queried.
+     * @param fields the requested fields of RatingRes
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of ratings per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return a pageable result of the fields of the ratings
+     */
+    PagingRes<Map<String, Object>> getAllRatings(Set<String> fields, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
+
     /**
      * Retrieves ratings by product ID with pagination.
      * @param productId the ID of the product to filter ratings by
@@ -46,6 +69,19 @@ public interface RatingService {
      */
     PagingRes<RatingRes> getRatingsByProductId(Long productId, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
 
+    /**
+     * Retrieves the requested fields of the ratings of a product with pagination, only their columns being queried.
+     * @param productId the ID of the product to filter ratings by
+     * @param fields the requested fields of RatingRes
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of ratings per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return a pageable result of the fields of the ratings for the specified product
+     */
+    PagingRes<Map<String, Object>> getRatingsByProductId(Long productId, Set<String> fields, Integer pageNo, Integer pageSize,
+                                                         String sortDir, String sortBy);
+
     /**
      * Retrieves ratings by customer ID with pagination.
      * @param customerId the ID of the customer to filter ratings by
@@ -57,6 +93,19 @@ public interface RatingService {
      */
     PagingRes<RatingRes> getRatingsByCustomerId(Long customerId, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
 
+    /**
+     * Retrieves the requested fields of the ratings of a customer with pagination, only their columns being queried.
+     * @param customerId the ID of the customer to filter ratings by
+     * @param fields the requested fields of RatingRes
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of ratings per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return a pageable result of the fields of the ratings for the specified customer
+     */
+    PagingRes<Map<String, Object>> getRatingsByCustomerId(Long customerId, Set<String> fields, Integer pageNo, Integer pageSize,
+                                                          String sortDir, String sortBy);
+
     /**
      * Updates an existing rating.
      * @param id the ID of the rating to be updated
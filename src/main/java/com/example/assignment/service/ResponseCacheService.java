@@ -0,0 +1,43 @@
+package com.example.assignment.service;
+
+import com.example.assignment.util.CachedResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * Service caching whole JSON responses that are identical for every visitor,
+ * serialized and compressed once instead of on every request.
+ * Entries are evicted after the transaction changing their data commits, and expire after
+ * response-cache.max-age to bound staleness from writes that bypass Hibernate (native or bulk SQL).
+ */
+public interface ResponseCacheService {
+    /**
+     * The category tree, /api/v1/categories/tree.
+     */
+    String CATEGORY_TREE = "category-tree";
+    /**
+     * The featured products, /api/v1/products/featured.
+     */
+    String FEATURED_PRODUCTS = "featured-products";
+
+    /**
+     * Get a cached response, building it on a miss.
+     * @param key the cache key
+     * @param body supplies the response body to serialize on a miss
+     * @return the cached response
+     */
+    CachedResponse get(String key, Supplier<?> body);
+
+    /**
+     * Evict a cached response. A response being built concurrently from older data is not stored.
+     * @param key the cache key
+     */
+    void evict(String key);
+
+    /**
+     * Evict a cached response once the current transaction commits, or now without a transaction.
+     * Used after bulk or native updates, which do not go through the Hibernate events.
+     * @param key the cache key
+     */
+    void evictAfterCommit(String key);
+}
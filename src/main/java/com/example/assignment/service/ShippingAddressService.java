@@ -0,0 +1,35 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.response.NearbyAddressRes;
+
+import java.util.List;
+
+/**
+ * Service searching the shipping addresses around a point, for delivery zones and nearest pickup points.
+ */
+public interface ShippingAddressService {
+    /**
+     * Retrieves the addresses within a radius of a point, closest first.
+     *
+     * @param latitude the latitude of the point, in degrees
+     * @param longitude the longitude of the point, in degrees
+     * @param radius the radius, in meters
+     * @param limit the maximum number of addresses
+     * @param perCustomer whether to keep only the closest address of each customer
+     * @return the addresses with their distance to the point
+     * @throws IllegalArgumentException if the point, radius or limit is out of range
+     */
+    List<NearbyAddressRes> findWithinRadius(double latitude, double longitude, double radius, int limit, boolean perCustomer);
+
+    /**
+     * Retrieves the k addresses nearest to a point, closest first.
+     *
+     * @param latitude the latitude of the point, in degrees
+     * @param longitude the longitude of the point, in degrees
+     * @param k the number of addresses
+     * @param perCustomer whether to return the k nearest customers, each with its closest address
+     * @return the addresses with their distance to the point
+     * @throws IllegalArgumentException if the point or k is out of range
+     */
+    List<NearbyAddressRes> findNearest(double latitude, double longitude, int k, boolean perCustomer);
+}
@@ -6,6 +6,9 @@ import com.example.assignment.dto.response.UserDetailsRes;
 import com.example.assignment.dto.response.UserRes;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.util.Map;
+import java.util.Set;
+
 
 /**
  * UserService interface for managing user (CRUD) operations.
@@ -57,6 +60,18 @@ public interface UserService extends UserDetailsService {
      */
     PagingRes<UserRes> getUsers(Integer pageNo, Integer pageSize, String sortDir, String sortBy);
 
+    /**
+     * Retrieves the requested fields of a page of users, only their columns being queried.
+     *
+     * @param fields the requested fields of UserRes
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of users per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return the requested fields of the users
+     */
+    PagingRes<Map<String, Object>> getUsers(Set<String> fields, Integer pageNo, Integer pageSize, String sortDir, String sortBy);
+
     /**
      * Checks if a user exists by email.
      *
@@ -0,0 +1,468 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.dto.response.CartItemRes;
+import com.example.assignment.dto.response.CartRes;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.CartService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Active carts live in memory, keyed by customer id, and are written behind to carts and cart_items:
+ * a change updates the items and the total of the cart under the cart's own lock, without a database round trip,
+ * and a background task writes the changed carts every cart.flush-interval, cart.flush-batch-size carts per transaction.
+ * The remaining changes are written when the application stops, after the web server (which stops accepting requests)
+ * and before the data source is closed.
+ * <p>
+ * The store is bounded by cart.max-carts: after each flush the least recently used carts are dropped from memory,
+ * they are loaded again on their next use. Carts changed since the last flush are never dropped.
+ * The cart of a customer must be changed through a single instance, another instance would overwrite the changes.
+ * <p>
+ * Unit prices are cached for cart.price-max-age, the total is kept in cents so it does not drift
+ * with the additions and subtractions. Each flush drops the items of products deleted or deactivated
+ * since they were added, as loading and writing a cart do, so the total only counts products still for sale.
+ * <p>
+ * The operations are not logged by the LoggingAspect, they run in memory on every cart change.
+ */
+@Slf4j
+@Service
+public class CartServiceImpl implements CartService, SmartLifecycle {
+    private static final int MAX_QUANTITY = 999;
+    private static final String UPSERT_CART = """
+        INSERT INTO carts (customer_id, total) VALUES (?, ?)
+        ON CONFLICT (customer_id) DO UPDATE SET total = excluded.total
+        """;
+    private static final String DELETE_ITEMS =
+        "DELETE FROM cart_items WHERE cart_id IN (SELECT id FROM carts WHERE customer_id = ANY(?))";
+    /**
+     * The items of products deleted or deactivated since they were added are not written.
+     */
+    private static final String INSERT_ITEM = """
+        INSERT INTO cart_items (cart_id, product_id, quantity)
+        SELECT c.id, p.id, ? FROM carts c JOIN products p ON p.id = ? AND p.is_active WHERE c.customer_id = ?
+        """;
+    private static final String LOAD_ITEMS = """
+        SELECT i.product_id, i.quantity, p.price FROM carts c
+        JOIN cart_items i ON i.cart_id = c.id
+        JOIN products p ON p.id = i.product_id AND p.is_active
+        WHERE c.customer_id = ? ORDER BY i.id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, ActiveCart> carts = new ConcurrentHashMap<>();
+    private final Map<Long, Price> prices = new ConcurrentHashMap<>();
+    /**
+     * The background task and the shutdown flush must not write the same cart concurrently, in any order.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService flusher;
+
+    @Value("${cart.max-carts:100000}")
+    private int maxCarts;
+
+    @Value("${cart.flush-interval:1s}")
+    private Duration flushInterval;
+
+    @Value("${cart.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${cart.price-max-age:60s}")
+    private Duration priceMaxAge;
+
+    public CartServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CartRes getCart(Long customerId) {
+        return withCart(customerId, ActiveCart::toRes);
+    }
+
+    @Override
+    public CartRes addItem(Long customerId, Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        long unitCents = priceCents(productId);
+        return withCart(customerId, cart -> {
+            cart.add(productId, quantity, unitCents);
+            return cart.toRes();
+        });
+    }
+
+    @Override
+    public CartRes removeItem(Long customerId, Long productId, Integer quantity) {
+        if (quantity != null && quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        return withCart(customerId, cart -> {
+            cart.remove(productId, quantity == null ? Integer.MAX_VALUE : quantity);
+            return cart.toRes();
+        });
+    }
+
+    @Override
+    public void clearCart(Long customerId) {
+        withCart(customerId, cart -> {
+            cart.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            dropUnavailable();
+            int written = 0;
+            List<CartSnapshot> batch = new ArrayList<>();
+            for (ActiveCart cart : carts.values()) {
+                CartSnapshot snapshot = cart.snapshotIfChanged();
+                if (snapshot != null) {
+                    batch.add(snapshot);
+                    if (batch.size() >= flushBatchSize) {
+                        written += write(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            written += write(batch);
+            trim();
+            long now = System.nanoTime();
+            prices.values().removeIf(price -> price.isExpired(now, priceMaxAge));
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cart-flush").daemon().factory());
+        long interval = flushInterval.toMillis();
+        // A task that throws is not run again
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("Cannot flush the carts", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("The background cart flush did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        log.info("Wrote {} carts on shutdown", flush());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    /**
+     * Below the phase of the web server, so the carts are written after the last request is served.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Apply an action to the cart of a customer, loaded from the database when not in memory.
+     * A cart dropped from memory between the lookup and the lock is looked up again.
+     */
+    private <T> T withCart(Long customerId, Function<ActiveCart, T> action) {
+        Objects.requireNonNull(customerId, "Customer ID cannot be null");
+        while (true) {
+            ActiveCart cart = carts.get(customerId);
+            if (cart == null) {
+                ActiveCart loaded = load(customerId);
+                cart = Objects.requireNonNullElse(carts.putIfAbsent(customerId, loaded), loaded);
+            }
+            cart.lock.lock();
+            try {
+                if (!cart.dropped) {
+                    cart.lastUsed = System.nanoTime();
+                    return action.apply(cart);
+                }
+            } finally {
+                cart.lock.unlock();
+            }
+        }
+    }
+
+    private ActiveCart load(Long customerId) {
+        // Checked once per load, the cart of an unknown customer could never be written
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM customers WHERE id = ?)", Boolean.class, customerId))) {
+            throw new ResourceNotFoundException("Customer not found with id: " + customerId);
+        }
+        ActiveCart cart = new ActiveCart(customerId);
+        jdbcTemplate.query(LOAD_ITEMS, (RowCallbackHandler) resultSet -> cart.add(
+            resultSet.getLong(1), resultSet.getInt(2), toCents(resultSet.getDouble(3))), customerId);
+        // The loaded items are already written
+        cart.writtenVersion = cart.version;
+        return cart;
+    }
+
+    private long priceCents(Long productId) {
+        Objects.requireNonNull(productId, "Product ID cannot be null");
+        long now = System.nanoTime();
+        Price price = prices.get(productId);
+        if (price == null || price.isExpired(now, priceMaxAge)) {
+            try {
+                Double value = jdbcTemplate.queryForObject(
+                    "SELECT price FROM products WHERE id = ? AND is_active", Double.class, productId);
+                price = new Price(toCents(Objects.requireNonNull(value)), now);
+            } catch (EmptyResultDataAccessException e) {
+                throw new ResourceNotFoundException("Product not found with id: " + productId);
+            }
+            prices.put(productId, price);
+        }
+        return price.cents();
+    }
+
+    /**
+     * Drop the items of the products deleted or deactivated since they were added from the carts in memory,
+     * with one lookup of the products of all carts. A cart losing items is changed and written with its new total.
+     */
+    private void dropUnavailable() {
+        Set<Long> productIds = new HashSet<>();
+        for (ActiveCart cart : carts.values()) {
+            cart.lock.lock();
+            try {
+                productIds.addAll(cart.lines.keySet());
+            } finally {
+                cart.lock.unlock();
+            }
+        }
+        if (productIds.isEmpty()) {
+            return;
+        }
+        productIds.removeAll(jdbcTemplate.queryForList("SELECT id FROM products WHERE id = ANY(?) AND is_active",
+            Long.class, (Object) productIds.toArray(Long[]::new)));
+        if (productIds.isEmpty()) {
+            return;
+        }
+        productIds.forEach(prices::remove);
+        for (ActiveCart cart : carts.values()) {
+            cart.lock.lock();
+            try {
+                productIds.forEach(productId -> cart.remove(productId, Integer.MAX_VALUE));
+            } finally {
+                cart.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Replace the rows of the carts in one transaction, a failed batch stays changed and is written on the next flush.
+     * @return the number of carts written
+     */
+    private int write(List<CartSnapshot> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> cartRows = new ArrayList<>();
+        List<Object[]> itemRows = new ArrayList<>();
+        for (CartSnapshot snapshot : batch) {
+            cartRows.add(new Object[]{snapshot.cart().customerId, snapshot.totalCents() / 100.0});
+            snapshot.quantities().forEach((productId, quantity) ->
+                itemRows.add(new Object[]{quantity, productId, snapshot.cart().customerId}));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_CART, cartRows);
+                jdbcTemplate.update(DELETE_ITEMS,
+                    (Object) batch.stream().map(snapshot -> snapshot.cart().customerId).toArray(Long[]::new));
+                jdbcTemplate.batchUpdate(INSERT_ITEM, itemRows);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Cannot write {} carts, retrying on the next flush", batch.size(), e);
+            return 0;
+        }
+        batch.forEach(snapshot -> snapshot.cart().written(snapshot.version()));
+        return batch.size();
+    }
+
+    /**
+     * Drop the least recently used written carts above cart.max-carts.
+     */
+    private void trim() {
+        int excess = carts.size() - maxCarts;
+        if (excess <= 0) {
+            return;
+        }
+        // Sort on a copy of the last use, it keeps changing while sorting
+        record LastUse(ActiveCart cart, long at) {
+        }
+        List<LastUse> lastUses = new ArrayList<>(carts.size());
+        carts.values().forEach(cart -> lastUses.add(new LastUse(cart, cart.lastUsed)));
+        lastUses.sort(Comparator.comparingLong(LastUse::at));
+        for (LastUse lastUse : lastUses) {
+            if (excess <= 0) {
+                break;
+            }
+            ActiveCart cart = lastUse.cart();
+            cart.lock.lock();
+            try {
+                if (cart.version == cart.writtenVersion) {
+                    cart.dropped = true;
+                    carts.remove(cart.customerId, cart);
+                    excess--;
+                }
+            } finally {
+                cart.lock.unlock();
+            }
+        }
+    }
+
+    private static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private record Price(long cents, long loadedAt) {
+        boolean isExpired(long now, Duration maxAge) {
+            return now - loadedAt > maxAge.toNanos();
+        }
+    }
+
+    private record Line(int quantity, long unitCents) {
+    }
+
+    private record CartSnapshot(ActiveCart cart, long version, long totalCents, Map<Long, Integer> quantities) {
+    }
+
+    /**
+     * A cart in memory, guarded by its lock (a ReentrantLock rather than synchronized, which pins virtual threads).
+     * Every change increments the version, the cart is written when its version is above the written version.
+     */
+    private static final class ActiveCart {
+        private final Long customerId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Line> lines = new LinkedHashMap<>();
+        private long totalCents;
+        private long version;
+        private long writtenVersion;
+        private volatile long lastUsed = System.nanoTime();
+        private boolean dropped;
+
+        private ActiveCart(Long customerId) {
+            this.customerId = customerId;
+        }
+
+        void add(long productId, int quantity, long unitCents) {
+            Line line = lines.get(productId);
+            int current = line == null ? 0 : line.quantity();
+            if (quantity > MAX_QUANTITY - current) {
+                throw new IllegalArgumentException("Quantity must be at most " + MAX_QUANTITY);
+            }
+            if (line != null) {
+                // The whole line takes the current price
+                totalCents -= current * line.unitCents();
+            }
+            lines.put(productId, new Line(current + quantity, unitCents));
+            totalCents += (current + quantity) * unitCents;
+            version++;
+        }
+
+        void remove(long productId, int quantity) {
+            Line line = lines.get(productId);
+            if (line == null) {
+                return;
+            }
+            int removed = Math.min(quantity, line.quantity());
+            if (removed == line.quantity()) {
+                lines.remove(productId);
+            } else {
+                lines.put(productId, new Line(line.quantity() - removed, line.unitCents()));
+            }
+            totalCents -= removed * line.unitCents();
+            version++;
+        }
+
+        void clear() {
+            if (!lines.isEmpty()) {
+                lines.clear();
+                totalCents = 0;
+                version++;
+            }
+        }
+
+        CartSnapshot snapshotIfChanged() {
+            lock.lock();
+            try {
+                if (version == writtenVersion) {
+                    return null;
+                }
+                Map<Long, Integer> quantities = new LinkedHashMap<>();
+                lines.forEach((productId, line) -> quantities.put(productId, line.quantity()));
+                return new CartSnapshot(this, version, totalCents, quantities);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void written(long writtenVersion) {
+            lock.lock();
+            try {
+                this.writtenVersion = Math.max(this.writtenVersion, writtenVersion);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        CartRes toRes() {
+            List<CartItemRes> items = new ArrayList<>(lines.size());
+            lines.forEach((productId, line) -> items.add(CartItemRes.builder()
+                .productId(productId)
+                .quantity(line.quantity())
+                .unitPrice(line.unitCents() / 100.0)
+                .build()));
+            return CartRes.builder()
+                .customerId(customerId)
+                .items(items)
+                .total(totalCents / 100.0)
+                .build();
+        }
+    }
+}
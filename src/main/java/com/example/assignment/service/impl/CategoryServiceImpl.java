@@ -7,13 +7,17 @@ import com.example.assignment.dto.response.CategoryTreeRes;
 import com.example.assignment.entity.Category;
 import com.example.assignment.mapper.CategoryMapper;
 import com.example.assignment.repository.CategoryRepository;
+import com.example.assignment.repository.EntityVersion;
 import com.example.assignment.service.CategoryService;
-import jakarta.transaction.Transactional;
+import com.example.assignment.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Logging
@@ -22,6 +26,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryMapper categoryMapper;
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryRes> getTopLevelCategories() {
         // Fetch root categories (categories with no parent)
         List<Category> rootCategories = categoryRepository.findCategoriesByParentIsNull();
@@ -88,6 +93,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryRepository.deleteById(categoryId);
     }
     @Override
+    @Transactional(readOnly = true)
     public CategoryRes getCategoryById(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
             .orElseThrow(() -> new IllegalArgumentException("Category not found"));
@@ -102,6 +108,21 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getCategoryVersion(Long categoryId) {
+        return categoryRepository.findVersionById(categoryId)
+            .map(version -> ResourceVersion.of("category-" + categoryId, version.getCount(), version.getLastModified()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoryTreeVersion() {
+        EntityVersion version = categoryRepository.findTreeVersion();
+        return ResourceVersion.of("category-tree", version.getCount(), version.getLastModified());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CategoryTreeRes> getCategoryTreeByParentId(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
             .orElseThrow(() -> new IllegalArgumentException("Category not found"));
@@ -114,6 +135,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryTreeRes> getCategoryTree() {
         // Fetch root categories (categories with no parent)
         List<Category> rootCategories = categoryRepository.findCategoriesByParent_Id(null);
@@ -0,0 +1,184 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.request.CheckoutReq;
+import com.example.assignment.dto.response.CartItemRes;
+import com.example.assignment.dto.response.CartRes;
+import com.example.assignment.dto.response.OrderItemRes;
+import com.example.assignment.dto.response.OrderRes;
+import com.example.assignment.enums.OrderStatus;
+import com.example.assignment.exception.PriceChangedException;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.CartService;
+import com.example.assignment.service.CheckoutService;
+import com.example.assignment.service.InventoryService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The checkout writes with JDBC rather than through Hibernate, which inserts IDENTITY entities one by one:
+ * the stock of every item is reserved with one batch (InventoryService), the order is inserted with a single statement
+ * that also checks the shipping address, and the items with one batch, in one transaction.
+ * The summary of the order for the order history (order_summaries) is written in the same transaction.
+ * <p>
+ * The idempotency key is unique per customer in orders. A retry after the commit finds the order before doing anything,
+ * a concurrent duplicate waits on the unique index for the first checkout to commit and then inserts nothing.
+ */
+@Service
+@Logging
+public class CheckoutServiceImpl implements CheckoutService {
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final String FIND_ORDER = """
+        SELECT id, shipping_address_id, status, total, created_on FROM orders
+        WHERE customer_id = ? AND idempotency_key = ?
+        """;
+    private static final String FIND_ORDER_ITEMS =
+        "SELECT product_id, quantity, unit_price FROM order_items WHERE order_id = ? ORDER BY id";
+    private static final String CATALOG_SNAPSHOT =
+        "SELECT id, price FROM products WHERE id = ANY(?) AND is_active";
+    private static final String INSERT_ORDER = """
+        INSERT INTO orders (customer_id, shipping_address_id, total, status, idempotency_key, created_on, updated_on)
+        SELECT a.customer_id, a.id, ?, ?, ?, ?, ? FROM shipping_addresses a WHERE a.id = ? AND a.customer_id = ?
+        ON CONFLICT (customer_id, idempotency_key) DO NOTHING
+        RETURNING id
+        """;
+    private static final String INSERT_ORDER_ITEM =
+        "INSERT INTO order_items (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ORDER_SUMMARY = """
+        INSERT INTO order_summaries (order_id, customer_id, created_on, status, total, item_count, thumbnail_url)
+        SELECT ?, ?, ?, ?, ?, ?, image_url FROM products WHERE id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryService inventoryService;
+    private final CartService cartService;
+
+    public CheckoutServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               InventoryService inventoryService, CartService cartService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inventoryService = inventoryService;
+        this.cartService = cartService;
+    }
+
+    @Override
+    public OrderRes checkout(Long customerId, String idempotencyKey, CheckoutReq checkoutReq) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Optional<OrderRes> existing = findOrder(customerId, idempotencyKey);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        CartRes cart = cartService.getCart(customerId);
+        if (cart.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+        List<OrderItemRes> items = priceItems(cart.getItems());
+        long totalCents = items.stream().mapToLong(item -> toCents(item.getUnitPrice()) * item.getQuantity()).sum();
+        double total = totalCents / 100.0;
+        if (toCents(checkoutReq.getExpectedTotal()) != totalCents) {
+            throw new PriceChangedException(checkoutReq.getExpectedTotal(), total);
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Long orderId = transactionTemplate.execute(status -> {
+            List<Long> inserted = jdbcTemplate.queryForList(INSERT_ORDER, Long.class, total, OrderStatus.PLACED.name(),
+                idempotencyKey, now, now, checkoutReq.getShippingAddressId(), customerId);
+            if (inserted.isEmpty()) {
+                return null;
+            }
+            Map<Long, Integer> quantities = new HashMap<>();
+            List<Object[]> rows = new ArrayList<>();
+            for (OrderItemRes item : items) {
+                quantities.put(item.getProductId(), item.getQuantity());
+                rows.add(new Object[]{inserted.get(0), item.getProductId(), item.getQuantity(), item.getUnitPrice()});
+            }
+            inventoryService.reserve(quantities);
+            jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, rows);
+            jdbcTemplate.update(INSERT_ORDER_SUMMARY, inserted.get(0), customerId, now, OrderStatus.PLACED.name(), total,
+                items.stream().mapToInt(OrderItemRes::getQuantity).sum(), items.get(0).getProductId());
+            return inserted.get(0);
+        });
+        if (orderId == null) {
+            // Either a concurrent checkout with the same key committed first, or the address is not the customer's
+            return findOrder(customerId, idempotencyKey).orElseThrow(() ->
+                new ResourceNotFoundException("Shipping address not found with id: " + checkoutReq.getShippingAddressId()));
+        }
+
+        // Units added to the cart during the checkout stay in it
+        items.forEach(item -> cartService.removeItem(customerId, item.getProductId(), item.getQuantity()));
+        return OrderRes.builder()
+            .id(orderId)
+            .customerId(customerId)
+            .shippingAddressId(checkoutReq.getShippingAddressId())
+            .status(OrderStatus.PLACED)
+            .total(total)
+            .createdOn(now)
+            .items(items)
+            .build();
+    }
+
+    /**
+     * Price the cart items against a snapshot of the catalog read in one query.
+     */
+    private List<OrderItemRes> priceItems(List<CartItemRes> cartItems) {
+        Map<Long, Double> prices = new HashMap<>();
+        jdbcTemplate.query(CATALOG_SNAPSHOT, (RowCallbackHandler) resultSet -> prices.put(resultSet.getLong(1), resultSet.getDouble(2)),
+            (Object) cartItems.stream().map(CartItemRes::getProductId).toArray(Long[]::new));
+        List<OrderItemRes> items = new ArrayList<>(cartItems.size());
+        for (CartItemRes cartItem : cartItems) {
+            Double price = prices.get(cartItem.getProductId());
+            if (price == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + cartItem.getProductId());
+            }
+            items.add(OrderItemRes.builder()
+                .productId(cartItem.getProductId())
+                .quantity(cartItem.getQuantity())
+                .unitPrice(price)
+                .build());
+        }
+        return items;
+    }
+
+    private Optional<OrderRes> findOrder(Long customerId, String idempotencyKey) {
+        Map<String, Object> order = jdbcTemplate.queryForList(FIND_ORDER, customerId, idempotencyKey).stream()
+            .findFirst().orElse(null);
+        if (order == null) {
+            return Optional.empty();
+        }
+        Long orderId = ((Number) order.get("id")).longValue();
+        List<OrderItemRes> items = jdbcTemplate.query(FIND_ORDER_ITEMS, (resultSet, rowNum) -> OrderItemRes.builder()
+            .productId(resultSet.getLong(1))
+            .quantity(resultSet.getInt(2))
+            .unitPrice(resultSet.getDouble(3))
+            .build(), orderId);
+        return Optional.of(OrderRes.builder()
+            .id(orderId)
+            .customerId(customerId)
+            .shippingAddressId(((Number) order.get("shipping_address_id")).longValue())
+            .status(OrderStatus.fromValue((String) order.get("status")))
+            .total(((Number) order.get("total")).doubleValue())
+            .createdOn((Timestamp) order.get("created_on"))
+            .items(items)
+            .replayed(true)
+            .build());
+    }
+
+    private static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+}
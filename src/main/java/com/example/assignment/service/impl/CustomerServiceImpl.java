@@ -10,6 +10,7 @@ import com.example.assignment.repository.BaseRepository;
 import com.example.assignment.repository.CustomerRepository;
 import com.example.assignment.service.CustomerService;
 import com.example.assignment.specification.CustomerSpecification;
+import com.example.assignment.util.FetchPlan;
 import com.example.assignment.util.SpecificationBuilder;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
 import java.util.function.Function;
 
 
@@ -28,6 +30,11 @@ public class CustomerServiceImpl extends PagingServiceImpl<UserRes, Customer, Lo
     private final CustomerRepository customerRepository;
     private final UserMapper userMapper;
 
+    /**
+     * A customer page maps the profile of every customer.
+     */
+    private static final FetchPlan CUSTOMER_PAGE = FetchPlan.graph("userProfile");
+
     @Override
     protected BaseRepository<Customer, Long> getRepository() {
         return customerRepository;
@@ -50,7 +57,7 @@ public class CustomerServiceImpl extends PagingServiceImpl<UserRes, Customer, Lo
             () -> new UsernameNotFoundException("Customer not found")
         );
         // Uppercase the memberTier to match the enum values
-        customer.setMemberTier(MemberTier.valueOf(memberTier.toUpperCase()));
+        customer.setMemberTier(MemberTier.valueOf(memberTier.toUpperCase(Locale.ROOT)));
         customerRepository.save(customer);
     }
 
@@ -58,12 +65,12 @@ public class CustomerServiceImpl extends PagingServiceImpl<UserRes, Customer, Lo
     public PagingRes<UserRes> getCustomersByTier(String memberTier, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
         try {
             // Must be in uppercase to match the enum values
-            MemberTier tier = MemberTier.valueOf(memberTier.toUpperCase());
+            MemberTier tier = MemberTier.valueOf(memberTier.toUpperCase(Locale.ROOT));
             // Create a specification to filter customers by member tier
             Specification<Customer> spec = new SpecificationBuilder<Customer>()
                 .addIfNotNull(tier, CustomerSpecification::hasMemberTier)
                 .build();
-            return getMany(spec, pageNo, pageSize, sortDir, sortBy);
+            return getMany(spec, CUSTOMER_PAGE, pageNo, pageSize, sortDir, sortBy);
         } catch (Exception e) {
             throw new UsernameNotFoundException("No customers found");
         }
@@ -71,12 +78,14 @@ public class CustomerServiceImpl extends PagingServiceImpl<UserRes, Customer, Lo
 
     @Override
     public PagingRes<UserRes> getCustomers(String name, String memberTier, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
-        try {
-            return getMany(null, pageNo, pageSize, sortDir, sortBy);
-        } catch (Exception e) {
-            throw new UsernameNotFoundException("No customers found");
-        }
+        String text = name == null || name.isBlank() ? null : name;
+        // Must be in uppercase to match the enum values, an unknown tier is refused
+        MemberTier tier = memberTier == null || memberTier.isBlank()
+            ? null : MemberTier.valueOf(memberTier.toUpperCase(Locale.ROOT));
+        Specification<Customer> spec = new SpecificationBuilder<Customer>()
+            .addIfNotNull(text, CustomerSpecification::matches)
+            .addIfNotNull(tier, CustomerSpecification::hasMemberTier)
+            .build();
+        return getMany(spec, CUSTOMER_PAGE, pageNo, pageSize, sortDir, sortBy);
     }
-
-
 }
@@ -0,0 +1,109 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.dto.response.RatingExportRes;
+import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.entity.Customer;
+import com.example.assignment.entity.Product;
+import com.example.assignment.enums.DataFormat;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.mapper.UserMapper;
+import com.example.assignment.repository.CustomerRepository;
+import com.example.assignment.repository.ProductRepository;
+import com.example.assignment.repository.RatingRepository;
+import com.example.assignment.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Logging
+public class ExportServiceImpl implements ExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final RatingRepository ratingRepository;
+    private final ProductMapper productMapper;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+        // Columns in field declaration order, like the JSON properties
+        .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(DataFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<Product> products = productRepository.streamAllByOrderById()) {
+            write(products.map(product -> {
+                ProductRes row = productMapper.toDto(product);
+                // Written rows are dropped from the persistence context to keep it flat
+                entityManager.detach(product);
+                return row;
+            }), ProductRes.class, format, outputStream);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCustomers(DataFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<Customer> customers = customerRepository.streamAllByOrderById()) {
+            write(customers.map(customer -> {
+                UserRes row = userMapper.toDto(customer);
+                entityManager.detach(customer);
+                return row;
+            }), UserRes.class, format, outputStream);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportRatings(DataFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<RatingExportRes> ratings = ratingRepository.streamExportRows()) {
+            write(ratings, RatingExportRes.class, format, outputStream);
+        }
+    }
+
+    /**
+     * Write the rows as NDJSON (one JSON object per line) or as CSV with a header line.
+     */
+    private <T> void write(Stream<T> rows, Class<T> type, DataFormat format, OutputStream outputStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        ObjectWriter writer = format == DataFormat.CSV
+            ? csvMapper.writer(csvMapper.schemaFor(type).withHeader())
+            : objectMapper.writerFor(type).withRootValueSeparator("\n");
+        boolean empty = true;
+        try (SequenceWriter sequenceWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out)) {
+            for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+                sequenceWriter.write(iterator.next());
+                empty = false;
+            }
+        }
+        if (format == DataFormat.NDJSON && !empty) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.dto.request.FeatureWindowReq;
+import com.example.assignment.dto.response.FeatureWindowRes;
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.entity.Product;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.repository.ProductRepository;
+import com.example.assignment.service.FeaturedProductService;
+import com.example.assignment.service.ResponseCacheService;
+import com.example.assignment.util.TimerWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The windows of feature_products are loaded once on startup into a hierarchical timer wheel holding the start and
+ * end of every upcoming window, so nothing polls the table: new windows are added to the wheel when they are
+ * scheduled. A single ticker thread owns the wheel, other threads hand their timers over through a lock-free queue.
+ * When timers expire, the featured flag of their products is set from their window as stored at that time, so the
+ * timers of a replaced or removed window change nothing.
+ * <p>
+ * The featured products are served from an immutable snapshot published through a volatile field, ordered by window
+ * priority (products featured by hand, without a window, come last) then by rating. The ticker rebuilds it after
+ * flipping products, other changes mark it stale and the next reader rebuilds it while the others keep reading
+ * the previous one.
+ * <p>
+ * The operations are not logged by the LoggingAspect, the snapshot is read on every home page request.
+ */
+@Slf4j
+@Service
+public class FeaturedProductServiceImpl implements FeaturedProductService, SmartLifecycle {
+    /**
+     * Sets the featured flag of products from their window at the given time, for the given products or all of them.
+     */
+    private static final String SYNC_FEATURED = """
+        UPDATE products p SET is_featured = w.active, updated_on = ?
+        FROM (SELECT id, (start_date IS NULL OR start_date <= ?) AND (end_date IS NULL OR end_date > ?) AS active
+              FROM feature_products WHERE ?::bigint[] IS NULL OR id = ANY(?::bigint[])) w
+        WHERE p.id = w.id AND p.is_featured <> w.active
+        """;
+    private static final String UPCOMING_EDGES = """
+        SELECT id, start_date, end_date FROM feature_products WHERE start_date > ? OR end_date > ?
+        """;
+    private static final String UPSERT_WINDOW = """
+        INSERT INTO feature_products (id, start_date, end_date, priority) SELECT id, ?, ?, ? FROM products WHERE id = ?
+        ON CONFLICT (id) DO UPDATE SET start_date = excluded.start_date, end_date = excluded.end_date,
+                                       priority = excluded.priority
+        """;
+    private static final String FEATURED = "SELECT is_featured FROM products WHERE id = ?";
+    private static final String DELETE_WINDOW = "DELETE FROM feature_products WHERE id = ?";
+    private static final String UNFEATURE = "UPDATE products SET is_featured = false, updated_on = ? WHERE id = ? AND is_featured";
+    private static final String SNAPSHOT_IDS = """
+        SELECT p.id FROM products p LEFT JOIN feature_products f ON f.id = p.id
+        WHERE p.is_featured AND p.is_active
+        ORDER BY CASE f.priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'LOW' THEN 2 ELSE 3 END,
+                 p.average_rating DESC, p.id
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ResponseCacheService responseCacheService;
+    /**
+     * Timers scheduled by other threads, moved into the wheel by the ticker.
+     */
+    private final Queue<Edge> scheduled = new ConcurrentLinkedQueue<>();
+    /**
+     * Incremented on every change of the featured products, a snapshot of an older generation is stale.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+    private ScheduledExecutorService ticker;
+    private TimerWheel<Long> wheel;
+
+    @Value("${featured.tick:1s}")
+    private Duration tick;
+
+    @Value("${featured.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${featured.wheel-levels:4}")
+    private int wheelLevels;
+
+    @Value("${featured.limit:50}")
+    private int limit;
+
+    /**
+     * The start or end of a window.
+     */
+    private record Edge(long productId, long atMillis) {
+    }
+
+    private record Snapshot(long generation, List<ProductRes> products) {
+    }
+
+    public FeaturedProductServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                      ProductRepository productRepository, ProductMapper productMapper,
+                                      ResponseCacheService responseCacheService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.responseCacheService = responseCacheService;
+    }
+
+    @Override
+    public List<ProductRes> getFeaturedProducts() {
+        Snapshot current = snapshot;
+        if (current.generation() == generation.get() || !rebuilding.compareAndSet(false, true)) {
+            return current.products();
+        }
+        try {
+            return rebuild().products();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Override
+    public FeatureWindowRes scheduleFeature(Long productId, FeatureWindowReq featureWindowReq) {
+        long start = featureWindowReq.getStartDate().getTime();
+        Long end = featureWindowReq.getEndDate() == null ? null : featureWindowReq.getEndDate().getTime();
+        if (end != null && end <= start) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        Boolean featured = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(UPSERT_WINDOW, new Timestamp(start), end == null ? null : new Timestamp(end),
+                featureWindowReq.getPriority().name(), productId) == 0) {
+                throw new ResourceNotFoundException("Product not found with id: " + productId);
+            }
+            sync(new Long[]{productId}, System.currentTimeMillis());
+            return jdbcTemplate.queryForObject(FEATURED, Boolean.class, productId);
+        });
+        // The timers of the previous window, if any, are left to expire and find nothing to change
+        long now = System.currentTimeMillis();
+        if (start > now) {
+            scheduled.add(new Edge(productId, start));
+        }
+        if (end != null && end > now) {
+            scheduled.add(new Edge(productId, end));
+        }
+        changed();
+        return FeatureWindowRes.builder()
+            .productId(productId)
+            .startDate(featureWindowReq.getStartDate())
+            .endDate(featureWindowReq.getEndDate())
+            .priority(featureWindowReq.getPriority())
+            .featured(Boolean.TRUE.equals(featured))
+            .build();
+    }
+
+    @Override
+    public void removeFeature(Long productId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(DELETE_WINDOW, productId) == 0) {
+                throw new ResourceNotFoundException("Feature window not found for product id: " + productId);
+            }
+            jdbcTemplate.update(UNFEATURE, new Timestamp(System.currentTimeMillis()), productId);
+        });
+        changed();
+    }
+
+    @Override
+    public void refresh() {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+
+    /**
+     * Apply the windows missed while stopped, load the upcoming edges into the wheel and start ticking.
+     */
+    @Override
+    public void start() {
+        long now = System.currentTimeMillis();
+        int missed = sync(null, now);
+        wheel = new TimerWheel<>(tick, wheelSize, wheelLevels, now);
+        jdbcTemplate.query(UPCOMING_EDGES, (RowCallbackHandler) resultSet -> {
+            long productId = resultSet.getLong("id");
+            Timestamp start = resultSet.getTimestamp("start_date");
+            Timestamp end = resultSet.getTimestamp("end_date");
+            if (start != null && start.getTime() > now) {
+                wheel.schedule(productId, start.getTime());
+            }
+            if (end != null && end.getTime() > now) {
+                wheel.schedule(productId, end.getTime());
+            }
+        }, new Timestamp(now), new Timestamp(now));
+        log.info("Loaded {} featured product window edges, {} products flipped while stopped", wheel.size(), missed);
+        scheduled.clear();
+        changed();
+
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("featured-ticker").daemon().factory());
+        // A task that throws is not run again
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                tick(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("Cannot apply the featured product windows", e);
+            }
+        }, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.shutdown();
+        try {
+            if (!ticker.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("The featured product ticker did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ticker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Advance the wheel and flip the products whose window started or ended, then publish a new snapshot.
+     * Runs on the ticker thread only.
+     */
+    private void tick(long nowMillis) {
+        Edge edge;
+        while ((edge = scheduled.poll()) != null) {
+            wheel.schedule(edge.productId(), edge.atMillis());
+        }
+        List<Long> due = wheel.advance(nowMillis);
+        if (due.isEmpty()) {
+            return;
+        }
+        int flipped = sync(due.stream().distinct().toArray(Long[]::new), nowMillis);
+        log.debug("{} featured product window edges reached, {} products flipped", due.size(), flipped);
+        if (flipped > 0) {
+            changed();
+            // Rebuilt here so the readers do not wait for it, unless one of them already is
+            if (rebuilding.compareAndSet(false, true)) {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param productIds the products to update, or null for all products with a window
+     * @return the number of flipped products
+     */
+    private int sync(Long[] productIds, long nowMillis) {
+        Timestamp now = new Timestamp(nowMillis);
+        return jdbcTemplate.update(SYNC_FEATURED, now, now, now, productIds, productIds);
+    }
+
+    private void changed() {
+        refresh();
+        responseCacheService.evict(ResponseCacheService.FEATURED_PRODUCTS);
+    }
+
+    /**
+     * Load the featured products and publish them, unless they changed again meanwhile. Called by one thread at a time.
+     */
+    private Snapshot rebuild() {
+        long building = generation.get();
+        List<Long> ids = jdbcTemplate.queryForList(SNAPSHOT_IDS, Long.class, limit);
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductRes> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                ordered.add(productMapper.toDto(product));
+            }
+        }
+        Snapshot built = new Snapshot(building, List.copyOf(ordered));
+        snapshot = built;
+        return built;
+    }
+}
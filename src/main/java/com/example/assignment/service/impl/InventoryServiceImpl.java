@@ -0,0 +1,242 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.exception.OutOfStockException;
+import com.example.assignment.service.InventoryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reserves and releases stock with conditional updates, see InventoryService.
+ * The operations are not logged by the LoggingAspect, they run on every reservation of the hottest products.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+    private static final String RESERVE =
+        "UPDATE products SET quantity = quantity - ? WHERE id = ? AND quantity >= ?";
+    private static final String RESERVE_SLOT =
+        "UPDATE inventory_slots SET quantity = quantity - ? WHERE product_id = ? AND slot = ? AND quantity >= ?";
+    private static final String RESERVE_UNLOCKED = """
+        UPDATE products SET quantity = quantity - ?
+        WHERE id = (SELECT id FROM products WHERE id = ? AND quantity >= ? FOR UPDATE SKIP LOCKED)
+        """;
+    /**
+     * Slots are tried from the start slot, (slot + slots - start) % slots is 0 for the start slot.
+     */
+    private static final String RESERVE_UNLOCKED_SLOT = """
+        UPDATE inventory_slots SET quantity = quantity - ?
+        WHERE id = (SELECT id FROM inventory_slots WHERE product_id = ? AND quantity >= ?
+                    ORDER BY (slot + ?) % ? LIMIT 1 FOR UPDATE SKIP LOCKED)
+        """;
+    private static final String RELEASE =
+        "UPDATE products SET quantity = quantity + ? WHERE id = ?";
+    private static final String RELEASE_SLOT =
+        "UPDATE inventory_slots SET quantity = quantity + ? WHERE product_id = ? AND slot = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.max-slots:16}")
+    private int maxSlots;
+
+    public InventoryServiceImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    @Transactional
+    public void reserve(Map<Long, Integer> quantities) {
+        TreeMap<Long, Integer> items = validate(quantities);
+        Map<Long, Integer> slotCounts = slotCounts(items);
+
+        // Products that are not split are reserved with one batch, in id order
+        List<Long> productIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        items.forEach((productId, quantity) -> {
+            if (!slotCounts.containsKey(productId)) {
+                productIds.add(productId);
+                batch.add(new Object[]{quantity, productId, quantity});
+            }
+        });
+        List<Long> outOfStock = new ArrayList<>();
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE, batch);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                outOfStock.add(productIds.get(i));
+            }
+        }
+        slotCounts.forEach((productId, slots) -> {
+            if (outOfStock.isEmpty() && !reserveFromSlots(productId, items.get(productId), slots)) {
+                outOfStock.add(productId);
+            }
+        });
+        if (!outOfStock.isEmpty()) {
+            // The transaction is rolled back, the units taken from the other products are given back
+            throw new OutOfStockException(outOfStock);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantities) {
+        TreeMap<Long, Integer> items = validate(quantities);
+        Map<Long, Integer> slotCounts = slotCounts(items);
+        List<Object[]> batch = new ArrayList<>();
+        List<Object[]> slotBatch = new ArrayList<>();
+        items.forEach((productId, quantity) -> {
+            int slot = ThreadLocalRandom.current().nextInt(slotCounts.getOrDefault(productId, 1));
+            if (slot == 0) {
+                batch.add(new Object[]{quantity, productId});
+            } else {
+                slotBatch.add(new Object[]{quantity, productId, slot});
+            }
+        });
+        jdbcTemplate.batchUpdate(RELEASE, batch);
+        // The slot counts are read without a lock, a concurrent split or restock may have removed the chosen slot:
+        // the units are then given back to slot 0, the product row, which always exists
+        int[] released = jdbcTemplate.batchUpdate(RELEASE_SLOT, slotBatch);
+        List<Object[]> fallback = new ArrayList<>();
+        for (int i = 0; i < released.length; i++) {
+            if (released[i] == 0) {
+                fallback.add(new Object[]{slotBatch.get(i)[0], slotBatch.get(i)[1]});
+            }
+        }
+        jdbcTemplate.batchUpdate(RELEASE, fallback);
+    }
+
+    @Override
+    public int getAvailableQuantity(Long productId) {
+        try {
+            Integer quantity = jdbcTemplate.queryForObject("""
+                SELECT p.quantity + coalesce((SELECT sum(s.quantity) FROM inventory_slots s WHERE s.product_id = p.id), 0)
+                FROM products p WHERE p.id = ?
+                """, Integer.class, productId);
+            return quantity == null ? 0 : quantity;
+        } catch (EmptyResultDataAccessException e) {
+            throw new IllegalArgumentException("Product not found");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void splitStock(Long productId, int slots) {
+        if (slots < 1 || slots > maxSlots) {
+            throw new IllegalArgumentException("Slots must be between 1 and " + maxSlots);
+        }
+        int total = lockStock(productId).stream().mapToInt(Integer::intValue).sum();
+        distribute(productId, total, slots);
+    }
+
+    @Override
+    @Transactional
+    public void restock(Long productId, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Product quantity cannot be negative");
+        }
+        distribute(productId, quantity, lockStock(productId).size());
+    }
+
+    private static TreeMap<Long, Integer> validate(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            if (productId == null || quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than 0");
+            }
+        });
+        return new TreeMap<>(quantities);
+    }
+
+    /**
+     * @return the number of slots of the split products, products that are not split are missing
+     */
+    private Map<Long, Integer> slotCounts(TreeMap<Long, Integer> items) {
+        Map<Long, Integer> slotCounts = new TreeMap<>();
+        if (items.isEmpty()) {
+            return slotCounts;
+        }
+        jdbcTemplate.query("SELECT product_id, count(*) FROM inventory_slots WHERE product_id = ANY(?) GROUP BY product_id",
+            (RowCallbackHandler) resultSet -> slotCounts.put(resultSet.getLong(1), resultSet.getInt(2) + 1),
+            (Object) items.keySet().toArray(Long[]::new));
+        return slotCounts;
+    }
+
+    /**
+     * Take the units from a single slot, starting at a random one, or across all slots when none holds enough.
+     * Slots locked by other reservations are skipped rather than waited for: waiting conditional updates keep
+     * their row lock even when the stock turns out to be too low, two reservations trying slots in different
+     * orders would then deadlock.
+     */
+    private boolean reserveFromSlots(long productId, int quantity, int slots) {
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        boolean reserved = start == 0
+            ? takeFromProduct(productId, quantity) || takeFromAnySlot(productId, quantity, start, slots)
+            : takeFromAnySlot(productId, quantity, start, slots) || takeFromProduct(productId, quantity);
+        return reserved || reserveAcrossSlots(productId, quantity);
+    }
+
+    private boolean takeFromProduct(long productId, int quantity) {
+        return jdbcTemplate.update(RESERVE_UNLOCKED, quantity, productId, quantity) == 1;
+    }
+
+    private boolean takeFromAnySlot(long productId, int quantity, int start, int slots) {
+        return jdbcTemplate.update(RESERVE_UNLOCKED_SLOT, quantity, productId, quantity, slots - start, slots) == 1;
+    }
+
+    private boolean reserveAcrossSlots(long productId, int quantity) {
+        List<Integer> stock = lockStock(productId);
+        if (stock.stream().mapToInt(Integer::intValue).sum() < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (int slot = 0; slot < stock.size() && remaining > 0; slot++) {
+            int taken = Math.min(stock.get(slot), remaining);
+            if (taken > 0) {
+                if (slot == 0) {
+                    jdbcTemplate.update(RESERVE, taken, productId, taken);
+                } else {
+                    jdbcTemplate.update(RESERVE_SLOT, taken, productId, slot, taken);
+                }
+                remaining -= taken;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lock the product row then its slots in slot order, the order the reservations update them.
+     * @return the stock of each slot, slot 0 first
+     */
+    private List<Integer> lockStock(long productId) {
+        List<Integer> stock = new ArrayList<>();
+        try {
+            stock.add(jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ? FOR UPDATE", Integer.class, productId));
+        } catch (EmptyResultDataAccessException e) {
+            throw new IllegalArgumentException("Product not found");
+        }
+        stock.addAll(jdbcTemplate.queryForList(
+            "SELECT quantity FROM inventory_slots WHERE product_id = ? ORDER BY slot FOR UPDATE", Integer.class, productId));
+        return stock;
+    }
+
+    /**
+     * Replace the slots of a locked product, slot 0 gets the remainder of the even split.
+     */
+    private void distribute(long productId, int total, int slots) {
+        int share = total / slots;
+        jdbcTemplate.update("DELETE FROM inventory_slots WHERE product_id = ?", productId);
+        jdbcTemplate.update("UPDATE products SET quantity = ? WHERE id = ?", total - share * (slots - 1), productId);
+        List<Object[]> rows = new ArrayList<>();
+        for (int slot = 1; slot < slots; slot++) {
+            rows.add(new Object[]{productId, slot, share});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_slots (product_id, slot, quantity) VALUES (?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.response.MemberTierRunRes;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.MemberTierService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tiers are recalculated with JDBC, one statement per chunk of customer ids: it aggregates the order totals and
+ * the ratings of the chunk over the window, updates only the customers whose tier changed and records the chunk
+ * as completed, atomically. The chunks run on a pool of workers, in any order, and a run interrupted by a shutdown
+ * or a failure resumes with the chunks it has not recorded.
+ * <p>
+ * A run is due every member-tier.interval after the start of the previous one, an unfinished run resumes on startup.
+ */
+@Slf4j
+@Service
+@Logging
+public class MemberTierServiceImpl implements MemberTierService, SmartLifecycle {
+    private static final String CUSTOMER_RANGE = "SELECT min(id) AS first, max(id) AS last FROM customers";
+    private static final String INSERT_RUN = """
+        INSERT INTO member_tier_runs (as_of, first_customer_id, last_customer_id, chunk_size, started_on)
+        VALUES (?, ?, ?, ?, ?) RETURNING id
+        """;
+    private static final String UNFINISHED_RUN = """
+        SELECT id, as_of, first_customer_id, last_customer_id, chunk_size FROM member_tier_runs
+        WHERE finished_on IS NULL ORDER BY id DESC LIMIT 1
+        """;
+    private static final String LATEST_RUN_ID = "SELECT max(id) FROM member_tier_runs";
+    private static final String LATEST_RUN_START = "SELECT max(started_on) FROM member_tier_runs";
+    private static final String COMPLETED_CHUNKS = "SELECT first_customer_id FROM member_tier_run_chunks WHERE run_id = ?";
+    private static final String FINISH_RUN = "UPDATE member_tier_runs SET finished_on = ? WHERE id = ?";
+    private static final String RUN_PROGRESS = """
+        SELECT r.id, r.as_of, r.started_on, r.finished_on, r.first_customer_id, r.last_customer_id, r.chunk_size,
+               count(c.id) AS completed_chunks, coalesce(sum(c.customers), 0) AS customers,
+               coalesce(sum(c.changed), 0) AS changed
+        FROM member_tier_runs r LEFT JOIN member_tier_run_chunks c ON c.run_id = r.id
+        WHERE r.id = ? GROUP BY r.id
+        """;
+    /**
+     * Customers without orders or ratings in the window fall back to COMMON.
+     */
+    private static final String RECALCULATE_CHUNK = """
+        WITH spend AS (
+            SELECT customer_id, sum(total) AS total FROM orders
+            WHERE customer_id BETWEEN ? AND ? AND created_on >= ? AND created_on < ?
+            GROUP BY customer_id
+        ), activity AS (
+            SELECT customer_id, count(*) AS ratings FROM ratings
+            WHERE customer_id BETWEEN ? AND ? AND created_on >= ? AND created_on < ?
+            GROUP BY customer_id
+        ), computed AS (
+            SELECT c.id, CASE
+                WHEN coalesce(s.total, 0) >= ? THEN 'VIP'
+                WHEN coalesce(s.total, 0) >= ? OR coalesce(a.ratings, 0) >= ? THEN 'PREMIUM'
+                ELSE 'COMMON' END AS member_tier
+            FROM customers c
+            LEFT JOIN spend s ON s.customer_id = c.id
+            LEFT JOIN activity a ON a.customer_id = c.id
+            WHERE c.id BETWEEN ? AND ?
+        ), updated AS (
+            UPDATE customers c SET member_tier = computed.member_tier FROM computed
+            WHERE c.id = computed.id AND c.member_tier IS DISTINCT FROM computed.member_tier
+            RETURNING c.id
+        )
+        INSERT INTO member_tier_run_chunks (run_id, first_customer_id, customers, changed, completed_on)
+        SELECT ?, ?, (SELECT count(*) FROM computed), (SELECT count(*) FROM updated), ?
+        RETURNING customers, changed
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter customersCounter;
+    private final Counter changedCounter;
+    private final Timer chunkTimer;
+    /**
+     * Set while a run executes, whether it was scheduled or requested.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger runCompletedChunks = new AtomicInteger();
+    private volatile int runChunks;
+    private volatile boolean stopping;
+    private ScheduledExecutorService scheduler;
+
+    @Value("${member-tier.interval:24h}")
+    private Duration interval;
+
+    @Value("${member-tier.window:365d}")
+    private Duration window;
+
+    @Value("${member-tier.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${member-tier.workers:4}")
+    private int workers;
+
+    @Value("${member-tier.premium-spend:1000}")
+    private double premiumSpend;
+
+    @Value("${member-tier.vip-spend:5000}")
+    private double vipSpend;
+
+    @Value("${member-tier.premium-ratings:10}")
+    private int premiumRatings;
+
+    /**
+     * A run planned over a fixed range of customer ids and a fixed window.
+     */
+    private record Run(long id, Timestamp asOf, long firstCustomerId, long lastCustomerId, int chunkSize) {
+        int chunks() {
+            return lastCustomerId < firstCustomerId ? 0 : (int) ((lastCustomerId - firstCustomerId) / chunkSize + 1);
+        }
+    }
+
+    public MemberTierServiceImpl(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.customersCounter = Counter.builder("member.tier.recalculation.customers")
+            .description("Customers whose member tier was recalculated")
+            .register(meterRegistry);
+        this.changedCounter = Counter.builder("member.tier.recalculation.changed")
+            .description("Customers whose member tier changed")
+            .register(meterRegistry);
+        this.chunkTimer = Timer.builder("member.tier.recalculation.chunk")
+            .description("Recalculation of the member tiers of one chunk of customers")
+            .register(meterRegistry);
+        Gauge.builder("member.tier.recalculation.progress", this, MemberTierServiceImpl::progress)
+            .description("Completed share of the chunks of the current member tier recalculation")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public MemberTierRunRes recalculate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A member tier recalculation is already in progress");
+        }
+        try {
+            Run run = prepareRun();
+            execute(run);
+            return getRun(run.id());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public MemberTierRunRes startRecalculation() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            throw new IllegalStateException("The member tier recalculation is stopped");
+        }
+        if (running.compareAndSet(false, true)) {
+            try {
+                Run run = prepareRun();
+                executor.execute(() -> executeQuietly(run));
+            } catch (RuntimeException e) {
+                running.set(false);
+                throw e;
+            }
+        }
+        return getLatestRun();
+    }
+
+    @Override
+    public MemberTierRunRes getLatestRun() {
+        Long runId = jdbcTemplate.queryForObject(LATEST_RUN_ID, Long.class);
+        if (runId == null) {
+            throw new ResourceNotFoundException("No member tier recalculation found");
+        }
+        return getRun(runId);
+    }
+
+    @Override
+    public void start() {
+        stopping = false;
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("member-tier").daemon().factory());
+        scheduler.scheduleAtFixedRate(() -> {
+            if (running.compareAndSet(false, true)) {
+                try {
+                    executeQuietly(prepareRun());
+                } catch (RuntimeException e) {
+                    running.set(false);
+                    log.warn("Cannot start the member tier recalculation", e);
+                }
+            }
+        }, initialDelay().toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        // The workers finish their current chunk, the run resumes with the others on the next start
+        stopping = true;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("The member tier recalculation did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Resume the unfinished run at once, otherwise wait for the next run to be due.
+     */
+    private Duration initialDelay() {
+        if (!jdbcTemplate.queryForList(UNFINISHED_RUN).isEmpty()) {
+            return Duration.ZERO;
+        }
+        Timestamp lastStart = jdbcTemplate.queryForObject(LATEST_RUN_START, Timestamp.class);
+        if (lastStart == null) {
+            return interval;
+        }
+        Duration sinceLastStart = Duration.ofMillis(System.currentTimeMillis() - lastStart.getTime());
+        return sinceLastStart.compareTo(interval) >= 0 ? Duration.ZERO : interval.minus(sinceLastStart);
+    }
+
+    /**
+     * @return the unfinished run, or a new run over the current customers
+     */
+    private Run prepareRun() {
+        List<Map<String, Object>> unfinished = jdbcTemplate.queryForList(UNFINISHED_RUN);
+        if (!unfinished.isEmpty()) {
+            Map<String, Object> run = unfinished.get(0);
+            return new Run(((Number) run.get("id")).longValue(), (Timestamp) run.get("as_of"),
+                ((Number) run.get("first_customer_id")).longValue(), ((Number) run.get("last_customer_id")).longValue(),
+                ((Number) run.get("chunk_size")).intValue());
+        }
+        Map<String, Object> range = jdbcTemplate.queryForMap(CUSTOMER_RANGE);
+        long first = range.get("first") == null ? 1 : ((Number) range.get("first")).longValue();
+        long last = range.get("last") == null ? 0 : ((Number) range.get("last")).longValue();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Long runId = jdbcTemplate.queryForObject(INSERT_RUN, Long.class, now, first, last, chunkSize, now);
+        return new Run(runId == null ? 0 : runId, now, first, last, chunkSize);
+    }
+
+    private void executeQuietly(Run run) {
+        try {
+            execute(run);
+        } catch (RuntimeException e) {
+            log.warn("Member tier recalculation {} failed, it resumes on the next run", run.id(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Recalculate the chunks of the run it has not recorded yet, and mark it finished once they all are.
+     */
+    private void execute(Run run) {
+        Set<Long> completed = new HashSet<>(jdbcTemplate.queryForList(COMPLETED_CHUNKS, Long.class, run.id()));
+        List<Long> pending = new ArrayList<>();
+        for (int chunk = 0; chunk < run.chunks(); chunk++) {
+            long first = run.firstCustomerId() + (long) chunk * run.chunkSize();
+            if (!completed.contains(first)) {
+                pending.add(first);
+            }
+        }
+        runChunks = run.chunks();
+        runCompletedChunks.set(run.chunks() - pending.size());
+        log.info("Recalculating the member tiers of customers {} to {} in {} chunks, {} already completed",
+            run.firstCustomerId(), run.lastCustomerId(), run.chunks(), run.chunks() - pending.size());
+
+        long start = System.nanoTime();
+        long[] totals = new long[2];
+        ExecutorService workerPool = Executors.newFixedThreadPool(workers,
+            Thread.ofPlatform().name("member-tier-worker-", 0).factory());
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (long first : pending) {
+                futures.add(workerPool.submit(() -> stopping ? new long[2] : recalculateChunk(run, first)));
+            }
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                totals[0] += counts[0];
+                totals[1] += counts[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Member tier recalculation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot recalculate the member tiers of a chunk", e.getCause());
+        } finally {
+            workerPool.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (stopping) {
+            log.info("Member tier recalculation {} stopped after {} customers, it resumes on the next start", run.id(), totals[0]);
+            return;
+        }
+        jdbcTemplate.update(FINISH_RUN, new Timestamp(System.currentTimeMillis()), run.id());
+        log.info("Recalculated the member tiers of {} customers in {} ms ({} customers/s), {} changed",
+            totals[0], elapsedMillis, totals[0] * 1000 / Math.max(1, elapsedMillis), totals[1]);
+    }
+
+    /**
+     * @return the customers of the chunk and the ones whose tier changed
+     */
+    private long[] recalculateChunk(Run run, long first) {
+        long last = Math.min(run.lastCustomerId(), first + run.chunkSize() - 1);
+        Timestamp from = new Timestamp(run.asOf().getTime() - window.toMillis());
+        Map<String, Object> counts;
+        try {
+            counts = chunkTimer.record(() -> jdbcTemplate.queryForMap(RECALCULATE_CHUNK,
+                first, last, from, run.asOf(),
+                first, last, from, run.asOf(),
+                vipSpend, premiumSpend, premiumRatings,
+                first, last,
+                run.id(), first, new Timestamp(System.currentTimeMillis())));
+        } catch (DuplicateKeyException e) {
+            // Completed concurrently by another instance, its update was the only one applied
+            runCompletedChunks.incrementAndGet();
+            return new long[2];
+        }
+        long customers = ((Number) counts.get("customers")).longValue();
+        long changed = ((Number) counts.get("changed")).longValue();
+        customersCounter.increment(customers);
+        changedCounter.increment(changed);
+        runCompletedChunks.incrementAndGet();
+        return new long[]{customers, changed};
+    }
+
+    private MemberTierRunRes getRun(long runId) {
+        Map<String, Object> run = jdbcTemplate.queryForMap(RUN_PROGRESS, runId);
+        Timestamp startedOn = (Timestamp) run.get("started_on");
+        Timestamp finishedOn = (Timestamp) run.get("finished_on");
+        long customers = ((Number) run.get("customers")).longValue();
+        long end = finishedOn == null ? System.currentTimeMillis() : finishedOn.getTime();
+        Run planned = new Run(runId, (Timestamp) run.get("as_of"), ((Number) run.get("first_customer_id")).longValue(),
+            ((Number) run.get("last_customer_id")).longValue(), ((Number) run.get("chunk_size")).intValue());
+        return MemberTierRunRes.builder()
+            .id(runId)
+            .asOf(planned.asOf())
+            .startedOn(startedOn)
+            .finishedOn(finishedOn)
+            .chunks(planned.chunks())
+            .completedChunks(((Number) run.get("completed_chunks")).intValue())
+            .customers(customers)
+            .changed(((Number) run.get("changed")).longValue())
+            .customersPerSecond(customers * 1000 / Math.max(1, end - startedOn.getTime()))
+            .build();
+    }
+
+    private double progress() {
+        int chunks = runChunks;
+        return chunks == 0 ? 1.0 : (double) runCompletedChunks.get() / chunks;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.response.CursorPageRes;
+import com.example.assignment.dto.response.OrderSummaryRes;
+import com.example.assignment.enums.OrderStatus;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.OrderService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The history is read from order_summaries only: the rows of a customer are one range of the
+ * (customer_id, created_on, order_id) index, and a page starts right after the last row of the previous one.
+ */
+@Service
+@Logging
+public class OrderServiceImpl implements OrderService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String FIRST_PAGE = """
+        SELECT order_id, created_on, status, total, item_count, thumbnail_url FROM order_summaries
+        WHERE customer_id = ?
+        ORDER BY created_on DESC, order_id DESC LIMIT ?
+        """;
+    private static final String NEXT_PAGE = """
+        SELECT order_id, created_on, status, total, item_count, thumbnail_url FROM order_summaries
+        WHERE customer_id = ? AND (created_on, order_id) < (?, ?)
+        ORDER BY created_on DESC, order_id DESC LIMIT ?
+        """;
+    private static final RowMapper<OrderSummaryRes> SUMMARY_MAPPER = (resultSet, rowNum) -> OrderSummaryRes.builder()
+        .orderId(resultSet.getLong("order_id"))
+        .createdOn(resultSet.getTimestamp("created_on"))
+        .status(OrderStatus.fromValue(resultSet.getString("status")))
+        .total(resultSet.getDouble("total"))
+        .itemCount(resultSet.getInt("item_count"))
+        .thumbnailUrl(resultSet.getString("thumbnail_url"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderServiceImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public CursorPageRes<OrderSummaryRes> getOrderHistory(Long customerId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One more row tells whether there is a next page
+        List<OrderSummaryRes> orders;
+        if (cursor == null || cursor.isEmpty()) {
+            orders = jdbcTemplate.query(FIRST_PAGE, SUMMARY_MAPPER, customerId, size + 1);
+        } else {
+            Position position = Position.decode(cursor);
+            orders = jdbcTemplate.query(NEXT_PAGE, SUMMARY_MAPPER, customerId, position.createdOn(), position.orderId(), size + 1);
+        }
+        String nextCursor = null;
+        if (orders.size() > size) {
+            orders = orders.subList(0, size);
+            OrderSummaryRes last = orders.get(size - 1);
+            // The mapper reads a Timestamp, which keeps the microseconds of the column
+            nextCursor = new Position((Timestamp) last.getCreatedOn(), last.getOrderId()).encode();
+        }
+        return CursorPageRes.<OrderSummaryRes>builder()
+            .content(orders)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    @Override
+    @Transactional
+    public void updateOrderStatus(Long orderId, String status) {
+        OrderStatus orderStatus = OrderStatus.fromValue(status);
+        int updated = jdbcTemplate.update("UPDATE orders SET status = ?, updated_on = now() WHERE id = ?", orderStatus.name(), orderId);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        jdbcTemplate.update("UPDATE order_summaries SET status = ? WHERE order_id = ?", orderStatus.name(), orderId);
+    }
+
+    /**
+     * The sort key of the last order of a page, encoded as an opaque cursor.
+     */
+    private record Position(Timestamp createdOn, long orderId) {
+        String encode() {
+            String value = createdOn.toInstant() + "," + orderId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+                return new Position(Timestamp.from(Instant.parse(parts[0])), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
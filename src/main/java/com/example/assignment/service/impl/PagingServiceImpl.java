@@ -4,13 +4,36 @@ import com.example.assignment.annotation.Logging;
 import com.example.assignment.dto.response.PagingRes;
 import com.example.assignment.repository.BaseRepository;
 import com.example.assignment.service.PagingService;
+import com.example.assignment.util.FetchPlan;
+import com.example.assignment.util.ServerTiming;
+import com.example.assignment.util.SparseFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.springframework.core.ResolvableType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -21,6 +44,13 @@ import java.util.function.Function;
  */
 @Logging
 public abstract class PagingServiceImpl<T, E, K extends Serializable> implements PagingService<T, E> {
+    /**
+     * The identifier of the paged entities, all of them extending BaseEntity.
+     */
+    private static final String ID_ATTRIBUTE = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Get the repository for the entity.
@@ -71,13 +101,118 @@ public abstract class PagingServiceImpl<T, E, K extends Serializable> implements
 
     @Override
     public PagingRes<T> getMany(Specification<E> spec, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
+        return getMany(spec, FetchPlan.DEFAULT, pageNo, pageSize, sortDir, sortBy);
+    }
+
+    @Override
+    public PagingRes<T> getMany(Specification<E> spec, FetchPlan fetchPlan, Integer pageNo, Integer pageSize,
+                                String sortDir, String sortBy) {
         Pageable pageable = createPageable(pageNo, pageSize, sortDir, sortBy);
-        if(spec != null) {
-            Page<E> page = getRepository().findAll(spec, pageable);
-            return toPagingResult(page, this::convertToDto);
+        if (fetchPlan.batchSize() == 0) {
+            return getPage(spec, fetchPlan.attributePaths(), pageable);
+        }
+        // The session batch size applies to the lazy loads of the mapping, so it is only reset after it.
+        // Outside a transaction every repository call has its own session, so the callers run in one.
+        Session session = entityManager.unwrap(Session.class);
+        int batchSize = session.getFetchBatchSize();
+        session.setFetchBatchSize(fetchPlan.batchSize());
+        try {
+            // Without attribute paths the graph holds the id only: the eager associations are left out of it,
+            // so they are loaded lazily, and in batches, when the mapping reads them
+            return getPage(spec, fetchPlan.attributePaths().isEmpty() ? Set.of(ID_ATTRIBUTE) : fetchPlan.attributePaths(),
+                pageable);
+        } finally {
+            session.setFetchBatchSize(batchSize);
         }
-        Page<E> page = getRepository().findAll(pageable);
-        return toPagingResult(page, this::convertToDto);
     }
 
+    private PagingRes<T> getPage(Specification<E> spec, Set<String> fetchGraph, Pageable pageable) {
+        Page<E> page;
+        if (!fetchGraph.isEmpty()) {
+            // The fluent query applies the attribute paths as a fetch graph, without a spec it matches every row
+            Specification<E> where = spec != null ? spec : Specification.where(null);
+            page = getRepository().findBy(where, query -> query.project(fetchGraph).page(pageable));
+        } else {
+            page = spec != null
+                ? getRepository().findAll(spec, pageable)
+                : getRepository().findAll(pageable);
+        }
+        return ServerTiming.time(ServerTiming.MAP, () -> toPagingResult(page, this::convertToDto));
+    }
+
+    /**
+     * Get a page of the requested fields only, each row as the nested map of its fields.
+     * Only the columns of the fields are selected and only the associations they go through are joined,
+     * the entities are neither loaded nor mapped.
+     * @param spec the spec to filter the entities. This can be null.
+     * @param columns the selected columns, see {@link SparseFields#select}
+     * @param pageNo number of the page to retrieve
+     * @param pageSize number of items per page
+     * @param sortDir the direction to sort (ascending or descending)
+     * @param sortBy the field to sort by
+     * @return a paginated response containing the fields of the entities
+     */
+    protected PagingRes<Map<String, Object>> getFields(Specification<E> spec, Map<String, String> columns, Integer pageNo,
+                                                       Integer pageSize, String sortDir, String sortBy) {
+        Pageable pageable = createPageable(pageNo, pageSize, sortDir, sortBy);
+        List<Map<String, Object>> content = selectFields(spec, columns, pageable);
+        Page<Map<String, Object>> page = PageableExecutionUtils.getPage(content, pageable,
+            () -> spec != null ? getRepository().count(spec) : getRepository().count());
+        return new PagingRes<>(page.getContent(), page.getTotalPages(), page.getTotalElements(), page.getSize(),
+            page.getNumber(), page.isEmpty());
+    }
+
+    /**
+     * Select the columns of the entities matching the spec.
+     * @param spec the spec to filter the entities. This can be null.
+     * @param columns the selected columns, see {@link SparseFields#select}
+     * @param pageable the page and sort, may be unpaged
+     * @return the fields of the entities
+     */
+    protected List<Map<String, Object>> selectFields(Specification<E> spec, Map<String, String> columns, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<E> root = query.from(getEntityClass());
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = columns.values().stream().<Selection<?>>map(path -> path(root, path, joins)).toList();
+        query.multiselect(selections);
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, criteriaBuilder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        return ServerTiming.time(ServerTiming.MAP, () -> rows.stream().map(row -> SparseFields.toFields(row, columns.keySet())).toList());
+    }
+
+    /**
+     * Resolve an attribute path, left joining the associations it goes through once per query.
+     * The id of an association is read from the foreign key, without a join.
+     */
+    private static Path<?> path(Root<?> root, String attributePath, Map<String, From<?, ?>> joins) {
+        String[] attributes = attributePath.split("\\.");
+        From<?, ?> from = root;
+        String joined = "";
+        for (int i = 0; i < attributes.length - 1; i++) {
+            String attribute = attributes[i];
+            joined = joined.isEmpty() ? attribute : joined + "." + attribute;
+            boolean foreignKey = i == attributes.length - 2 && attributes[i + 1].equals(ID_ATTRIBUTE);
+            if (foreignKey && !joins.containsKey(joined)) {
+                return from.get(attribute).get(ID_ATTRIBUTE);
+            }
+            From<?, ?> parent = from;
+            from = joins.computeIfAbsent(joined, key -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(attributes[attributes.length - 1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<E> getEntityClass() {
+        return (Class<E>) ResolvableType.forClass(getClass()).as(PagingServiceImpl.class).resolveGeneric(1);
+    }
 }
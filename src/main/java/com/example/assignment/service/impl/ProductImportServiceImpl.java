@@ -0,0 +1,244 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.request.ProductCreationReq;
+import com.example.assignment.dto.response.ProductImportRes;
+import com.example.assignment.entity.User;
+import com.example.assignment.enums.DataFormat;
+import com.example.assignment.repository.CategoryRepository;
+import com.example.assignment.service.ProductImportService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Products are loaded with PostgreSQL COPY rather than through Hibernate: the entities use IDENTITY ids,
+ * which makes Hibernate flush every INSERT on its own and disables JDBC batching.
+ * The ids of each batch are allocated in one round trip from the products identity sequence,
+ * so single creates through Hibernate keep working alongside imports.
+ * Imported products are never featured, the cached featured products stay valid.
+ */
+@Slf4j
+@Service
+@Logging
+public class ProductImportServiceImpl implements ProductImportService {
+    private static final String COPY_PRODUCTS = """
+        COPY products (id, name, description, price, average_rating, rating_count, is_featured, quantity,
+                       image_url, is_active, category_id, created_by, updated_by, created_on, updated_on) FROM STDIN (FORMAT csv)
+        """;
+    private static final String ALLOCATE_IDS =
+        "SELECT nextval(pg_get_serial_sequence('products', 'id')) FROM generate_series(1, ?)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final Validator validator;
+    private final AuditorAware<User> auditorAware;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+
+    @Value("${product-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product-import.max-errors:100}")
+    private int maxErrors;
+
+    public ProductImportServiceImpl(DataSource dataSource, CategoryRepository categoryRepository, Validator validator,
+                                    AuditorAware<User> auditorAware, ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.categoryRepository = categoryRepository;
+        this.validator = validator;
+        this.auditorAware = auditorAware;
+        this.jsonReader = objectMapper.readerFor(ProductCreationReq.class);
+        this.csvReader = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(ProductCreationReq.class)
+            .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ProductImportRes importProducts(DataFormat format, InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            ImportBatch batch = new ImportBatch(connection.unwrap(PGConnection.class).getCopyAPI(),
+                categoryRepository.findAllIds(),
+                auditorAware.getCurrentAuditor().map(User::getId).orElse(null));
+            if (format == DataFormat.CSV) {
+                readCsv(inputStream, batch);
+            } else {
+                readNdjson(inputStream, batch);
+            }
+            batch.flush();
+
+            long durationMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+            ProductImportRes result = ProductImportRes.builder()
+                .received(batch.received)
+                .imported(batch.imported)
+                .rejected(batch.rejected)
+                .errors(batch.errors)
+                .durationMs(durationMs)
+                .rowsPerSecond(batch.imported * 1000 / durationMs)
+                .build();
+            log.info("Imported {} products ({} rejected) in {} ms, {} rows/s",
+                result.getImported(), result.getRejected(), durationMs, result.getRowsPerSecond());
+            return result;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot import products: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void readNdjson(InputStream inputStream, ImportBatch batch) throws IOException, SQLException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long line = 0;
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            ProductCreationReq row;
+            try {
+                row = jsonReader.readValue(json);
+            } catch (IOException e) {
+                batch.reject(line, "invalid JSON");
+                continue;
+            }
+            batch.add(line, row);
+        }
+    }
+
+    private void readCsv(InputStream inputStream, ImportBatch batch) throws IOException, SQLException {
+        try (MappingIterator<ProductCreationReq> rows = csvReader.readValues(inputStream)) {
+            // Line numbers count the header and assume values without line breaks
+            long line = 1;
+            while (rows.hasNextValue()) {
+                line++;
+                ProductCreationReq row;
+                try {
+                    row = rows.nextValue();
+                } catch (IOException e) {
+                    batch.reject(line, "invalid CSV row");
+                    continue;
+                }
+                batch.add(line, row);
+            }
+        }
+    }
+
+    /**
+     * The valid rows waiting to be copied and the counters of one import.
+     */
+    private final class ImportBatch {
+        private final CopyManager copyManager;
+        private final Set<Long> categoryIds;
+        private final Long auditorId;
+        private final String now = LocalDateTime.now().toString();
+        private final List<ProductCreationReq> rows = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long rejected;
+
+        private ImportBatch(CopyManager copyManager, Set<Long> categoryIds, Long auditorId) {
+            this.copyManager = copyManager;
+            this.categoryIds = categoryIds;
+            this.auditorId = auditorId;
+        }
+
+        void add(long line, ProductCreationReq row) throws SQLException, IOException {
+            Set<ConstraintViolation<ProductCreationReq>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+                return;
+            }
+            if (!categoryIds.contains(row.getCategoryId())) {
+                reject(line, "Category not found: " + row.getCategoryId());
+                return;
+            }
+            received++;
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String reason) {
+            received++;
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+
+        /**
+         * Copy the pending rows, with the same defaults as Product.prePersist.
+         */
+        void flush() throws SQLException, IOException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, rows.size());
+            StringBuilder copy = new StringBuilder(rows.size() * 128);
+            for (int i = 0; i < rows.size(); i++) {
+                ProductCreationReq row = rows.get(i);
+                copy.append(ids.get(i)).append(',')
+                    .append(quote(row.getName())).append(',')
+                    .append(quote(row.getDescription())).append(',')
+                    .append(row.getPrice()).append(",0,0,false,")
+                    .append(row.getQuantity()).append(',')
+                    .append(quote(row.getImageUrl())).append(",true,")
+                    .append(row.getCategoryId()).append(',')
+                    .append(auditorId == null ? "" : auditorId).append(',')
+                    .append(auditorId == null ? "" : auditorId).append(',')
+                    .append(now).append(',').append(now).append('\n');
+            }
+            copyManager.copyIn(COPY_PRODUCTS, new StringReader(copy.toString()));
+            imported += rows.size();
+            rows.clear();
+        }
+    }
+
+    /**
+     * Quote a CSV value for COPY, an unquoted empty value is read as NULL.
+     */
+    private static String quote(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,36 +1,83 @@
 package com.example.assignment.service.impl;
 
 import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.request.ProductBulkUpdateReq;
 import com.example.assignment.dto.request.ProductCreationReq;
 import com.example.assignment.dto.request.ProductFilterReq;
 import com.example.assignment.dto.request.ProductUpdatingReq;
 import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.ProductBulkUpdateRes;
 import com.example.assignment.dto.response.ProductDetailRes;
 import com.example.assignment.dto.response.ProductRes;
 import com.example.assignment.entity.Category;
 import com.example.assignment.entity.Product;
+import com.example.assignment.entity.Rating;
+import com.example.assignment.entity.User;
 import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.mapper.RatingMapper;
 import com.example.assignment.repository.BaseRepository;
 import com.example.assignment.repository.CategoryRepository;
 import com.example.assignment.repository.ProductRepository;
+import com.example.assignment.repository.RatingRepository;
+import com.example.assignment.service.FeaturedProductService;
 import com.example.assignment.service.ProductService;
+import com.example.assignment.service.ResponseCacheService;
 import com.example.assignment.specification.ProductSpecification;
-import com.example.assignment.util.SpecificationBuilder;
-import jakarta.transaction.Transactional;
+import com.example.assignment.specification.RatingSpecification;
+import com.example.assignment.util.ResourceVersion;
+import com.example.assignment.util.ServerTiming;
+import com.example.assignment.util.SparseFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Logging
 public class ProductServiceImpl extends PagingServiceImpl<ProductRes, Product, Long> implements ProductService {
+    /**
+     * Ids per bulk UPDATE, well below the 32767 bind parameters a PostgreSQL statement accepts.
+     */
+    private static final int BULK_UPDATE_IDS = 10_000;
+    /**
+     * The ratings of a product detail, a collection, so they are read with their own query rather than selected as columns.
+     */
+    private static final String RATINGS_FIELD = "ratings";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final RatingRepository ratingRepository;
+    private final RatingMapper ratingMapper;
+    private final ResponseCacheService responseCacheService;
+    private final FeaturedProductService featuredProductService;
+    private final AuditorAware<User> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     protected BaseRepository<Product, Long> getRepository() {
@@ -70,11 +117,47 @@ public class ProductServiceImpl extends PagingServiceImpl<ProductRes, Product, L
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductDetailRes getProductById(Long id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
-        return productMapper.toDetailsDto(product);
+        return ServerTiming.time(ServerTiming.MAP, () -> productMapper.toDetailsDto(product));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProductById(Long id, Set<String> fields) {
+        Set<String> columnFields = new LinkedHashSet<>(fields);
+        boolean ratings = columnFields.remove(RATINGS_FIELD);
+        Map<String, String> columns = SparseFields.select(ProductMapper.DETAIL_COLUMNS, columnFields);
+
+        Map<String, Object> product;
+        if (columns.isEmpty()) {
+            if (!productRepository.existsById(id)) {
+                throw new IllegalArgumentException("Product not found");
+            }
+            product = new LinkedHashMap<>();
+        } else {
+            Specification<Product> hasId = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+            product = selectFields(hasId, columns, Pageable.unpaged()).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        }
+        if (ratings) {
+            // The customers of the ratings are mapped with their profiles, fetched with the ratings
+            List<Rating> productRatings = ratingRepository.findBy(RatingSpecification.hasProductId(id),
+                query -> query.project("customer.userProfile").all());
+            product.put(RATINGS_FIELD, ServerTiming.time(ServerTiming.MAP, () -> productRatings.stream().map(ratingMapper::toDto).toList()));
+        }
+        return product;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getProductVersion(Long id) {
+        return productRepository.findVersionById(id)
+            .map(version -> ResourceVersion.of("product-" + id, version.getCount(), version.getLastModified()));
     }
 
 
@@ -139,23 +222,118 @@ public class ProductServiceImpl extends PagingServiceImpl<ProductRes, Product, L
         productRepository.save(product);
     }
 
+    @Override
+    @Transactional
+    public ProductBulkUpdateRes bulkUpdateProducts(ProductBulkUpdateReq productBulkUpdateReq) {
+        long start = System.nanoTime();
+        validateBulkUpdate(productBulkUpdateReq);
+        Category category = productBulkUpdateReq.getCategoryId() == null ? null
+            : categoryRepository.findById(productBulkUpdateReq.getCategoryId())
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+
+        long affected = 0;
+        if (productBulkUpdateReq.getIds() != null) {
+            List<Long> ids = productBulkUpdateReq.getIds().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += BULK_UPDATE_IDS) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BULK_UPDATE_IDS));
+                affected += bulkUpdate(productBulkUpdateReq, category, (root, query, criteriaBuilder) -> root.get("id").in(chunk));
+            }
+        } else {
+            affected = bulkUpdate(productBulkUpdateReq, category, ProductSpecification.fromFilter(productBulkUpdateReq.getFilter()));
+        }
+
+        // Bulk updates bypass the Hibernate events the response cache listens to
+        if (affected > 0) {
+            responseCacheService.evictAfterCommit(ResponseCacheService.FEATURED_PRODUCTS);
+            featuredProductService.refreshAfterCommit();
+        }
+        return ProductBulkUpdateRes.builder()
+            .affected(affected)
+            .durationMs((System.nanoTime() - start) / 1_000_000)
+            .build();
+    }
+
+    @Override
+    public List<ProductRes> getFeaturedProducts() {
+        return featuredProductService.getFeaturedProducts();
+    }
+
     @Override
     public PagingRes<ProductRes> getProducts(ProductFilterReq filterReq, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
         try {
-            Specification<Product> spec = new SpecificationBuilder<Product>()
-                .addIfNotNull(filterReq.getName(), ProductSpecification::hasName)
-                .addIfNotNull(filterReq.getIsActive(), ProductSpecification::hasIsActive)
-                .addIfNotNull(filterReq.getFeatured(), ProductSpecification::isFeatured)
-                .addIfNotNull(filterReq.getCategoryId(), ProductSpecification::hasCategoryId)
-                .add(ProductSpecification.hasPriceBetween(filterReq.getMinPrice(), filterReq.getMaxPrice()))
-                .add(ProductSpecification.hasRatingBetween(filterReq.getMinRating(), filterReq.getMaxRating()))
-                .build();
-            return getMany(spec, pageNo, pageSize, sortDir, sortBy);
+            return getMany(ProductSpecification.fromFilter(filterReq), pageNo, pageSize, sortDir, sortBy);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("No products found");
+        }
+    }
+
+    @Override
+    public PagingRes<Map<String, Object>> getProducts(ProductFilterReq filterReq, Set<String> fields, Integer pageNo,
+                                                      Integer pageSize, String sortDir, String sortBy) {
+        Map<String, String> columns = SparseFields.select(ProductMapper.COLUMNS, fields);
+        try {
+            return getFields(ProductSpecification.fromFilter(filterReq), columns, pageNo, pageSize, sortDir, sortBy);
         } catch (Exception e) {
             throw new IllegalArgumentException("No products found");
         }
     }
 
+    /**
+     * Run one UPDATE over the products matching the specification.
+     * The audit columns are set here since a bulk update skips the entity callbacks and the auditing listener.
+     */
+    private int bulkUpdate(ProductBulkUpdateReq productBulkUpdateReq, Category category, Specification<Product> spec) {
+        HibernateCriteriaBuilder criteriaBuilder = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaUpdate<Product> update = criteriaBuilder.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+        if (productBulkUpdateReq.getFeatured() != null) {
+            update.set(root.get("featured"), productBulkUpdateReq.getFeatured());
+        }
+        if (productBulkUpdateReq.getIsActive() != null) {
+            update.set(root.get("isActive"), productBulkUpdateReq.getIsActive());
+        }
+        if (productBulkUpdateReq.getPrice() != null) {
+            update.set(root.get("price"), productBulkUpdateReq.getPrice());
+        }
+        if (productBulkUpdateReq.getPriceFactor() != null) {
+            // Rounded to cents as floor(x * 100 + 0.5) / 100, round(x, n) is not defined for double precision
+            Path<Double> price = root.get("price");
+            Expression<Double> cents = criteriaBuilder.floor(criteriaBuilder.sum(
+                criteriaBuilder.prod(price, productBulkUpdateReq.getPriceFactor() * 100), 0.5));
+            update.set(price, criteriaBuilder.quot(cents, 100.0).as(Double.class));
+        }
+        if (category != null) {
+            update.set(root.get("category"), category);
+        }
+        update.set(root.get("updatedOn"), new Date());
+        Path<User> updatedBy = root.get("updatedBy");
+        update.set(updatedBy, auditorAware.getCurrentAuditor()
+            .<Expression<User>>map(criteriaBuilder::literal)
+            .orElseGet(() -> criteriaBuilder.nullLiteral(User.class)));
+        Predicate predicate = spec.toPredicate(root, null, criteriaBuilder);
+        if (predicate != null) {
+            update.where(predicate);
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private void validateBulkUpdate(ProductBulkUpdateReq productBulkUpdateReq) {
+        if ((productBulkUpdateReq.getIds() == null) == (productBulkUpdateReq.getFilter() == null)) {
+            throw new IllegalArgumentException("Either ids or filter must be given");
+        }
+        if (productBulkUpdateReq.getIds() != null && productBulkUpdateReq.getIds().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Product ids cannot be null");
+        }
+        if (productBulkUpdateReq.getPrice() != null && productBulkUpdateReq.getPriceFactor() != null) {
+            throw new IllegalArgumentException("Price and price factor cannot be both given");
+        }
+        if (productBulkUpdateReq.getFeatured() == null && productBulkUpdateReq.getIsActive() == null
+            && productBulkUpdateReq.getPrice() == null && productBulkUpdateReq.getPriceFactor() == null
+            && productBulkUpdateReq.getCategoryId() == null) {
+            throw new IllegalArgumentException("No change to apply");
+        }
+    }
+
     private void updateProductDetails(Product product, ProductUpdatingReq productUpdatingReq) {
         if (productUpdatingReq.getName() != null) {
             product.setName(productUpdatingReq.getName());
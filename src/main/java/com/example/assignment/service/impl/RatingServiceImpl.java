@@ -16,6 +16,9 @@ import com.example.assignment.repository.ProductRepository;
 import com.example.assignment.repository.RatingRepository;
 import com.example.assignment.service.RatingService;
 import com.example.assignment.specification.RatingSpecification;
+import com.example.assignment.util.FetchPlan;
+import com.example.assignment.util.ResourceVersion;
+import com.example.assignment.util.SparseFields;
 import com.example.assignment.util.SpecificationBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -23,12 +26,20 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Logging
 public class RatingServiceImpl extends PagingServiceImpl<RatingRes, Rating, Long> implements RatingService {
+    /**
+     * A rating page maps the customer with its profile, and only the id of the product.
+     */
+    private static final FetchPlan RATING_PAGE = FetchPlan.graph("customer.userProfile");
+
     private final RatingRepository ratingRepository;
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
@@ -80,6 +91,7 @@ public class RatingServiceImpl extends PagingServiceImpl<RatingRes, Rating, Long
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RatingRes getRatingById(Long id) {
         Rating rating = ratingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Rating not found with id: " + id));
@@ -87,11 +99,27 @@ public class RatingServiceImpl extends PagingServiceImpl<RatingRes, Rating, Long
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getRatingVersion(Long id) {
+        return ratingRepository.findVersionById(id)
+            .map(version -> ResourceVersion.of("rating-" + id, version.getCount(), version.getLastModified()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PagingRes<RatingRes> getAllRatings(Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
-        return getMany(null, pageNo, pageSize, sortDir, sortBy);
+        return getMany(null, RATING_PAGE, pageNo, pageSize, sortDir, sortBy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagingRes<Map<String, Object>> getAllRatings(Set<String> fields, Integer pageNo, Integer pageSize, String sortDir,
+                                                        String sortBy) {
+        return getFields(null, SparseFields.select(RatingMapper.COLUMNS, fields), pageNo, pageSize, sortDir, sortBy);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagingRes<RatingRes> getRatingsByProductId(Long productId, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
         // Verify the product exists
         if (!productRepository.existsById(productId)) {
@@ -102,10 +130,24 @@ public class RatingServiceImpl extends PagingServiceImpl<RatingRes, Rating, Long
                 .addIfNotNull(productId, RatingSpecification::hasProductId)
                 .build();
 
-        return getMany(spec, pageNo, pageSize, sortDir, sortBy);
+        return getMany(spec, RATING_PAGE, pageNo, pageSize, sortDir, sortBy);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PagingRes<Map<String, Object>> getRatingsByProductId(Long productId, Set<String> fields, Integer pageNo,
+                                                                Integer pageSize, String sortDir, String sortBy) {
+        Map<String, String> columns = SparseFields.select(RatingMapper.COLUMNS, fields);
+        // Verify the product exists
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+
+        return getFields(RatingSpecification.hasProductId(productId), columns, pageNo, pageSize, sortDir, sortBy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PagingRes<RatingRes> getRatingsByCustomerId(Long customerId, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
         // Verify customer exists
         if (!customerRepository.existsById(customerId)) {
@@ -115,7 +157,20 @@ public class RatingServiceImpl extends PagingServiceImpl<RatingRes, Rating, Long
         Specification<Rating> spec = new SpecificationBuilder<Rating>()
                 .addIfNotNull(customerId, RatingSpecification::hasCustomerId)
                 .build();
-        return getMany(spec, pageNo, pageSize, sortDir, sortBy);
+        return getMany(spec, RATING_PAGE, pageNo, pageSize, sortDir, sortBy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagingRes<Map<String, Object>> getRatingsByCustomerId(Long customerId, Set<String> fields, Integer pageNo,
+                                                                 Integer pageSize, String sortDir, String sortBy) {
+        Map<String, String> columns = SparseFields.select(RatingMapper.COLUMNS, fields);
+        // Verify customer exists
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found with id: " + customerId);
+        }
+
+        return getFields(RatingSpecification.hasCustomerId(customerId), columns, pageNo, pageSize, sortDir, sortBy);
     }
 
     @Override
@@ -0,0 +1,148 @@
+package com.example.assignment.service.impl;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.example.assignment.service.ResponseCacheService;
+import com.example.assignment.util.CachedResponse;
+import com.example.assignment.util.ReadYourWrites;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class ResponseCacheServiceImpl implements ResponseCacheService {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean brotliAvailable;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    /**
+     * Incremented on every eviction, a response built while it changed may hold older data and is dropped.
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    /**
+     * The builds running per key, joined by the misses arriving meanwhile.
+     */
+    private final Map<String, CompletableFuture<CachedResponse>> building = new ConcurrentHashMap<>();
+
+    @Value("${response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${response-cache.max-age:60s}")
+    private Duration maxAge;
+
+    public ResponseCacheServiceImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.brotliAvailable = Brotli4jLoader.isAvailable();
+        if (!brotliAvailable) {
+            log.warn("Brotli native library not available, cached responses are served with gzip only",
+                Brotli4jLoader.getUnavailabilityCause());
+        }
+    }
+
+    @Override
+    public CachedResponse get(String key, Supplier<?> body) {
+        if (!enabled) {
+            // Served once, so the best-compression variants would be built for nothing
+            return CachedResponse.uncompressed(serialize(body.get()));
+        }
+        CachedResponse cached = entries.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.createdAt() < maxAge.toMillis()) {
+            counter(key, "hit").increment();
+            return cached;
+        }
+        // Concurrent misses wait for the build already running instead of compressing the same body again
+        CompletableFuture<CachedResponse> build = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> running = building.putIfAbsent(key, build);
+        if (running != null) {
+            counter(key, "coalesced").increment();
+            return await(running);
+        }
+        counter(key, "miss").increment();
+        try {
+            AtomicLong generation = generation(key);
+            long buildGeneration = generation.get();
+            // Built from the primary, a replica behind the eviction would cache the previous data
+            CachedResponse built = CachedResponse.of(serialize(ReadYourWrites.onPrimary(body)), brotliAvailable);
+            entries.put(key, built);
+            // An eviction between the build start and the put means the body may predate the change
+            if (generation.get() != buildGeneration) {
+                entries.remove(key, built);
+            }
+            build.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(key, build);
+        }
+    }
+
+    @Override
+    public void evict(String key) {
+        generation(key).incrementAndGet();
+        entries.remove(key);
+        // Requests arriving after the eviction start a new build rather than waiting for one reading older data
+        building.remove(key);
+    }
+
+    @Override
+    public void evictAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(key);
+            }
+        });
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the cached response", e);
+        }
+    }
+
+    private static CachedResponse await(CompletableFuture<CachedResponse> build) {
+        try {
+            return build.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private AtomicLong generation(String key) {
+        return generations.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private Counter counter(String key, String result) {
+        return Counter.builder("response.cache.requests")
+            .description("Cached response lookups")
+            .tag("cache", key)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
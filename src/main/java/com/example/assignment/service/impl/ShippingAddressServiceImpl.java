@@ -0,0 +1,143 @@
+package com.example.assignment.service.impl;
+
+import com.example.assignment.annotation.Logging;
+import com.example.assignment.dto.response.NearbyAddressRes;
+import com.example.assignment.service.ShippingAddressService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The searches run on the GiST index of ll_to_earth(latitude, longitude) (earthdistance, V8__shipping_address_earth.sql)
+ * instead of computing the distance of every address: both searches walk the index in distance order (<->) and stop
+ * after the requested number of addresses, the radius search reading only the addresses inside the cube bounding the
+ * sphere (earth_box) and keeping those within the great-circle distance.
+ * <p>
+ * The nearest customers are found from the nearest addresses, reading more of them until k distinct customers are found,
+ * up to shipping-address.max-addresses addresses. Past that bound (addresses near the point shared by few customers)
+ * the closest address of every customer is picked with DISTINCT ON, bounded by the box of the radius search
+ * but computing the distance of every address for the nearest search.
+ */
+@Service
+@Logging
+public class ShippingAddressServiceImpl implements ShippingAddressService {
+    private static final String NEARBY_ADDRESSES = """
+        a.id, a.customer_id, a.city, a.country, a.postal_code, a.latitude, a.longitude,
+        earth_distance(point.earth, ll_to_earth(a.latitude, a.longitude)) AS distance
+        FROM shipping_addresses a, (SELECT ll_to_earth(?, ?) AS earth) point
+        """;
+    private static final String NEAREST = "SELECT " + NEARBY_ADDRESSES
+        + "ORDER BY ll_to_earth(a.latitude, a.longitude) <-> point.earth LIMIT ?";
+    private static final String NEAREST_WITHIN_RADIUS = "SELECT " + NEARBY_ADDRESSES + """
+        WHERE earth_box(point.earth, ?) @> ll_to_earth(a.latitude, a.longitude)
+          AND earth_distance(point.earth, ll_to_earth(a.latitude, a.longitude)) <= ?
+        ORDER BY ll_to_earth(a.latitude, a.longitude) <-> point.earth LIMIT ?
+        """;
+    private static final String NEAREST_PER_CUSTOMER = "SELECT * FROM (SELECT DISTINCT ON (a.customer_id) "
+        + NEARBY_ADDRESSES + "ORDER BY a.customer_id, distance) nearest ORDER BY distance LIMIT ?";
+    private static final String NEAREST_PER_CUSTOMER_WITHIN_RADIUS = "SELECT * FROM (SELECT DISTINCT ON (a.customer_id) "
+        + NEARBY_ADDRESSES + """
+        WHERE earth_box(point.earth, ?) @> ll_to_earth(a.latitude, a.longitude)
+          AND earth_distance(point.earth, ll_to_earth(a.latitude, a.longitude)) <= ?
+        ORDER BY a.customer_id, distance) nearest ORDER BY distance LIMIT ?
+        """;
+    private static final RowMapper<NearbyAddressRes> NEARBY_ADDRESS = (resultSet, rowNum) -> NearbyAddressRes.builder()
+        .addressId(resultSet.getLong("id"))
+        .customerId(resultSet.getLong("customer_id"))
+        .city(resultSet.getString("city"))
+        .country(resultSet.getString("country"))
+        .postalCode(resultSet.getString("postal_code"))
+        .latitude(resultSet.getDouble("latitude"))
+        .longitude(resultSet.getDouble("longitude"))
+        .distance(resultSet.getDouble("distance"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${shipping-address.max-radius:200000}")
+    private double maxRadius;
+
+    @Value("${shipping-address.max-results:1000}")
+    private int maxResults;
+
+    @Value("${shipping-address.max-addresses:20000}")
+    private int maxAddresses;
+
+    public ShippingAddressServiceImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<NearbyAddressRes> findWithinRadius(double latitude, double longitude, double radius, int limit, boolean perCustomer) {
+        validatePoint(latitude, longitude);
+        validateCount(limit);
+        if (!(radius > 0 && radius <= maxRadius)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + maxRadius + " meters");
+        }
+        return perCustomer
+            ? nearestCustomers(NEAREST_WITHIN_RADIUS, NEAREST_PER_CUSTOMER_WITHIN_RADIUS, limit, latitude, longitude, radius, radius)
+            : jdbcTemplate.query(NEAREST_WITHIN_RADIUS, NEARBY_ADDRESS, latitude, longitude, radius, radius, limit);
+    }
+
+    @Override
+    public List<NearbyAddressRes> findNearest(double latitude, double longitude, int k, boolean perCustomer) {
+        validatePoint(latitude, longitude);
+        validateCount(k);
+        return perCustomer ? nearestCustomers(NEAREST, NEAREST_PER_CUSTOMER, k, latitude, longitude)
+            : jdbcTemplate.query(NEAREST, NEARBY_ADDRESS, latitude, longitude, k);
+    }
+
+    /**
+     * Read the nearest addresses until k distinct customers are found, or there are no more addresses.
+     * Once max-addresses addresses are read without finding them, the closest address of each customer is queried.
+     * @param sql the nearest addresses query, its last parameter is the number of addresses
+     * @param perCustomerSql the closest address per customer query, with the same parameters
+     */
+    private List<NearbyAddressRes> nearestCustomers(String sql, String perCustomerSql, int k, Object... args) {
+        Object[] params = Arrays.copyOf(args, args.length + 1);
+        // Most customers have a few addresses, reading twice as many is usually enough
+        int limit = Math.min(2 * k, maxAddresses);
+        while (true) {
+            params[args.length] = limit;
+            List<NearbyAddressRes> addresses = jdbcTemplate.query(sql, NEARBY_ADDRESS, params);
+            Set<Long> customers = new HashSet<>();
+            List<NearbyAddressRes> nearest = new ArrayList<>(k);
+            for (NearbyAddressRes address : addresses) {
+                if (customers.add(address.getCustomerId())) {
+                    nearest.add(address);
+                    if (nearest.size() == k) {
+                        return nearest;
+                    }
+                }
+            }
+            if (addresses.size() < limit) {
+                return nearest;
+            }
+            if (limit >= maxAddresses) {
+                params[args.length] = k;
+                return jdbcTemplate.query(perCustomerSql, NEARBY_ADDRESS, params);
+            }
+            limit = (int) Math.min(4L * limit, maxAddresses);
+        }
+    }
+
+    private static void validatePoint(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90, longitude between -180 and 180");
+        }
+    }
+
+    private void validateCount(int count) {
+        if (count < 1 || count > maxResults) {
+            throw new IllegalArgumentException("Number of results must be between 1 and " + maxResults);
+        }
+    }
+}
@@ -16,6 +16,8 @@ import com.example.assignment.entity.User;
 import com.example.assignment.entity.UserProfile;
 import com.example.assignment.mapper.UserMapper;
 import com.example.assignment.mapper.UserProfileMapper;
+import com.example.assignment.util.FetchPlan;
+import com.example.assignment.util.SparseFields;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,6 +27,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -44,6 +48,11 @@ public class UserServiceImpl extends PagingServiceImpl<UserRes, User, Long> impl
     private final UserProfileMapper userProfileMapper;
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * A user page maps the profile of every user.
+     */
+    private static final FetchPlan USER_PAGE = FetchPlan.graph("userProfile");
+
     @Override
     protected BaseRepository<User, Long> getRepository() {
         return userRepository;
@@ -116,7 +125,7 @@ public class UserServiceImpl extends PagingServiceImpl<UserRes, User, Long> impl
     @Override
     public PagingRes<UserRes> getUsers(Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
         try {
-            return getMany(null, pageNo, pageSize, sortDir, sortBy);
+            return getMany(null, USER_PAGE, pageNo, pageSize, sortDir, sortBy);
         } catch (Exception e) {
             // More appropriate to return an empty result than throw an exception
             return PagingRes.<UserRes>builder()
@@ -130,6 +139,24 @@ public class UserServiceImpl extends PagingServiceImpl<UserRes, User, Long> impl
         }
     }
 
+    @Override
+    public PagingRes<Map<String, Object>> getUsers(Set<String> fields, Integer pageNo, Integer pageSize, String sortDir, String sortBy) {
+        Map<String, String> columns = SparseFields.select(UserMapper.COLUMNS, fields);
+        try {
+            return getFields(null, columns, pageNo, pageSize, sortDir, sortBy);
+        } catch (Exception e) {
+            // More appropriate to return an empty result than throw an exception
+            return PagingRes.<Map<String, Object>>builder()
+                    .content(new ArrayList<>())
+                    .totalElements(0)
+                    .totalPages(0)
+                    .size(pageSize)
+                    .page(pageNo)
+                    .empty(true)
+                    .build();
+        }
+    }
+
     @Override
     public UserDetailsRes getUserById(Long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new UsernameNotFoundException("User not found"));
@@ -1,24 +1,57 @@
 package com.example.assignment.specification;
 
 import com.example.assignment.entity.Customer;
+import com.example.assignment.entity.User;
+import com.example.assignment.entity.UserProfile;
 import com.example.assignment.enums.MemberTier;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Locale;
+
 /**
- * This class is a placeholder for customer-related specifications.
- * It can be used to define criteria for querying customer data.
+ * Specification class for filtering customers.
+ * This class contains static methods that return Specifications
+ * For filtering customers based on various criteria.
+ * This class's constructor is private to prevent instantiation.
  */
 public class CustomerSpecification {
+    private static final char LIKE_ESCAPE = '\\';
+
     private CustomerSpecification() {
         // Private constructor to prevent instantiation
     }
+
     /**
-     * Specification to filter customers by name.
-     * @param name the name to filter by
-     * @return a Specification that filters customers by name
+     * Specification to search customers by a part of their email, first name, last name or phone number, ignoring case.
+     * The email is in users and the rest in user_profiles: an OR across the two tables of a join can use no index,
+     * so each table is searched in its own subquery with its trigram indexes and the customers are matched against
+     * the union of the ids.
+     * @param text the text to search for
+     * @return a Specification that filters customers matching the text
      */
-    public static Specification<Customer> hasName(String name) {
-        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("name"), name);
+    public static Specification<Customer> matches(String text) {
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> byEmail = query.subquery(Long.class);
+            Root<User> user = byEmail.from(User.class);
+            byEmail.select(user.get("id"))
+                .where(like(criteriaBuilder, criteriaBuilder.lower(user.get("email")), pattern));
+
+            Subquery<Long> byProfile = query.subquery(Long.class);
+            Root<UserProfile> profile = byProfile.from(UserProfile.class);
+            byProfile.select(profile.get("id")).where(criteriaBuilder.or(
+                like(criteriaBuilder, criteriaBuilder.lower(profile.get("firstName")), pattern),
+                like(criteriaBuilder, criteriaBuilder.lower(profile.get("lastName")), pattern),
+                like(criteriaBuilder, profile.get("phoneNumber"), pattern)));
+
+            return root.get("id").in(((HibernateCriteriaBuilder) criteriaBuilder).unionAll(byEmail, byProfile));
+        };
     }
 
     /**
@@ -29,4 +62,12 @@ public class CustomerSpecification {
     public static Specification<Customer> hasMemberTier(MemberTier tier) {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("memberTier"), tier);
     }
+
+    private static Predicate like(CriteriaBuilder criteriaBuilder, Expression<String> expression, String pattern) {
+        return criteriaBuilder.like(expression, pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
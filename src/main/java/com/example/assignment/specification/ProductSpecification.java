@@ -1,6 +1,8 @@
 package com.example.assignment.specification;
 
+import com.example.assignment.dto.request.ProductFilterReq;
 import com.example.assignment.entity.Product;
+import com.example.assignment.util.SpecificationBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 
@@ -14,6 +16,22 @@ public class ProductSpecification {
     private ProductSpecification() {
         // Private constructor to prevent instantiation
     }
+
+    /**
+     * Specification combining every criterion of a product filter, the ones left null being ignored.
+     * @param filterReq the filter of the product listing or bulk update
+     * @return a Specification that filters products by the criteria of the filter
+     */
+    public static Specification<Product> fromFilter(ProductFilterReq filterReq) {
+        return new SpecificationBuilder<Product>()
+            .addIfNotNull(filterReq.getName(), ProductSpecification::hasName)
+            .addIfNotNull(filterReq.getIsActive(), ProductSpecification::hasIsActive)
+            .addIfNotNull(filterReq.getFeatured(), ProductSpecification::isFeatured)
+            .addIfNotNull(filterReq.getCategoryId(), ProductSpecification::hasCategoryId)
+            .add(hasPriceBetween(filterReq.getMinPrice(), filterReq.getMaxPrice()))
+            .add(hasRatingBetween(filterReq.getMinRating(), filterReq.getMaxRating()))
+            .build();
+    }
     /**
      * Specification to filter products by name.
      * @param name the name to filter by
@@ -0,0 +1,134 @@
+package com.example.assignment.util;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response serialized once and compressed once, served as is to every client.
+ * The gzip and brotli variants are built with the best compression level since the cost is paid once per entry,
+ * the Tomcat compression skips responses that already carry a Content-Encoding.
+ * A response that is not cached is not compressed here, the Tomcat compression applies to it as to any response.
+ *
+ * @param json the serialized JSON
+ * @param gzip the gzip variant, null if the response is not cached
+ * @param brotli the brotli variant, null if the brotli native library is not available or the response is not cached
+ * @param etag the weak entity tag, a digest of the JSON shared by all variants
+ * @param createdAt when the entry was built, in epoch milliseconds
+ */
+public record CachedResponse(byte[] json, byte[] gzip, byte[] brotli, String etag, long createdAt) {
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+
+    /**
+     * @param json the serialized JSON
+     * @param brotliAvailable whether the brotli native library is loaded
+     * @return the entry with its compressed variants
+     */
+    public static CachedResponse of(byte[] json, boolean brotliAvailable) {
+        try {
+            byte[] brotli = brotliAvailable ? Encoder.compress(json, new Encoder.Parameters().setQuality(11)) : null;
+            return new CachedResponse(json, gzip(json), brotli,
+                "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"", System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compress the cached response", e);
+        }
+    }
+
+    /**
+     * @param json the serialized JSON
+     * @return the response without compressed variants, for a body served once
+     */
+    public static CachedResponse uncompressed(byte[] json) {
+        return new CachedResponse(json, null, null, "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"", System.currentTimeMillis());
+    }
+
+    /**
+     * Answer a GET with 304 if the client copy is still current, with the best variant the client accepts otherwise.
+     * @param request the current request, its If-None-Match and Accept-Encoding headers are read
+     * @return the 304 or 200 response
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (brotli != null && accepts(acceptEncoding, BROTLI)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, BROTLI).body(brotli);
+        }
+        if (gzip != null && accepts(acceptEncoding, GZIP)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(gzip);
+        }
+        return response.body(json);
+    }
+
+    /**
+     * Check whether an Accept-Encoding header accepts a coding, i.e. lists it or "*" without q=0.
+     * @param acceptEncoding the header value, may be null
+     * @param coding the content coding
+     * @return true if the coding is acceptable
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    accepted = parseQuality(parameter.substring(2)) > 0;
+                }
+            }
+            if (name.equals(coding)) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double parseQuality(String quality) {
+        try {
+            return Double.parseDouble(quality.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.assignment.util;
+
+import java.util.Set;
+
+/**
+ * What a page of entities loads along with its rows, so mapping the page does not run one query per row.
+ * The attribute paths are an ad-hoc fetch graph (like @EntityGraph(attributePaths)): they are joined into the
+ * page query, and the eager associations left out of the graph are loaded lazily. The batch size loads the
+ * associations the mapping touches afterwards with one IN query per association and batch (like @BatchSize),
+ * a batch plan without attribute paths leaving every association out of the page query.
+ *
+ * @param attributePaths the associations joined into the page query, e.g. "customer.userProfile"
+ * @param batchSize the number of associations loaded per query while the page is read and mapped, 0 to keep the default
+ */
+public record FetchPlan(Set<String> attributePaths, int batchSize) {
+    /**
+     * The mapping of the entities, one query per row for their eager associations.
+     */
+    public static final FetchPlan DEFAULT = new FetchPlan(Set.of(), 0);
+
+    /**
+     * @param attributePaths the associations joined into the page query
+     * @return the plan fetching them with the page
+     */
+    public static FetchPlan graph(String... attributePaths) {
+        return new FetchPlan(Set.of(attributePaths), 0);
+    }
+
+    /**
+     * @param batchSize the number of associations loaded per query
+     * @return the plan loading the associations in batches
+     */
+    public static FetchPlan batch(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        return new FetchPlan(Set.of(), batchSize);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.assignment.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound flag sending the read-only transactions to the primary database instead of the read replica.
+ * Set by the ReadYourWritesFilter for the requests of a client that just wrote, whose write the replica may not have
+ * replayed yet, and around the reads that must see the latest committed data (e.g. building a cached response).
+ * Without a read replica (replica.enabled=false) the flag has no effect.
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * @return whether the current thread must read from the primary
+     */
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    /**
+     * Send the reads of the current thread to the primary until {@link #restore(boolean)} is called.
+     * @return the previous state, to restore
+     */
+    public static boolean requirePrimary() {
+        boolean previous = isPrimaryRequired();
+        PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    /**
+     * @param previous the state returned by {@link #requirePrimary()}
+     */
+    public static void restore(boolean previous) {
+        if (!previous) {
+            PRIMARY.remove();
+        }
+    }
+
+    /**
+     * Run work reading from the primary.
+     * @param work the work
+     * @return the result of the work
+     * @param <T> the type of the result
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean previous = requirePrimary();
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.assignment.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Validators of a resource representation, used to answer conditional GETs.
+ * The version is read with a cheap lookup (timestamps and counts only), so a request whose
+ * If-None-Match or If-Modified-Since still matches gets a 304 without the entity graph being loaded.
+ *
+ * @param etag the weak entity tag, W/"key-count-lastModified"
+ * @param lastModified the last modification time in epoch milliseconds, -1 if unknown
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    /**
+     * @param key the resource key, e.g. "product-42"
+     * @param count the number of rows the representation is built from, so deletions change the version
+     * @param lastModified the latest updatedOn of those rows, may be null
+     * @return the version of the representation
+     */
+    public static ResourceVersion of(String key, long count, Date lastModified) {
+        long millis = lastModified != null ? lastModified.getTime() : -1;
+        return new ResourceVersion("W/\"" + key + "-" + count + "-" + Math.max(millis, 0) + "\"", millis);
+    }
+
+    /**
+     * Answer a GET with 304 if the client copy is still current, with the body otherwise.
+     * Both responses carry the validators and ask clients to revalidate before reusing their copy.
+     * @param request the current request, its If-None-Match and If-Modified-Since headers are checked
+     * @param body supplies the representation, only called when the client copy is stale
+     * @return the 304 or 200 response
+     * @param <T> the type of the representation
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> body) {
+        // checkNotModified also adds the ETag and Last-Modified headers to the response
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
+    }
+}
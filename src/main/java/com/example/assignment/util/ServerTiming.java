@@ -0,0 +1,162 @@
+package com.example.assignment.util;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Request-scoped timing holder used to build the Server-Timing response header.
+ * A timing context is bound to the current thread by the ServerTimingFilter only when
+ * server timing is enabled, every other call is a cheap no-op (a single ThreadLocal read).
+ * Usage:
+ * <pre>
+ * try (ServerTiming.Stage ignored = ServerTiming.start(ServerTiming.AUTH)) {
+ *     // timed work
+ * }
+ * </pre>
+ */
+public final class ServerTiming {
+    public static final String AUTH = "auth";
+    public static final String QUERY = "query";
+    public static final String COUNT = "count";
+    public static final String MAP = "map";
+    public static final String SERIALIZE = "serialize";
+    public static final String TOTAL = "total";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Stage NOOP = () -> { };
+
+    /**
+     * Accumulated time per stage, in insertion order so the header is stable.
+     * index 0 holds the total nanoseconds, index 1 holds the number of samples.
+     */
+    private final Map<String, long[]> stages = new LinkedHashMap<>();
+    private final long startedAt = System.nanoTime();
+    private boolean countStatement;
+
+    private ServerTiming() {
+    }
+
+    /**
+     * A running stage, closing it records the elapsed time.
+     */
+    @FunctionalInterface
+    public interface Stage extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Bind a new timing context to the current thread.
+     * @return the bound context
+     */
+    public static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Remove the timing context from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the timing context of the current thread, or null if timing is disabled
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start timing a stage.
+     * @param name the stage name
+     * @return a stage to close when the work is done, a shared no-op stage when timing is disabled
+     */
+    public static Stage start(String name) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        return () -> timing.record(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Time a supplier as a stage.
+     * @param name the stage name
+     * @param supplier the work to time
+     * @return the result of the supplier
+     * @param <T> the type of the result
+     */
+    public static <T> T time(String name, Supplier<T> supplier) {
+        try (Stage ignored = start(name)) {
+            return supplier.get();
+        }
+    }
+
+    /**
+     * Add elapsed time to a stage.
+     * @param name the stage name
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void record(String name, long nanos) {
+        long[] stage = stages.computeIfAbsent(name, k -> new long[2]);
+        stage[0] += nanos;
+        stage[1]++;
+    }
+
+    /**
+     * Flag whether the next JDBC statement of this request is a count query.
+     * Set by the statement inspector, read by the session listener.
+     * @param countStatement true if the next statement is a count query
+     */
+    public void setCountStatement(boolean countStatement) {
+        this.countStatement = countStatement;
+    }
+
+    public boolean isCountStatement() {
+        return countStatement;
+    }
+
+    /**
+     * @return elapsed nanoseconds since the context was bound
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * @return the accumulated nanoseconds of every recorded stage
+     */
+    public Map<String, Long> getStageNanos() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        stages.forEach((name, stage) -> result.put(name, stage[0]));
+        return result;
+    }
+
+    /**
+     * Build the Server-Timing header value, e.g. {@code auth;dur=1.250, query;dur=3.100;desc="2"}.
+     * Durations are in milliseconds, the description holds the sample count when greater than one.
+     * @return the header value
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        stages.forEach((name, stage) -> appendMetric(header, name, stage[0], stage[1]));
+        appendMetric(header, TOTAL, elapsedNanos(), 1);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos, long count) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+        if (count > 1) {
+            header.append(";desc=\"").append(count).append('"');
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.assignment.util;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets: the ?fields=id,name,price parameter of the listings and lookups.
+ * A resource describes its fields as columns, the dotted name of a column in the response (e.g. "customer.firstName")
+ * mapped to its entity attribute path (e.g. "customer.userProfile.firstName"). A requested field selects the column
+ * of that name or every column under it, so only those columns are queried and only the associations they go through
+ * are joined. The response holds the requested fields only, with the names of the full DTO.
+ */
+public final class SparseFields {
+
+    private SparseFields() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Describe the columns of a resource.
+     * @param columns the columns, as "name" when the attribute path is the name or as "name=attribute.path"
+     * @return the columns, response name to attribute path, in order
+     */
+    public static Map<String, String> columns(String... columns) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (String column : columns) {
+            int equals = column.indexOf('=');
+            paths.put(equals < 0 ? column : column.substring(0, equals), equals < 0 ? column : column.substring(equals + 1));
+        }
+        return Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * Add the columns of a nested resource, e.g. the UserRes of the customer of a rating.
+     * @param columns the columns of the resource
+     * @param name the field of the nested resource, also the association it is read through
+     * @param nested the columns of the nested resource
+     * @return the columns of the resource followed by the prefixed columns of the nested resource
+     */
+    public static Map<String, String> with(Map<String, String> columns, String name, Map<String, String> nested) {
+        Map<String, String> paths = new LinkedHashMap<>(columns);
+        nested.forEach((column, path) -> paths.put(name + "." + column, name + "." + path));
+        return Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * Split the fields parameter.
+     * @param fields the comma separated field names, may be null
+     * @return the field names in the requested order, empty when the parameter is absent or blank
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(fields.split(","))
+            .map(String::strip)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Select the columns of the requested fields.
+     * @param columns every column of the resource, response name to attribute path
+     * @param fields the requested fields
+     * @return the columns of the requested fields, in the order of the resource
+     * @throws IllegalArgumentException if a field is not a field of the resource
+     */
+    public static Map<String, String> select(Map<String, String> columns, Set<String> fields) {
+        Set<String> names = names(columns);
+        for (String field : fields) {
+            if (!names.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field + ", expected one of " + names);
+            }
+        }
+        Map<String, String> selected = new LinkedHashMap<>();
+        columns.forEach((name, path) -> {
+            if (fields.contains(topLevel(name))) {
+                selected.put(name, path);
+            }
+        });
+        return selected;
+    }
+
+    /**
+     * @param columns every column of the resource
+     * @return the field names a client may request, the top-level names of the columns
+     */
+    public static Set<String> names(Map<String, String> columns) {
+        return columns.keySet().stream().map(SparseFields::topLevel).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Build the response of a row, the dotted column names becoming nested objects.
+     * A nested object whose columns are all null (an absent association) is null.
+     * @param tuple the row, one element per column in order
+     * @param columns the selected columns
+     * @return the fields of the row
+     */
+    public static Map<String, Object> toFields(Tuple tuple, Set<String> columns) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        int index = 0;
+        for (String column : columns) {
+            put(fields, column, tuple.get(index++));
+        }
+        fields.replaceAll((name, value) -> value instanceof Map<?, ?> nested && nested.values().stream().allMatch(v -> v == null)
+            ? null : value);
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> fields, String column, Object value) {
+        int dot = column.indexOf('.');
+        if (dot < 0) {
+            fields.put(column, value);
+            return;
+        }
+        Map<String, Object> nested = (Map<String, Object>) fields.computeIfAbsent(column.substring(0, dot), name -> new LinkedHashMap<>());
+        put(nested, column.substring(dot + 1), value);
+    }
+
+    private static String topLevel(String column) {
+        int dot = column.indexOf('.');
+        return dot < 0 ? column : column.substring(0, dot);
+    }
+}
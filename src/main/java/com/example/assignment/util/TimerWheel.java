@@ -0,0 +1,128 @@
+package com.example.assignment.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel: level 0 has one slot per tick, every level above has slots spanning a whole turn of
+ * the level below. A timer goes to the lowest level whose turn covers its deadline, and moves down a level each time
+ * the slot holding it comes up, until it expires from level 0. Scheduling and expiring cost O(1) whatever the number
+ * of timers, and advancing the wheel only visits the slots of the elapsed ticks.
+ * Deadlines beyond the top level turn stay in its slots and are placed again each time their slot comes up.
+ * <p>
+ * Timers expire on the first tick at or after their deadline. The wheel is not thread-safe, a single thread is
+ * expected to schedule and advance it.
+ *
+ * @param <T> the type of the timer payloads
+ */
+public final class TimerWheel<T> {
+    private final long tickMillis;
+    private final long originMillis;
+    private final int wheelSize;
+    private final List<List<ArrayDeque<Timer<T>>>> levels;
+    /**
+     * Timers scheduled with a deadline already reached, expired on the next advance.
+     */
+    private final List<Timer<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    private record Timer<T>(long deadlineTick, long deadlineMillis, T payload) {
+    }
+
+    /**
+     * @param tick the duration of a tick, the precision of the deadlines
+     * @param wheelSize the slots per level, a level turn spans wheelSize times the slot of the level below
+     * @param levelCount the number of levels
+     * @param startMillis the time of the tick the wheel starts at
+     */
+    public TimerWheel(Duration tick, int wheelSize, int levelCount, long startMillis) {
+        if (tick.toMillis() <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timer wheel: tick " + tick + ", " + wheelSize + " slots, " + levelCount + " levels");
+        }
+        this.tickMillis = tick.toMillis();
+        this.originMillis = startMillis;
+        this.wheelSize = wheelSize;
+        this.levels = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            List<ArrayDeque<Timer<T>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new ArrayDeque<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Schedule a timer.
+     * @param payload the payload returned when the timer expires
+     * @param deadlineMillis the time the timer expires at
+     */
+    public void schedule(T payload, long deadlineMillis) {
+        // The first tick at or after the deadline
+        long deadlineTick = Math.ceilDiv(deadlineMillis - originMillis, tickMillis);
+        place(new Timer<>(deadlineTick, deadlineMillis, payload));
+        size++;
+    }
+
+    /**
+     * Advance the wheel to the given time.
+     * @param nowMillis the current time
+     * @return the payloads of the expired timers, by deadline
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        List<Timer<T>> expired = new ArrayList<>(overdue);
+        overdue.clear();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Move the timers of the slots coming up on the upper levels down before expiring level 0
+            long span = 1;
+            for (int level = 1; level < levels.size(); level++) {
+                span *= wheelSize;
+                if (currentTick % span != 0) {
+                    break;
+                }
+                ArrayDeque<Timer<T>> slot = levels.get(level).get((int) ((currentTick / span) % wheelSize));
+                List<Timer<T>> cascaded = new ArrayList<>(slot);
+                slot.clear();
+                cascaded.forEach(this::place);
+            }
+            ArrayDeque<Timer<T>> slot = levels.get(0).get((int) (currentTick % wheelSize));
+            expired.addAll(slot);
+            slot.clear();
+            // Timers cascaded onto the current tick were placed in overdue
+            expired.addAll(overdue);
+            overdue.clear();
+        }
+        size -= expired.size();
+        expired.sort(Comparator.comparingLong(Timer::deadlineMillis));
+        return expired.stream().map(Timer::payload).toList();
+    }
+
+    /**
+     * @return the number of scheduled timers
+     */
+    public int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick() - currentTick;
+        if (delta <= 0) {
+            overdue.add(timer);
+            return;
+        }
+        long span = 1;
+        for (int level = 0; level < levels.size(); level++) {
+            if (delta < span * wheelSize || level == levels.size() - 1) {
+                levels.get(level).get((int) ((timer.deadlineTick() / span) % wheelSize)).add(timer);
+                return;
+            }
+            span *= wheelSize;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.assignment.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Sampler of ranks following a Zipf distribution: rank k in [1, n] has a probability proportional to 1 / k^exponent.
+ * It uses the rejection-inversion method of Hörmann and Derflinger, which needs constant memory and time
+ * per sample whatever the number of elements, so it can model the popularity of millions of products.
+ * The sampler is immutable, randomness comes from the generator given to {@link #sample(RandomGenerator)},
+ * so the same seeded generator always yields the same ranks.
+ */
+public final class ZipfSampler {
+    private static final double TAYLOR_THRESHOLD = 1e-8;
+
+    private final int numberOfElements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralNumberOfElements;
+    private final double s;
+
+    /**
+     * @param numberOfElements the number of ranks, must be positive
+     * @param exponent the skew of the distribution, must be positive (about 1 for typical popularity)
+     */
+    public ZipfSampler(int numberOfElements, double exponent) {
+        if (numberOfElements <= 0) {
+            throw new IllegalArgumentException("Number of elements must be positive");
+        }
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("Exponent must be positive");
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return a rank in [1, numberOfElements], rank 1 being the most likely
+     */
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.min(Math.max(x + 0.5, 1), numberOfElements);
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    /**
+     * Integral of h, H(x) = ((x^(1 - exponent)) - 1) / (1 - exponent), computed to stay accurate when exponent is 1.
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(x * (1 - exponent), -1);
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double log1pOverX(double x) {
+        if (Math.abs(x) > TAYLOR_THRESHOLD) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        if (Math.abs(x) > TAYLOR_THRESHOLD) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,3 @@
+-- Spend of a range of customers over the member tier recalculation window (MemberTierServiceImpl),
+-- the total is included so the chunk aggregate reads the index only
+create index idx_orders_customer_created on orders (customer_id, created_on) include (total);
@@ -0,0 +1,158 @@
+-- Baseline schema, identical to what Hibernate generates from the entities (ddl-auto=create).
+-- Databases created earlier by ddl-auto=update are baselined at this version instead of running it.
+
+create table cart_items (
+    quantity integer not null check (quantity>=1),
+    cart_id bigint not null,
+    id bigint generated by default as identity,
+    product_id bigint not null unique,
+    primary key (id)
+);
+
+create table carts (
+    total float(53) not null check (total>=0),
+    customer_id bigint not null unique,
+    id bigint generated by default as identity,
+    primary key (id)
+);
+
+create table categories (
+    created_by bigint,
+    created_on timestamp(6),
+    id bigint generated by default as identity,
+    parent_id bigint,
+    updated_by bigint,
+    updated_on timestamp(6),
+    description varchar(255),
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table customers (
+    cart_id bigint unique,
+    id bigint not null,
+    member_tier varchar(255) check (member_tier in ('COMMON','PREMIUM','VIP')),
+    primary key (id)
+);
+
+create table feature_products (
+    end_date timestamp(6),
+    id bigint not null,
+    start_date timestamp(6),
+    priority varchar(255) check (priority in ('HIGH','MEDIUM','LOW')),
+    primary key (id)
+);
+
+create table order_items (
+    quantity integer,
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+);
+
+create table orders (
+    total float(53) not null check (total>=0),
+    created_on timestamp(6),
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    shipping_address_id bigint not null unique,
+    updated_on timestamp(6),
+    status varchar(255) check (status in ('DELIVERING','COMPLETED')),
+    primary key (id)
+);
+
+create table products (
+    average_rating float(53),
+    is_active boolean,
+    is_featured boolean,
+    price float(53) not null,
+    quantity integer not null,
+    category_id bigint not null,
+    created_by bigint,
+    created_on timestamp(6),
+    id bigint generated by default as identity,
+    rating_count bigint,
+    updated_by bigint,
+    updated_on timestamp(6),
+    description varchar(255),
+    image_url varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table ratings (
+    score float(53) not null,
+    created_on timestamp(6),
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    product_id bigint not null,
+    updated_on timestamp(6),
+    comment varchar(255),
+    primary key (id)
+);
+
+create table shipping_addresses (
+    is_default boolean,
+    latitude float(53) not null,
+    longitude float(53) not null,
+    created_on timestamp(6),
+    customer_id bigint not null,
+    id bigint generated by default as identity,
+    updated_on timestamp(6),
+    address_line_1 varchar(255) not null,
+    address_line_2 varchar(255),
+    city varchar(255) not null,
+    country varchar(255) not null,
+    phone_number varchar(255) not null,
+    postal_code varchar(255) not null,
+    primary key (id)
+);
+
+create table user_profiles (
+    dob timestamp(6),
+    id bigint not null,
+    address varchar(255),
+    avatar varchar(255),
+    bio varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    phone_number varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users (
+    is_active boolean,
+    created_by bigint,
+    created_on timestamp(6),
+    id bigint generated by default as identity,
+    updated_by bigint,
+    updated_on timestamp(6),
+    email varchar(255) not null unique,
+    password varchar(255),
+    role varchar(255) check (role in ('CUSTOMER','ADMIN','VENDOR')),
+    primary key (id)
+);
+
+alter table cart_items add constraint FKpcttvuq4mxppo8sxggjtn5i2c foreign key (cart_id) references carts;
+alter table cart_items add constraint FK1re40cjegsfvw58xrkdp6bac6 foreign key (product_id) references products;
+alter table carts add constraint FK8ba3sryid5k8a9kidpkvqipyt foreign key (customer_id) references customers;
+alter table categories add constraint FK5yfru0au6kpyqs4tonky5vfne foreign key (created_by) references users;
+alter table categories add constraint FKnbfq7vefwik42v5ka12ekr4hv foreign key (updated_by) references users;
+alter table categories add constraint FKsaok720gsu4u2wrgbk10b5n8d foreign key (parent_id) references categories;
+alter table customers add constraint FKihj385ysmggb5xuqydq8nb33e foreign key (cart_id) references carts;
+alter table customers add constraint FKpog72rpahj62h7nod9wwc28if foreign key (id) references users;
+alter table feature_products add constraint FK8cdof7aq7ir91xlx7wymex39q foreign key (id) references products;
+alter table order_items add constraint FKbioxgbv59vetrxe0ejfubep1w foreign key (order_id) references orders;
+alter table order_items add constraint FKocimc7dtr037rh4ls4l95nlfi foreign key (product_id) references products;
+alter table orders add constraint FKpxtb8awmi0dk6smoh2vp1litg foreign key (customer_id) references customers;
+alter table orders add constraint FKstjxbn0162q6csb4f7ejx3fwe foreign key (shipping_address_id) references shipping_addresses;
+alter table products add constraint FKl0lce8i162ldn9n01t2a6lcix foreign key (created_by) references users;
+alter table products add constraint FKdeswm6d74skv6do803axl6edj foreign key (updated_by) references users;
+alter table products add constraint FKog2rp4qthbtt2lfyhfo32lsw9 foreign key (category_id) references categories;
+alter table ratings add constraint FKb0aai9hp9gtd2don8c08qxn3y foreign key (customer_id) references customers;
+alter table ratings add constraint FK228us4dg38ewge41gos8y761r foreign key (product_id) references products;
+alter table shipping_addresses add constraint FK8ds46gmuytjibpy4mmp0v9ysd foreign key (customer_id) references customers;
+alter table user_profiles add constraint FKa4dc7gqiwcc1mdmq4o3jrqmhm foreign key (id) references users;
+alter table users add constraint FKibk1e3kaxy5sfyeekp8hbhnim foreign key (created_by) references users;
+alter table users add constraint FKci7xr690rvyv3bnfappbyh8x0 foreign key (updated_by) references users;
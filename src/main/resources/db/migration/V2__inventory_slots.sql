@@ -0,0 +1,10 @@
+create table inventory_slots (
+    quantity integer not null check (quantity >= 0),
+    slot integer not null,
+    id bigint generated by default as identity,
+    product_id bigint not null,
+    primary key (id),
+    constraint uk_inventory_slots_product_slot unique (product_id, slot)
+);
+
+alter table inventory_slots add constraint fk_inventory_slots_product foreign key (product_id) references products on delete cascade;
@@ -0,0 +1,3 @@
+-- A product was unique over all the carts, it is unique within a cart
+alter table cart_items drop constraint cart_items_product_id_key;
+alter table cart_items add constraint uk_cart_items_cart_product unique (cart_id, product_id);
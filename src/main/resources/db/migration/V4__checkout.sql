@@ -0,0 +1,8 @@
+-- An address was unique over all the orders, it can be used by many orders
+alter table orders drop constraint orders_shipping_address_id_key;
+alter table orders add column idempotency_key varchar(64);
+alter table orders add constraint uk_orders_customer_idempotency_key unique (customer_id, idempotency_key);
+alter table orders drop constraint orders_status_check;
+alter table orders add constraint orders_status_check check (status in ('PLACED','DELIVERING','COMPLETED'));
+
+alter table order_items add column unit_price float(53);
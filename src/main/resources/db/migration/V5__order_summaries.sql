@@ -0,0 +1,20 @@
+create table order_summaries (
+    item_count integer not null,
+    total float(53) not null,
+    created_on timestamp(6) not null,
+    customer_id bigint not null,
+    order_id bigint not null,
+    status varchar(255) check (status in ('PLACED','DELIVERING','COMPLETED')),
+    thumbnail_url varchar(255),
+    primary key (order_id)
+);
+
+alter table order_summaries add constraint fk_order_summaries_order foreign key (order_id) references orders on delete cascade;
+create index idx_order_summaries_customer_created on order_summaries (customer_id, created_on, order_id);
+
+-- Orders placed before the read model
+insert into order_summaries (order_id, customer_id, created_on, status, total, item_count, thumbnail_url)
+select o.id, o.customer_id, coalesce(o.created_on, now()), o.status, o.total,
+       coalesce((select sum(i.quantity) from order_items i where i.order_id = o.id), 0),
+       (select p.image_url from order_items i join products p on p.id = i.product_id where i.order_id = o.id order by i.id limit 1)
+from orders o;
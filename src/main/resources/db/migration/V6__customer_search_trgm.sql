@@ -0,0 +1,7 @@
+-- Trigram indexes serving the substring search of customers (lower(column) like '%text%')
+create extension if not exists pg_trgm;
+
+create index idx_users_email_trgm on users using gin (lower(email) gin_trgm_ops);
+create index idx_user_profiles_first_name_trgm on user_profiles using gin (lower(first_name) gin_trgm_ops);
+create index idx_user_profiles_last_name_trgm on user_profiles using gin (lower(last_name) gin_trgm_ops);
+create index idx_user_profiles_phone_number_trgm on user_profiles using gin (phone_number gin_trgm_ops);
@@ -0,0 +1,26 @@
+create table member_tier_runs (
+    chunk_size integer not null,
+    as_of timestamp(6) not null,
+    finished_on timestamp(6),
+    first_customer_id bigint not null,
+    id bigint generated by default as identity,
+    last_customer_id bigint not null,
+    started_on timestamp(6) not null,
+    primary key (id)
+);
+
+create table member_tier_run_chunks (
+    changed integer not null,
+    customers integer not null,
+    completed_on timestamp(6) not null,
+    first_customer_id bigint not null,
+    id bigint generated by default as identity,
+    run_id bigint not null,
+    primary key (id),
+    constraint uk_member_tier_run_chunks_run_first unique (run_id, first_customer_id)
+);
+
+alter table member_tier_run_chunks add constraint fk_member_tier_run_chunks_run foreign key (run_id) references member_tier_runs on delete cascade;
+
+-- Rating activity of a range of customers over the recalculation window
+create index idx_ratings_customer_created on ratings (customer_id, created_on);
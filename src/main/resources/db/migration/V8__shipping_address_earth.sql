@@ -0,0 +1,6 @@
+-- Spatial index of the shipping addresses serving the radius and nearest searches: ll_to_earth places a point on the
+-- earth as a 3-D cube, searched with earth_box (radius) and ordered with the <-> distance of the GiST index (nearest)
+create extension if not exists cube;
+create extension if not exists earthdistance;
+
+create index idx_shipping_addresses_earth on shipping_addresses using gist (ll_to_earth(latitude, longitude));
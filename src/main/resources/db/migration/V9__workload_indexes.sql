@@ -0,0 +1,15 @@
+-- Indexes of the product listing filters (ProductSpecification), the rating pages sorted by created_on (RatingController)
+-- and the category tree. Equality columns first, then the range or sort column, the id closing the default product sort.
+-- The product flags are partial index conditions: listings filter on is_active = true and is_featured = true only.
+create index idx_products_category_id on products (category_id, id);
+create index idx_products_active_price on products (price, id) where is_active;
+create index idx_products_active_rating on products (average_rating, id) where is_active;
+create index idx_products_featured on products (id) where is_featured;
+create index idx_products_name_trgm on products using gin (lower(name) gin_trgm_ops);
+
+-- Ratings of a product by date (ratings of a customer: idx_ratings_customer_created in V7), all ratings by date
+create index idx_ratings_product_created on ratings (product_id, created_on);
+create index idx_ratings_created on ratings (created_on);
+
+-- Sub-categories of a category
+create index idx_categories_parent_id on categories (parent_id);
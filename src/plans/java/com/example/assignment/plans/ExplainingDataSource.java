@@ -0,0 +1,138 @@
+package com.example.assignment.plans;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * A data source explaining the queries run by the current thread while it captures.
+ * Every SELECT prepared on its connections is first run as EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) on the same
+ * connection, in the same transaction and with the same parameters, then run as usual.
+ * Statements of the other threads (background tasks) and outside a capture are not explained.
+ */
+public class ExplainingDataSource extends DelegatingDataSource {
+    private static final String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ";
+    private static final ThreadLocal<List<StatementPlan>> CAPTURE = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ExplainingDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Run an action and return the plans of the queries it ran, in order.
+     * @param action the action, run on the current thread
+     * @return the plans
+     */
+    public static List<StatementPlan> capture(Runnable action) {
+        List<StatementPlan> plans = new ArrayList<>();
+        CAPTURE.set(plans);
+        try {
+            action.run();
+        } finally {
+            CAPTURE.remove();
+        }
+        return plans;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, () -> connection, (method, args) -> {
+            Object result = method.invoke(connection, args);
+            if (method.getName().equals("prepareStatement") && isQuery((String) args[0])) {
+                return statement(connection, (PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement statement(Connection connection, PreparedStatement statement, String sql) {
+        // The parameter setters (setLong(1, 42L), setNull(2, Types.BIGINT)...) replayed on the EXPLAIN statement
+        List<Object[]> parameters = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        return proxy(PreparedStatement.class, () -> statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                setters.add(method);
+                parameters.add(args);
+            } else if (name.equals("clearParameters")) {
+                setters.clear();
+                parameters.clear();
+            } else if ((name.equals("executeQuery") || name.equals("execute")) && (args == null || args.length == 0)
+                && CAPTURE.get() != null) {
+                CAPTURE.get().add(explain(connection, sql, setters, parameters));
+            }
+            return method.invoke(statement, args);
+        });
+    }
+
+    private StatementPlan explain(Connection connection, String sql, List<Method> setters, List<Object[]> parameters)
+        throws SQLException, ReflectiveOperationException {
+        try (PreparedStatement explain = connection.prepareStatement(EXPLAIN + sql)) {
+            for (int i = 0; i < setters.size(); i++) {
+                setters.get(i).invoke(explain, parameters.get(i));
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                JsonNode plan = objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+                return StatementPlan.of(sql, plan);
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                throw new SQLException("Cannot read the plan of " + sql, e);
+            }
+        }
+    }
+
+    /**
+     * Check whether a statement is a query, skipping the leading comment added by hibernate.use_sql_comments.
+     */
+    static boolean isQuery(String sql) {
+        String statement = StatementPlan.withoutComment(sql).toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("with");
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * A proxy of a JDBC interface answering unwrap and isWrapperFor with the proxied object.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Supplier<T> target, Handler handler) {
+        return (T) Proxy.newProxyInstance(ExplainingDataSource.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> {
+                try {
+                    if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                        return method.invoke(target.get(), args);
+                    }
+                    return handler.handle(method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.assignment.plans;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The committed plans of the scenarios, and the dataset they were captured on.
+ * @param dataset the dataset sizes (products, customers, ratings, seed)
+ * @param scenarios the plans of the queries of every scenario, in the order they ran
+ */
+public record PlanBaseline(Map<String, Long> dataset, Map<String, List<StatementPlan>> scenarios) {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    /**
+     * @param file the baseline file
+     * @return the baseline, empty when the file does not exist yet
+     */
+    public static PlanBaseline load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new PlanBaseline(new TreeMap<>(), new TreeMap<>());
+        }
+        return OBJECT_MAPPER.readValue(file.toFile(), PlanBaseline.class);
+    }
+
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(file.toFile(), this);
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.assignment.plans;
+
+import com.example.assignment.AssignmentApplication;
+import com.example.assignment.config.seed.DatasetGenerator;
+import com.example.assignment.dto.request.ProductFilterReq;
+import com.example.assignment.repository.UserRepository;
+import com.example.assignment.service.CategoryService;
+import com.example.assignment.service.ProductService;
+import com.example.assignment.service.RatingService;
+import com.example.assignment.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the query plans of the listings and lookups to ensure:
+ * - No query reads a hot table (plans.hot-tables) with a sequential scan, but the ones allowed below with their reason
+ * - No query reads another table with a sequential scan the baseline does not have
+ * - No query runs that the baseline does not have, or more often
+ * - No sort or hash spills to disk
+ * - No query reads more than plans.buffer-factor times the shared buffers of the baseline (plus plans.buffer-slack)
+ * - No scenario runs more queries than in the baseline
+ * The application boots against an embedded Postgres migrated by Flyway and holding a dataset of the DatasetGenerator,
+ * then every scenario calls a service or repository method, every query it runs being explained with
+ * EXPLAIN (ANALYZE, BUFFERS) by the ExplainingDataSource. The plans are compared with src/plans/query-plans.json,
+ * rewritten instead when plans.update is true, each query with the baseline plan of the same normalized SQL.
+ * The hot tables are checked in both modes, so a sequential scan of one cannot enter the baseline.
+ * A changed plan shape alone is logged, not failed.
+ * <p>
+ * Run with: mvn -Pplans test [-Dplans.update=true]
+ */
+@Slf4j
+class QueryPlanRegressionTest {
+    private static final Path BASELINE = Path.of(System.getProperty("plans.baseline", "src/plans/query-plans.json"));
+    private static final boolean UPDATE = Boolean.getBoolean("plans.update");
+    private static final double BUFFER_FACTOR = Double.parseDouble(System.getProperty("plans.buffer-factor", "2"));
+    private static final long BUFFER_SLACK = Long.getLong("plans.buffer-slack", 100);
+    private static final Set<String> HOT_TABLES = Set.of(System.getProperty(
+        "plans.hot-tables", "products,feature_products,ratings,users,customers,user_profiles,orders").split(","));
+    /**
+     * The sequential scans of hot tables allowed in a scenario (scenario:table), with the reason.
+     */
+    private static final Map<String, String> ALLOWED_SEQ_SCANS = Map.of(
+        "products.price-range:feature_products", "The windows of the products in the price range (about 2000) are "
+            + "hash joined from the whole window table, one row per featured product in a few pages, "
+            + "cheaper than probing its index once per product",
+        "ratings.all:ratings", "The total of the unfiltered rating page counts every rating: a parallel scan of the heap "
+            + "costs less than reading every entry of an index, the page itself is read on idx_ratings_created"
+    );
+    private static final Map<String, Long> DATASET = new TreeMap<>(Map.of(
+        "products", Long.getLong("plans.products", 200_000),
+        "customers", Long.getLong("plans.customers", 20_000),
+        "ratings", Long.getLong("plans.ratings", 1_000_000),
+        "seed", Long.getLong("plans.seed", 42)
+    ));
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static PlanBaseline baseline;
+    private static final Map<String, List<StatementPlan>> captured = new TreeMap<>();
+
+    @BeforeAll
+    static void startApplication() throws IOException {
+        baseline = PlanBaseline.load(BASELINE);
+        if (!UPDATE && !baseline.scenarios().isEmpty()) {
+            assertEquals(baseline.dataset(), DATASET, "The baseline was captured on another dataset");
+        }
+        // No autovacuum or autoanalyze transaction may hold back the horizon of the VACUUM below
+        postgres = EmbeddedPostgres.builder().setServerConfig("autovacuum", "off").start();
+        context = new SpringApplicationBuilder(AssignmentApplication.class)
+            .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(
+                new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                            ? new ExplainingDataSource(dataSource) : bean;
+                    }
+                }))
+            .run(
+                "--spring.profiles.include=fast-startup",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                // The dataset is generated before the application is ready, and nothing writes after it:
+                // the featured ticker and the cart flusher do not run during the suite
+                "--seed.mode=sync",
+                "--featured.tick=1h",
+                "--cart.flush-interval=1h",
+                "--dataset.generator.enabled=true",
+                "--dataset.seed=" + DATASET.get("seed"),
+                "--dataset.products=" + DATASET.get("products"),
+                "--dataset.customers=" + DATASET.get("customers"),
+                "--dataset.ratings=" + DATASET.get("ratings"),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.com.example.assignment.plans=INFO"
+            );
+        // Vacuumed as autovacuum would once the load settles: the visibility map of the freshly written tables lets
+        // the counts and the covering indexes be answered from the index alone
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        jdbcTemplate.execute("VACUUM (FREEZE, ANALYZE)");
+        assertEquals(List.of(), jdbcTemplate.queryForList("""
+            SELECT relname FROM pg_class
+            WHERE relkind = 'r' AND relname = ANY(?) AND relallvisible < relpages ORDER BY relname
+            """, String.class, (Object) HOT_TABLES.toArray(String[]::new)),
+            "Tables not all-visible after the vacuum, the plans would depend on the heap");
+    }
+
+    @AfterAll
+    static void stopApplication() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+        if (UPDATE) {
+            new PlanBaseline(DATASET, captured).save(BASELINE);
+            log.info("Query plan baseline of {} scenarios written to {}", captured.size(), BASELINE.toAbsolutePath());
+        }
+    }
+
+    /**
+     * The scenarios, every one calling a listing or lookup with its arguments.
+     */
+    private static Map<String, Runnable> scenarios() {
+        ProductService productService = context.getBean(ProductService.class);
+        RatingService ratingService = context.getBean(RatingService.class);
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        UserService userService = context.getBean(UserService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        long products = DATASET.get("products");
+        long customers = DATASET.get("customers");
+        String email = DatasetGenerator.customerEmail(customers / 2);
+        Long customerId = userRepository.findByEmail(email).getId();
+
+        Map<String, Runnable> scenarios = new LinkedHashMap<>();
+        scenarios.put("products.all", () -> productService.getProducts(new ProductFilterReq(), 0, 20, "asc", "id"));
+        scenarios.put("products.name", () -> productService.getProducts(
+            ProductFilterReq.builder().name(DatasetGenerator.PRODUCT_NOUNS.get(0)).build(), 0, 20, "asc", "id"));
+        scenarios.put("products.active", () -> productService.getProducts(
+            ProductFilterReq.builder().isActive(true).build(), 0, 20, "asc", "id"));
+        scenarios.put("products.featured", () -> productService.getProducts(
+            ProductFilterReq.builder().featured(true).build(), 0, 20, "asc", "id"));
+        scenarios.put("products.category", () -> productService.getProducts(
+            ProductFilterReq.builder().categoryId(100L).build(), 0, 20, "asc", "id"));
+        scenarios.put("products.price-range", () -> productService.getProducts(
+            ProductFilterReq.builder().isActive(true).minPrice(100.0).maxPrice(101.0).build(), 0, 20, "asc", "id"));
+        scenarios.put("products.rating-range", () -> productService.getProducts(
+            ProductFilterReq.builder().isActive(true).minRating(4.9).maxRating(5.0).build(), 0, 20, "desc", "avgRating"));
+        scenarios.put("products.combined", () -> productService.getProducts(
+            ProductFilterReq.builder().isActive(true).categoryId(100L).minPrice(10.0).maxPrice(500.0).minRating(2.0).build(),
+            0, 20, "asc", "id"));
+        scenarios.put("products.sort-price", () -> productService.getProducts(
+            ProductFilterReq.builder().isActive(true).build(), 0, 20, "desc", "price"));
+        scenarios.put("products.deep-page", () -> productService.getProducts(
+            new ProductFilterReq(), (int) (products / 20 / 2), 20, "asc", "id"));
+        scenarios.put("product.by-id", () -> productService.getProductById(products / 2));
+        scenarios.put("ratings.all", () -> ratingService.getAllRatings(0, 20, "desc", "createdOn"));
+        scenarios.put("ratings.by-product", () -> ratingService.getRatingsByProductId(1L, 0, 20, "desc", "createdOn"));
+        scenarios.put("ratings.by-customer", () -> ratingService.getRatingsByCustomerId(
+            customerId, 0, 20, "desc", "createdOn"));
+        scenarios.put("users.by-email", () -> userRepository.findByEmail(email));
+        scenarios.put("users.exists-by-email", () -> userRepository.existsUserByEmail(email));
+        scenarios.put("users.page", () -> userService.getUsers(0, 20, "asc", "id"));
+        scenarios.put("categories.tree", categoryService::getCategoryTree);
+        scenarios.put("categories.top-level", categoryService::getTopLevelCategories);
+        scenarios.put("categories.sub-tree", () -> categoryService.getCategoryTreeByParentId(1L));
+        scenarios.put("categories.by-id", () -> categoryService.getCategoryById(1L));
+        return scenarios;
+    }
+
+    @TestFactory
+    @DisplayName("The queries of every scenario do not regress from the baseline plans")
+    Stream<DynamicTest> queryPlans_DoNotRegress() {
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        return scenarios().entrySet().stream().map(scenario -> DynamicTest.dynamicTest(scenario.getKey(), () -> {
+            // Every scenario reads the database, not the categories of the second-level cache
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+            List<StatementPlan> plans = ExplainingDataSource.capture(scenario.getValue());
+            captured.put(scenario.getKey(), plans);
+            assertFalse(plans.isEmpty(), "No query was run");
+            assertNoHotSeqScan(scenario.getKey(), plans);
+            if (!UPDATE) {
+                assertNoRegression(scenario.getKey(), plans);
+            }
+        }));
+    }
+
+    private static void assertNoHotSeqScan(String scenario, List<StatementPlan> plans) {
+        for (int i = 0; i < plans.size(); i++) {
+            StatementPlan plan = plans.get(i);
+            Set<String> hotSeqScans = new TreeSet<>(plan.seqScans());
+            hotSeqScans.retainAll(HOT_TABLES);
+            hotSeqScans.removeIf(table -> ALLOWED_SEQ_SCANS.containsKey(scenario + ":" + table));
+            if (!hotSeqScans.isEmpty()) {
+                fail(String.format("Query %d reads the hot tables %s with a sequential scan:%n%s%n%s",
+                    i, hotSeqScans, plan.sql(), plan.shape()));
+            }
+        }
+    }
+
+    private static void assertNoRegression(String scenario, List<StatementPlan> plans) {
+        List<StatementPlan> expected = baseline.scenarios().get(scenario);
+        assertNotNull(expected, "No baseline for " + scenario + ", rerun with -Dplans.update=true");
+        assertTrue(plans.size() <= expected.size(), () -> String.format(
+            "%d queries instead of %d:%n%s", plans.size(), expected.size(), String.join("\n", plans.stream().map(StatementPlan::sql).toList())));
+        // The n-th run of a query is compared with the n-th run of the same query in the baseline
+        Map<String, Deque<StatementPlan>> expectedBySql = new HashMap<>();
+        for (StatementPlan plan : expected) {
+            expectedBySql.computeIfAbsent(StatementPlan.normalize(plan.sql()), sql -> new ArrayDeque<>()).add(plan);
+        }
+        for (int i = 0; i < plans.size(); i++) {
+            StatementPlan plan = plans.get(i);
+            StatementPlan before = expectedBySql.getOrDefault(StatementPlan.normalize(plan.sql()), new ArrayDeque<>()).poll();
+            int query = i;
+            assertNotNull(before, () -> String.format(
+                "Query %d is not in the baseline, or runs more often than in the baseline:%n%s", query, plan.sql()));
+            List<String> regressions = new ArrayList<>();
+            Set<String> newSeqScans = new TreeSet<>(plan.seqScans());
+            newSeqScans.removeAll(before.seqScans());
+            if (!newSeqScans.isEmpty()) {
+                regressions.add("sequential scan of " + newSeqScans);
+            }
+            if (plan.spill()) {
+                regressions.add("spill to disk");
+            }
+            long maxBuffers = Math.max((long) (before.buffers() * BUFFER_FACTOR), before.buffers() + BUFFER_SLACK);
+            if (plan.buffers() > maxBuffers) {
+                regressions.add(String.format("%d buffers instead of %d", plan.buffers(), before.buffers()));
+            }
+            if (!plan.shape().equals(before.shape())) {
+                log.info("Plan of {} query {} changed from {} to {}", scenario, i, before.shape(), plan.shape());
+            }
+            if (!regressions.isEmpty()) {
+                fail(String.format("Query %d regressed (%s):%n%s%n%s", i, String.join(", ", regressions), plan.sql(), plan.shape()));
+            }
+        }
+    }
+}
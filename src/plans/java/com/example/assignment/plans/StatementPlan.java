@@ -0,0 +1,74 @@
+package com.example.assignment.plans;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The plan of a query, as kept in the baseline.
+ * @param sql the query, without the Hibernate comment
+ * @param shape the plan tree, as NodeType[relation:index](children...)
+ * @param buffers the shared blocks hit or read by the query
+ * @param seqScans the relations read with a sequential scan
+ * @param spill whether a sort or a hash spilled to disk
+ */
+public record StatementPlan(String sql, String shape, long buffers, Set<String> seqScans, boolean spill) {
+
+    /**
+     * Build the plan of a query from the root node of its EXPLAIN (FORMAT JSON).
+     * @param sql the query
+     * @param plan the root plan node
+     * @return the plan
+     */
+    public static StatementPlan of(String sql, JsonNode plan) {
+        Set<String> seqScans = new TreeSet<>();
+        boolean[] spill = {false};
+        String shape = shape(plan, seqScans, spill);
+        long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+        return new StatementPlan(withoutComment(sql), shape, buffers, seqScans, spill[0]);
+    }
+
+    private static String shape(JsonNode node, Set<String> seqScans, boolean[] spill) {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+        if (type.equals("Seq Scan")) {
+            seqScans.add(relation);
+        }
+        if (node.path("Sort Space Type").asText().equals("Disk") || node.path("Temp Written Blocks").asLong() > 0) {
+            spill[0] = true;
+        }
+        StringBuilder shape = new StringBuilder(type);
+        String index = node.path("Index Name").asText();
+        if (!relation.isEmpty() || !index.isEmpty()) {
+            shape.append('[').append(relation).append(index.isEmpty() ? "" : ":" + index).append(']');
+        }
+        if (node.has("Plans")) {
+            shape.append('(');
+            for (int i = 0; i < node.get("Plans").size(); i++) {
+                shape.append(i == 0 ? "" : ", ").append(shape(node.get("Plans").get(i), seqScans, spill));
+            }
+            shape.append(')');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * The key matching a query with its baseline: the query without comment, its whitespace collapsed and its IN lists
+     * of parameters reduced to one, so batches of a different size are the same query.
+     */
+    static String normalize(String sql) {
+        return withoutComment(sql).replaceAll("\\s+", " ").replaceAll("\\(\\?(?:, ?\\?)+\\)", "(?)");
+    }
+
+    /**
+     * Remove the leading comment added by hibernate.use_sql_comments, so that the query alone is compared.
+     */
+    static String withoutComment(String sql) {
+        String statement = sql.strip();
+        if (statement.startsWith("/*") && statement.contains("*/")) {
+            statement = statement.substring(statement.indexOf("*/") + 2).strip();
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.CartItemRes;
+import com.example.assignment.dto.response.CartRes;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.impl.CartServiceImpl;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the write-behind shopping cart to ensure:
+ * - Adding and removing items keeps the total without writing to the database
+ * - A flush writes only the changed carts, and a new instance loads them back
+ * - Items of products deactivated since they were added are dropped from the cart and its total
+ * - Stopping the service writes the pending changes
+ * - The store drops the least recently used written carts above its bound
+ */
+class CartServiceTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private CartServiceImpl cartService;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = DATABASE.getTestDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TestDatabase.insertCategory(jdbcTemplate, 1, "Electronics");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active)
+            VALUES (1, 'Phone', 199.99, 10, 1, true), (2, 'Cable', 0.1, 100, 1, true), (3, 'Old', 5, 1, 1, false)
+            """);
+        TestDatabase.insertCustomers(jdbcTemplate, 3);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM carts");
+        cartService = newCartService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartService.stop();
+    }
+
+    private static CartServiceImpl newCartService() {
+        CartServiceImpl service = new CartServiceImpl(dataSource, new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(service, "maxCarts", 100);
+        // Flushed explicitly by the tests
+        ReflectionTestUtils.setField(service, "flushInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(service, "priceMaxAge", Duration.ofMinutes(1));
+        service.start();
+        return service;
+    }
+
+    private static int count(String table) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("Adding and removing items updates the total in memory only")
+    void addRemove_TotalUpdated_NothingWritten() {
+        cartService.addItem(1L, 1L, 2);
+        for (int i = 0; i < 3; i++) {
+            cartService.addItem(1L, 2L, 1);
+        }
+        CartRes cart = cartService.removeItem(1L, 1L, 1);
+
+        assertEquals(200.29, cart.getTotal());
+        assertEquals(List.of(new CartItemRes(1L, 1, 199.99), new CartItemRes(2L, 3, 0.1)), cart.getItems());
+        assertEquals(0, count("carts"));
+
+        assertEquals(0.3, cartService.removeItem(1L, 1L, null).getTotal());
+        assertThrows(ResourceNotFoundException.class, () -> cartService.addItem(1L, 3L, 1));
+        assertThrows(ResourceNotFoundException.class, () -> cartService.addItem(99L, 1L, 1));
+        assertThrows(IllegalArgumentException.class, () -> cartService.addItem(1L, 2L, 997));
+    }
+
+    @Test
+    @DisplayName("A flush writes the changed carts in batches and a new instance loads them")
+    void flush_ChangedCarts_WrittenAndReloaded() {
+        cartService.addItem(1L, 1L, 1);
+        cartService.addItem(2L, 2L, 5);
+        cartService.addItem(3L, 1L, 2);
+        cartService.getCart(3L);
+
+        assertEquals(3, cartService.flush());
+        assertEquals(0, cartService.flush());
+        assertEquals(3, count("carts"));
+        assertEquals(600.47, jdbcTemplate.queryForObject("SELECT sum(total) FROM carts", Double.class), 1e-9);
+
+        cartService.clearCart(3L);
+        cartService.addItem(2L, 1L, 1);
+        assertEquals(2, cartService.flush());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM cart_items i JOIN carts c ON c.id = i.cart_id WHERE c.customer_id = 3", Integer.class));
+
+        CartServiceImpl restarted = newCartService();
+        CartRes reloaded = restarted.getCart(2L);
+        restarted.stop();
+        assertEquals(200.49, reloaded.getTotal());
+        assertEquals(List.of(new CartItemRes(2L, 5, 0.1), new CartItemRes(1L, 1, 199.99)), reloaded.getItems());
+    }
+
+    @Test
+    @DisplayName("Stopping the service writes the pending changes")
+    void stop_PendingChanges_Written() {
+        cartService.addItem(1L, 2L, 4);
+
+        cartService.stop();
+
+        assertEquals(1, count("carts"));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT quantity FROM cart_items", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Above its bound the store drops the least recently used written carts only")
+    void flush_AboveMaxCarts_LeastRecentlyUsedDropped() {
+        ReflectionTestUtils.setField(cartService, "maxCarts", 1);
+        cartService.addItem(1L, 1L, 1);
+        cartService.addItem(2L, 1L, 2);
+        cartService.flush();
+        cartService.addItem(3L, 1L, 3);
+
+        cartService.flush();
+
+        // Customer 3 is the only cart left in memory, the others are loaded again
+        jdbcTemplate.update("UPDATE cart_items SET quantity = 9 WHERE quantity IN (1, 3)");
+        assertEquals(9, cartService.getCart(1L).getItems().get(0).getQuantity());
+        assertEquals(3, cartService.getCart(3L).getItems().get(0).getQuantity());
+    }
+
+    @Test
+    @DisplayName("Items of a product deactivated since they were added are dropped from the total")
+    void flush_DeactivatedProduct_DroppedFromTotal() {
+        cartService.addItem(1L, 1L, 1);
+        cartService.addItem(1L, 2L, 2);
+        cartService.flush();
+        jdbcTemplate.update("UPDATE products SET is_active = false WHERE id = 1");
+        try {
+            assertEquals(1, cartService.flush());
+
+            CartRes cart = cartService.getCart(1L);
+            assertEquals(0.2, cart.getTotal());
+            assertEquals(List.of(new CartItemRes(2L, 2, 0.1)), cart.getItems());
+            assertEquals(0.2, jdbcTemplate.queryForObject("SELECT total FROM carts WHERE customer_id = 1", Double.class), 1e-9);
+            assertThrows(ResourceNotFoundException.class, () -> cartService.addItem(1L, 1L, 1));
+        } finally {
+            jdbcTemplate.update("UPDATE products SET is_active = true WHERE id = 1");
+        }
+    }
+}
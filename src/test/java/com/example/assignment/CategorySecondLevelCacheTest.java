@@ -0,0 +1,148 @@
+package com.example.assignment;
+
+import com.example.assignment.constant.CacheRegion;
+import com.example.assignment.dto.request.CategoryCreationReq;
+import com.example.assignment.dto.request.ProductFilterReq;
+import com.example.assignment.dto.response.CategoryTreeRes;
+import com.example.assignment.service.CategoryService;
+import com.example.assignment.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the second-level cache of the categories to ensure:
+ * - Listing pages do not query the categories table once the categories are cached
+ * - The cache hits are published per region
+ * - Category changes through the services are visible in the cached categories and sub-category collections
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "seed.mode=off",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.assignment.CategorySecondLevelCacheTest$StatementRecorder"
+})
+class CategorySecondLevelCacheTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class StatementRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(DATABASE, registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("""
+            INSERT INTO categories (id, name, parent_id)
+            VALUES (1, 'Electronics', NULL), (2, 'Books', NULL), (3, 'Phones', 1), (4, 'Novels', 2)
+            """);
+        jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('categories', 'id'), 100)");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active, is_featured, average_rating, rating_count)
+            SELECT i, 'Product ' || i, 10.0, 1, 3 + i % 2, true, false, 0, 0 FROM generate_series(1, 50) i
+            """);
+        // Written behind Hibernate
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        StatementRecorder.STATEMENTS.clear();
+    }
+
+    private static List<String> categoryStatements() {
+        return StatementRecorder.STATEMENTS.stream().filter(sql -> sql.contains("categories")).toList();
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.get("hibernate.second.level.cache.requests")
+            .tag("region", CacheRegion.CATEGORIES)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+
+    private static CategoryTreeRes find(List<CategoryTreeRes> trees, String name) {
+        return trees.stream().filter(tree -> tree.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Listing pages do not query the categories once they are cached")
+    void getProducts_CachedCategories_NoCategoryQuery() {
+        productService.getProducts(new ProductFilterReq(), 0, 20, "asc", "id");
+        assertFalse(categoryStatements().isEmpty());
+        double hits = cacheRequests("hit");
+
+        StatementRecorder.STATEMENTS.clear();
+        for (int page = 0; page < 2; page++) {
+            assertEquals(20, productService.getProducts(new ProductFilterReq(), page, 20, "asc", "id").getContent().size());
+        }
+        productService.getProducts(ProductFilterReq.builder().categoryId(4L).build(), 0, 20, "asc", "id");
+
+        assertFalse(StatementRecorder.STATEMENTS.isEmpty());
+        assertEquals(List.of(), categoryStatements());
+        assertTrue(cacheRequests("hit") > hits);
+    }
+
+    @Test
+    @DisplayName("Category changes are visible in the cached categories and sub-category collections")
+    void categoryWrites_UpdateCache() {
+        categoryService.getCategoryTree();
+        categoryService.getCategoryById(4L);
+
+        categoryService.updateCategoryById(4L, CategoryCreationReq.builder().name("Fiction").build());
+        categoryService.createCategory(CategoryCreationReq.builder().name("Laptops").parentId(1L).build());
+        categoryService.updateCategoryById(3L, CategoryCreationReq.builder().parentId(2L).build());
+
+        StatementRecorder.STATEMENTS.clear();
+        assertEquals("Fiction", categoryService.getCategoryById(4L).getName());
+        assertEquals(List.of(), categoryStatements());
+
+        List<CategoryTreeRes> tree = categoryService.getCategoryTree();
+        assertEquals(List.of("Laptops"), find(tree, "Electronics").getSubCategories().stream()
+            .map(CategoryTreeRes::getName).toList());
+        assertEquals(List.of("Fiction", "Phones"), find(tree, "Books").getSubCategories().stream()
+            .map(CategoryTreeRes::getName).sorted().toList());
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.request.CheckoutReq;
+import com.example.assignment.dto.response.OrderItemRes;
+import com.example.assignment.dto.response.OrderRes;
+import com.example.assignment.enums.OrderStatus;
+import com.example.assignment.exception.OutOfStockException;
+import com.example.assignment.exception.PriceChangedException;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.impl.CartServiceImpl;
+import com.example.assignment.service.impl.CheckoutServiceImpl;
+import com.example.assignment.service.impl.InventoryServiceImpl;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the checkout to ensure:
+ * - A checkout creates the order with its items and its summary, reserves the stock and empties the cart
+ * - A retried or concurrent checkout with the same idempotency key returns the first order
+ * - A changed total, missing stock or a foreign address leaves the stock and the cart untouched
+ */
+class CheckoutServiceTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private CartServiceImpl cartService;
+    private CheckoutServiceImpl checkoutService;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = DATABASE.getTestDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TestDatabase.insertCategory(jdbcTemplate, 1, "Electronics");
+        TestDatabase.insertCustomers(jdbcTemplate, 2);
+        TestDatabase.insertShippingAddresses(jdbcTemplate, 2);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active, image_url)
+            VALUES (1, 'Phone', 199.99, 10, 1, true, 'https://cdn.example.com/phone.jpg'), (2, 'Cable', 0.1, 2, 1, true, null)
+            """);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        cartService = new CartServiceImpl(dataSource, transactionManager);
+        ReflectionTestUtils.setField(cartService, "priceMaxAge", Duration.ofMinutes(1));
+        InventoryServiceImpl inventoryService = new InventoryServiceImpl(dataSource);
+        checkoutService = new CheckoutServiceImpl(dataSource, transactionManager, inventoryService, cartService);
+    }
+
+    private int stock(long productId) {
+        Integer quantity = jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ?", Integer.class, productId);
+        return quantity == null ? 0 : quantity;
+    }
+
+    private int orders() {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM orders", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("A checkout creates the order and its summary, reserves the stock and empties the cart")
+    void checkout_ValidCart_OrderCreated() {
+        cartService.addItem(1L, 1L, 2);
+        cartService.addItem(1L, 2L, 1);
+
+        OrderRes order = checkoutService.checkout(1L, "key-1", new CheckoutReq(1L, 400.08));
+
+        assertNotNull(order.getId());
+        assertFalse(order.isReplayed());
+        assertEquals(OrderStatus.PLACED, order.getStatus());
+        assertEquals(400.08, order.getTotal());
+        assertEquals(List.of(new OrderItemRes(1L, 2, 199.99), new OrderItemRes(2L, 1, 0.1)), order.getItems());
+        assertEquals(8, stock(1));
+        assertEquals(1, stock(2));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM order_items WHERE order_id = ?", Integer.class, order.getId()));
+        assertTrue(cartService.getCart(1L).getItems().isEmpty());
+        Map<String, Object> summary = jdbcTemplate.queryForMap("SELECT * FROM order_summaries WHERE order_id = ?", order.getId());
+        assertEquals(3, summary.get("item_count"));
+        assertEquals(400.08, summary.get("total"));
+        assertEquals("https://cdn.example.com/phone.jpg", summary.get("thumbnail_url"));
+    }
+
+    @Test
+    @DisplayName("A retried checkout returns the first order without reserving again")
+    void checkout_SameKey_Replayed() {
+        cartService.addItem(1L, 1L, 1);
+        OrderRes first = checkoutService.checkout(1L, "key-1", new CheckoutReq(1L, 199.99));
+
+        OrderRes retried = checkoutService.checkout(1L, "key-1", new CheckoutReq(1L, 0.0));
+
+        assertTrue(retried.isReplayed());
+        assertEquals(first.getId(), retried.getId());
+        assertEquals(first.getItems(), retried.getItems());
+        assertEquals(9, stock(1));
+        assertEquals(1, orders());
+    }
+
+    @Test
+    @DisplayName("Concurrent checkouts with the same key create a single order")
+    void checkout_ConcurrentSameKey_SingleOrder() throws Exception {
+        cartService.addItem(1L, 1L, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<OrderRes> orders = new ArrayList<>();
+        try {
+            List<Future<OrderRes>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> checkoutService.checkout(1L, "key-1", new CheckoutReq(1L, 199.99))));
+            }
+            for (Future<OrderRes> future : futures) {
+                orders.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, orders.stream().map(OrderRes::getId).distinct().count());
+        assertEquals(1, orders.stream().filter(order -> !order.isReplayed()).count());
+        assertEquals(9, stock(1));
+        assertEquals(1, orders());
+    }
+
+    @Test
+    @DisplayName("A changed total, missing stock or a foreign address places nothing")
+    void checkout_Refused_NothingPlaced() {
+        cartService.addItem(1L, 1L, 1);
+        cartService.addItem(1L, 2L, 3);
+
+        PriceChangedException priceChanged = assertThrows(PriceChangedException.class,
+            () -> checkoutService.checkout(1L, "key-1", new CheckoutReq(1L, 199.99)));
+        assertEquals(200.29, priceChanged.getTotal());
+        assertThrows(OutOfStockException.class, () -> checkoutService.checkout(1L, "key-1", new CheckoutReq(1L, 200.29)));
+        assertThrows(ResourceNotFoundException.class, () -> checkoutService.checkout(1L, "key-1", new CheckoutReq(2L, 200.29)));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(2L, "key-1", new CheckoutReq(2L, 0.0)));
+
+        assertEquals(0, orders());
+        assertEquals(10, stock(1));
+        assertEquals(2, stock(2));
+        assertEquals(2, cartService.getCart(1L).getItems().size());
+    }
+}
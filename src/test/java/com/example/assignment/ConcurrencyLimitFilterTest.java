@@ -0,0 +1,104 @@
+package com.example.assignment;
+
+import com.example.assignment.filter.ConcurrencyLimitFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ConcurrencyLimitFilter to ensure:
+ * - Requests within the limit are processed and release their permit
+ * - Requests over the limit are rejected with 503 after the acquire timeout
+ * - Asynchronous requests keep their permit until they complete
+ */
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Test
+    @DisplayName("Test request within the limit is processed")
+    void testRequestWithinLimitIsProcessed() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(response, never()).sendError(anyInt(), anyString());
+        assertEquals(0, filter.getInFlightRequests());
+    }
+
+    @Test
+    @DisplayName("Test request over the limit is rejected with 503")
+    void testRequestOverLimitIsRejected() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (req, res) -> {
+            inside.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        HttpServletRequest firstRequest = mock(HttpServletRequest.class);
+        HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(firstRequest, firstResponse, blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(response).sendError(503, "Service Unavailable");
+        verify(filterChain, never()).doFilter(request, response);
+        release.countDown();
+        holder.join();
+        assertEquals(0, filter.getInFlightRequests());
+    }
+
+    @Test
+    @DisplayName("Test asynchronous request keeps its permit until it completes")
+    void testAsyncRequestKeepsPermitUntilComplete() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest();
+        asyncRequest.setAsyncSupported(true);
+        MockHttpServletResponse asyncResponse = new MockHttpServletResponse();
+
+        filter.doFilter(asyncRequest, asyncResponse, (req, res) -> req.startAsync());
+
+        assertEquals(1, filter.getInFlightRequests());
+        filter.doFilter(request, response, filterChain);
+        verify(response).sendError(503, "Service Unavailable");
+
+        ((MockAsyncContext) asyncRequest.getAsyncContext()).complete();
+        assertEquals(0, filter.getInFlightRequests());
+    }
+}
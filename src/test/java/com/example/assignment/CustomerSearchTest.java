@@ -0,0 +1,143 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.service.CustomerService;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the customer search to ensure:
+ * - The search text matches a part of the email, first name, last name or phone number, ignoring case
+ * - Customers without a profile are found by their email, each customer once
+ * - The member tier filters the matches and an unknown tier is refused
+ * - The trigram indexes of the migrations serve the search
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "seed.mode=off",
+    "spring.jpa.show-sql=false"
+})
+class CustomerSearchTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(DATABASE, registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM user_profiles");
+        jdbcTemplate.update("DELETE FROM customers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("""
+            INSERT INTO users (id, email, role, is_active)
+            VALUES (1, 'minh.nguyen@example.com', 'CUSTOMER', true), (2, 'lan@example.com', 'CUSTOMER', true),
+                   (3, 'hoa_le@example.com', 'CUSTOMER', true), (4, 'admin@example.com', 'ADMIN', true)
+            """);
+        jdbcTemplate.update("INSERT INTO customers (id, member_tier) VALUES (1, 'COMMON'), (2, 'VIP'), (3, 'VIP')");
+        jdbcTemplate.update("""
+            INSERT INTO user_profiles (id, first_name, last_name, phone_number)
+            VALUES (1, 'Minh', 'Nguyen', '0901234567'), (2, 'Lan', 'Tran', '0907654321'), (4, 'Minh', 'Admin', '0900000000')
+            """);
+    }
+
+    private List<Long> search(String name, String memberTier) {
+        PagingRes<UserRes> page = customerService.getCustomers(name, memberTier, 0, 10, "asc", "id");
+        return page.getContent().stream().map(UserRes::getId).toList();
+    }
+
+    @Test
+    @DisplayName("The search matches the email, names and phone number of customers only")
+    void getCustomers_Text_Matched() {
+        assertEquals(List.of(1L), search("MINH", null));
+        assertEquals(List.of(2L), search("tran", null));
+        assertEquals(List.of(2L), search("7654", null));
+        assertEquals(List.of(1L, 2L, 3L), search("example.com", null));
+        assertEquals(List.of(1L, 2L, 3L), search(" ", null));
+        assertEquals(List.of(), search("nobody", null));
+    }
+
+    @Test
+    @DisplayName("Customers without a profile are found by email and like wildcards are literal")
+    void getCustomers_NoProfileOrWildcard_Matched() {
+        assertEquals(List.of(3L), search("hoa_", null));
+        assertEquals(List.of(), search("h_a", null));
+        assertEquals(List.of(), search("%", null));
+
+        UserRes customer = customerService.getCustomers("nguyen", null, 0, 10, "asc", "id").getContent().iterator().next();
+        assertEquals("Minh", customer.getFirstName());
+        assertEquals("Nguyen", customer.getLastName());
+    }
+
+    @Test
+    @DisplayName("The member tier filters the matches and an unknown tier is refused")
+    void getCustomers_Tier_Filtered() {
+        assertEquals(List.of(2L, 3L), search(null, "vip"));
+        assertEquals(List.of(2L), search("lan", "VIP"));
+        assertEquals(List.of(), search("minh", "VIP"));
+        assertEquals(2, customerService.getCustomers("example", "VIP", 0, 1, "asc", "id").getTotalElements());
+        assertThrows(IllegalArgumentException.class, () -> search(null, "GOLD"));
+
+        // The dotted capital I of the Turkish locale does not break the tier names
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(List.of(2L, 3L), search(null, "vip"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    @DisplayName("The trigram indexes serve the search")
+    void search_TrigramIndexes_Used() {
+        // The tables are tiny, the planner is told to use an index whenever one applies
+        String plan = jdbcTemplate.execute((Connection connection) -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder lines = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery("""
+                    EXPLAIN SELECT id FROM users WHERE lower(email) LIKE '%minh%'
+                    UNION ALL SELECT id FROM user_profiles
+                    WHERE lower(first_name) LIKE '%minh%' OR lower(last_name) LIKE '%minh%' OR phone_number LIKE '%minh%'
+                    """)) {
+                    while (resultSet.next()) {
+                        lines.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("RESET enable_seqscan");
+                return lines.toString();
+            }
+        });
+        assertNotNull(plan);
+        assertTrue(plan.contains("idx_users_email_trgm"), plan);
+        assertTrue(plan.contains("idx_user_profiles_first_name_trgm"), plan);
+        assertTrue(plan.contains("idx_user_profiles_last_name_trgm"), plan);
+        assertTrue(plan.contains("idx_user_profiles_phone_number_trgm"), plan);
+    }
+}
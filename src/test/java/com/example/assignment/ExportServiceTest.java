@@ -0,0 +1,121 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.dto.response.RatingExportRes;
+import com.example.assignment.entity.Product;
+import com.example.assignment.enums.DataFormat;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.mapper.UserMapper;
+import com.example.assignment.repository.CustomerRepository;
+import com.example.assignment.repository.ProductRepository;
+import com.example.assignment.repository.RatingRepository;
+import com.example.assignment.service.impl.ExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the streaming export to ensure:
+ * - NDJSON writes one JSON object per line
+ * - CSV writes a header line then one line per row, in field order
+ * - Every written entity is detached and the repository stream is closed
+ * - An empty table gives an empty NDJSON body and a header-only CSV
+ */
+class ExportServiceTest {
+    private ProductRepository productRepository;
+    private RatingRepository ratingRepository;
+    private ProductMapper productMapper;
+    private EntityManager entityManager;
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        ratingRepository = mock(RatingRepository.class);
+        productMapper = mock(ProductMapper.class);
+        entityManager = mock(EntityManager.class);
+        exportService = new ExportServiceImpl(productRepository, mock(CustomerRepository.class), ratingRepository,
+            productMapper, mock(UserMapper.class), new ObjectMapper());
+        ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+    }
+
+    private Product product(long id) {
+        Product product = mock(Product.class);
+        when(productMapper.toDto(product)).thenReturn(ProductRes.builder()
+            .id(id).name("Product " + id).price(9.5).isActive(true).avgRating(4.0).ratingCount(2L).build());
+        return product;
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one object per line and detaches every entity")
+    void exportProducts_Ndjson_OneObjectPerLine() throws IOException {
+        Product first = product(1);
+        Product second = product(2);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(productRepository.streamAllByOrderById()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportProducts(DataFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Product 1\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"Product 2\""));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("CSV export writes a header then one line per row")
+    void exportRatings_Csv_HeaderAndRows() throws IOException {
+        when(ratingRepository.streamExportRows()).thenReturn(Stream.of(
+            new RatingExportRes(1L, 4.0, "Good, cheap", 10L, 20L, null, null),
+            new RatingExportRes(2L, 5.0, null, 11L, 21L, null, null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportRatings(DataFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,score,comment,productId,customerId,createdOn,updatedOn", lines[0]);
+        assertEquals("1,4.0,\"Good, cheap\",10,20,,", lines[1]);
+        assertEquals("2,5.0,,11,21,,", lines[2]);
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    @DisplayName("Empty tables give an empty NDJSON body and a header-only CSV")
+    void export_EmptyTable() throws IOException {
+        when(productRepository.streamAllByOrderById()).thenReturn(Stream.empty(), Stream.empty());
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        exportService.exportProducts(DataFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.exportProducts(DataFormat.CSV, csv);
+
+        assertEquals(0, ndjson.size());
+        assertEquals("id,name,price,imageUrl,isActive,avgRating,ratingCount\n", csv.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Unknown formats are rejected")
+    void fromValue_Invalid_Throws() {
+        assertEquals(DataFormat.CSV, DataFormat.fromValue("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> DataFormat.fromValue("xml"));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.request.FeatureWindowReq;
+import com.example.assignment.dto.response.FeatureWindowRes;
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.entity.Product;
+import com.example.assignment.enums.ProductPriority;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.repository.ProductRepository;
+import com.example.assignment.service.ResponseCacheService;
+import com.example.assignment.service.impl.FeaturedProductServiceImpl;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the featured product windows to ensure:
+ * - A product is featured on the first tick after its window starts and unfeatured after it ends
+ * - The windows started or ended while stopped are applied on startup
+ * - The snapshot lists the featured products by window priority, and is rebuilt after a change
+ */
+class FeaturedProductServiceTest {
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private FeaturedProductServiceImpl featuredProductService;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = DATABASE.getTestDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TestDatabase.insertCategory(jdbcTemplate, 1, "Electronics");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM feature_products");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active, is_featured, average_rating)
+            SELECT n, 'Product ' || n, 10, 10, 1, true, false, n FROM generate_series(1, 5) n
+            """);
+        // The products are only needed by id, the repository and the mapper are not under test
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Product> products = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                Product product = new Product();
+                product.setId((Long) id);
+                products.add(product);
+            }
+            return products;
+        });
+        ProductMapper productMapper = mock(ProductMapper.class);
+        when(productMapper.toDto(any(Product.class))).thenAnswer(invocation ->
+            ProductRes.builder().id(invocation.<Product>getArgument(0).getId()).build());
+        featuredProductService = new FeaturedProductServiceImpl(dataSource, new DataSourceTransactionManager(dataSource),
+            productRepository, productMapper, mock(ResponseCacheService.class));
+        // The ticker does not run during the tests, the ticks are given explicitly
+        ReflectionTestUtils.setField(featuredProductService, "tick", Duration.ofHours(1));
+        ReflectionTestUtils.setField(featuredProductService, "wheelSize", 8);
+        ReflectionTestUtils.setField(featuredProductService, "wheelLevels", 2);
+        ReflectionTestUtils.setField(featuredProductService, "limit", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        featuredProductService.stop();
+    }
+
+    private boolean featured(long productId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT is_featured FROM products WHERE id = ?", Boolean.class, productId));
+    }
+
+    private void tick(long nowMillis) {
+        ReflectionTestUtils.invokeMethod(featuredProductService, "tick", nowMillis);
+    }
+
+    private List<Long> snapshot() {
+        return featuredProductService.getFeaturedProducts().stream().map(ProductRes::getId).toList();
+    }
+
+    private static FeatureWindowReq window(long start, Long end, ProductPriority priority) {
+        return new FeatureWindowReq(new Date(start), end == null ? null : new Date(end), priority);
+    }
+
+    @Test
+    @DisplayName("A product is featured when its window starts and unfeatured when it ends")
+    void tick_WindowEdges_Flipped() {
+        featuredProductService.start();
+        long now = System.currentTimeMillis();
+
+        FeatureWindowRes scheduled = featuredProductService.scheduleFeature(1L, window(now + 2 * HOUR, now + 20 * HOUR, ProductPriority.HIGH));
+
+        assertFalse(scheduled.isFeatured());
+        tick(now + HOUR);
+        assertFalse(featured(1));
+        tick(now + 3 * HOUR);
+        assertTrue(featured(1));
+        assertEquals(List.of(1L), snapshot());
+        tick(now + 19 * HOUR);
+        assertTrue(featured(1));
+        tick(now + 21 * HOUR);
+        assertFalse(featured(1));
+        assertEquals(List.of(), snapshot());
+    }
+
+    @Test
+    @DisplayName("A replaced or removed window leaves the product as its current window says")
+    void tick_ReplacedWindow_PreviousEdgesIgnored() {
+        featuredProductService.start();
+        long now = System.currentTimeMillis();
+        featuredProductService.scheduleFeature(1L, window(now + 2 * HOUR, null, ProductPriority.LOW));
+        featuredProductService.scheduleFeature(2L, window(now - HOUR, null, ProductPriority.LOW));
+
+        FeatureWindowRes replaced = featuredProductService.scheduleFeature(1L, window(now + 10 * HOUR, null, ProductPriority.LOW));
+        featuredProductService.removeFeature(2L);
+        tick(now + 3 * HOUR);
+
+        assertFalse(replaced.isFeatured());
+        assertFalse(featured(1));
+        assertFalse(featured(2));
+        tick(now + 11 * HOUR);
+        assertTrue(featured(1));
+        assertThrows(ResourceNotFoundException.class, () -> featuredProductService.removeFeature(2L));
+        assertThrows(ResourceNotFoundException.class,
+            () -> featuredProductService.scheduleFeature(99L, window(now, null, ProductPriority.LOW)));
+        assertThrows(IllegalArgumentException.class,
+            () -> featuredProductService.scheduleFeature(1L, window(now, now - HOUR, ProductPriority.LOW)));
+    }
+
+    @Test
+    @DisplayName("The windows started or ended while stopped are applied on startup, the upcoming ones scheduled")
+    void start_MissedWindows_Applied() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update("UPDATE products SET is_featured = true WHERE id IN (2, 3)");
+        jdbcTemplate.update("""
+            INSERT INTO feature_products (id, start_date, end_date, priority)
+            VALUES (1, ?, NULL, 'HIGH'), (2, ?, ?, 'HIGH'), (3, ?, ?, 'HIGH')
+            """, new Timestamp(now - HOUR), new Timestamp(now - 2 * HOUR), new Timestamp(now - HOUR),
+            new Timestamp(now - HOUR), new Timestamp(now + 2 * HOUR));
+
+        featuredProductService.start();
+
+        assertTrue(featured(1));
+        assertFalse(featured(2));
+        assertTrue(featured(3));
+        tick(now + 3 * HOUR);
+        assertFalse(featured(3));
+    }
+
+    @Test
+    @DisplayName("The snapshot lists the featured products by priority, then the ones featured by hand")
+    void getFeaturedProducts_ByPriority() {
+        featuredProductService.start();
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update("UPDATE products SET is_featured = true WHERE id = 5");
+        featuredProductService.refresh();
+        assertEquals(List.of(5L), snapshot());
+
+        featuredProductService.scheduleFeature(1L, window(now - HOUR, null, ProductPriority.LOW));
+        featuredProductService.scheduleFeature(2L, window(now - HOUR, null, ProductPriority.HIGH));
+        featuredProductService.scheduleFeature(3L, window(now - HOUR, null, ProductPriority.MEDIUM));
+        featuredProductService.scheduleFeature(4L, window(now - HOUR, null, ProductPriority.MEDIUM));
+
+        assertEquals(List.of(2L, 4L, 3L), snapshot());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.assignment;
+
+import com.example.assignment.exception.OutOfStockException;
+import com.example.assignment.service.impl.InventoryServiceImpl;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the inventory reservations to ensure:
+ * - A multi-product reservation takes all units or none
+ * - Split stock is reserved from single slots and across slots when no slot holds enough
+ * - Concurrent reservations of a hot product never oversell
+ * - Released, split and restocked stock keeps its total
+ * - Releases racing with splits lose no units
+ */
+class InventoryServiceTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private InventoryServiceImpl inventoryService;
+    private TransactionTemplate transaction;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = DATABASE.getTestDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TestDatabase.insertCategory(jdbcTemplate, 1, "Electronics");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id)
+            VALUES (1, 'Phone', 100, 10, 1), (2, 'Laptop', 900, 2, 1), (3, 'Console', 400, 1000, 1)
+            """);
+        inventoryService = new InventoryServiceImpl(dataSource);
+        ReflectionTestUtils.setField(inventoryService, "maxSlots", 16);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private void reserve(Map<Long, Integer> quantities) {
+        transaction.executeWithoutResult(status -> inventoryService.reserve(quantities));
+    }
+
+    private int quantity(long productId) {
+        return inventoryService.getAvailableQuantity(productId);
+    }
+
+    @Test
+    @DisplayName("A reservation of several products takes every unit")
+    void reserve_EnoughStock_Reserved() {
+        reserve(Map.of(1L, 3, 2L, 2));
+
+        assertEquals(7, quantity(1));
+        assertEquals(0, quantity(2));
+    }
+
+    @Test
+    @DisplayName("A reservation with one product out of stock reserves nothing")
+    void reserve_OneOutOfStock_NothingReserved() {
+        OutOfStockException exception = assertThrows(OutOfStockException.class, () -> reserve(Map.of(1L, 3, 2L, 3)));
+
+        assertEquals(List.of(2L), exception.getProductIds());
+        assertEquals(10, quantity(1));
+        assertEquals(2, quantity(2));
+    }
+
+    @Test
+    @DisplayName("Split stock is reserved from any slot, then across slots, but never below zero")
+    void reserve_SplitStock_ReservedAcrossSlots() {
+        transaction.executeWithoutResult(status -> inventoryService.splitStock(1L, 4));
+        // Slot 0 (the product) keeps the remainder of 10 / 4
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = 1", Integer.class));
+        assertEquals(List.of(2, 2, 2),
+            jdbcTemplate.queryForList("SELECT quantity FROM inventory_slots WHERE product_id = 1 ORDER BY slot", Integer.class));
+        assertEquals(10, quantity(1));
+
+        reserve(Map.of(1L, 1));
+        reserve(Map.of(1L, 8));
+        assertEquals(1, quantity(1));
+        assertThrows(OutOfStockException.class, () -> reserve(Map.of(1L, 2)));
+        assertEquals(1, quantity(1));
+    }
+
+    @Test
+    @DisplayName("Concurrent reservations of a hot product sell exactly its stock")
+    void reserve_Concurrent_NeverOversells() throws Exception {
+        transaction.executeWithoutResult(status -> inventoryService.splitStock(3L, 4));
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1200; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        reserve(Map.of(3L, 1));
+                        reserved.incrementAndGet();
+                    } catch (OutOfStockException e) {
+                        // expected once the stock is sold out
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, reserved.get());
+        assertEquals(0, quantity(3));
+    }
+
+    @Test
+    @DisplayName("Releases racing with splits that remove their slot lose no units")
+    void release_ConcurrentSplits_NoUnitLost() throws Exception {
+        transaction.executeWithoutResult(status -> inventoryService.splitStock(1L, 16));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int slots = i % 2 == 0 ? 2 : 16;
+                futures.add(executor.submit(i % 4 == 0
+                    ? () -> transaction.executeWithoutResult(status -> inventoryService.splitStock(1L, slots))
+                    : () -> transaction.executeWithoutResult(status -> inventoryService.release(Map.of(1L, 1)))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(10 + 300, quantity(1));
+    }
+
+    @Test
+    @DisplayName("Released, split and restocked stock keeps its total")
+    void releaseSplitRestock_KeepTotal() {
+        transaction.executeWithoutResult(status -> inventoryService.splitStock(1L, 3));
+        transaction.executeWithoutResult(status -> inventoryService.release(Map.of(1L, 5, 2L, 1)));
+        assertEquals(15, quantity(1));
+        assertEquals(3, quantity(2));
+
+        transaction.executeWithoutResult(status -> inventoryService.restock(1L, 7));
+        assertEquals(7, quantity(1));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM inventory_slots WHERE product_id = 1", Integer.class));
+
+        transaction.executeWithoutResult(status -> inventoryService.splitStock(1L, 1));
+        assertEquals(7, jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = 1", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM inventory_slots WHERE product_id = 1", Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.splitStock(1L, 17));
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.getAvailableQuantity(99L));
+    }
+}
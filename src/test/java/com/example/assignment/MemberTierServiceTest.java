@@ -0,0 +1,167 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.MemberTierRunRes;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.impl.MemberTierServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the member tier recalculation to ensure:
+ * - The tiers follow the order totals and rating counts inside the window
+ * - Only the customers whose tier changed are updated, and the metrics count them
+ * - An unfinished run resumes with the chunks it has not completed
+ * - The spend of a chunk of customers is read from the orders index
+ */
+class MemberTierServiceTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MemberTierServiceImpl memberTierService;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = DATABASE.getTestDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TestDatabase.insertCategory(jdbcTemplate, 1, "Electronics");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, quantity, category_id, is_active) VALUES (1, 'Phone', 10, 10, 1, true)");
+        TestDatabase.insertCustomers(jdbcTemplate, 5);
+        TestDatabase.insertShippingAddresses(jdbcTemplate, 5);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM member_tier_runs");
+        jdbcTemplate.update("DELETE FROM ratings");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("UPDATE customers SET member_tier = 'COMMON'");
+        // 1: VIP by spend, 2: PREMIUM by spend, 3: PREMIUM by ratings, 4: spend outside the window, 5: nothing
+        order(1, 4000, 1);
+        order(1, 1500, 10);
+        order(2, 1200, 30);
+        order(4, 9000, 400);
+        jdbcTemplate.update("""
+            INSERT INTO ratings (score, customer_id, product_id, created_on)
+            SELECT 5, 3, 1, now() - interval '1 day' FROM generate_series(1, 10)
+            """);
+
+        meterRegistry = new SimpleMeterRegistry();
+        memberTierService = new MemberTierServiceImpl(dataSource, meterRegistry);
+        ReflectionTestUtils.setField(memberTierService, "window", Duration.ofDays(365));
+        ReflectionTestUtils.setField(memberTierService, "chunkSize", 2);
+        ReflectionTestUtils.setField(memberTierService, "workers", 2);
+        ReflectionTestUtils.setField(memberTierService, "premiumSpend", 1000.0);
+        ReflectionTestUtils.setField(memberTierService, "vipSpend", 5000.0);
+        ReflectionTestUtils.setField(memberTierService, "premiumRatings", 10);
+    }
+
+    private static void order(long customerId, double total, int daysAgo) {
+        jdbcTemplate.update("""
+            INSERT INTO orders (customer_id, shipping_address_id, total, status, created_on)
+            VALUES (?, ?, ?, 'COMPLETED', now() - make_interval(days => ?))
+            """, customerId, customerId, total, daysAgo);
+    }
+
+    private static List<String> tiers() {
+        return jdbcTemplate.queryForList("SELECT member_tier FROM customers ORDER BY id", String.class);
+    }
+
+    @Test
+    @DisplayName("The tiers follow the spend and rating activity in the window, only changes are written")
+    void recalculate_Customers_TiersUpdated() {
+        jdbcTemplate.update("UPDATE customers SET member_tier = 'VIP' WHERE id = 1");
+
+        MemberTierRunRes run = memberTierService.recalculate();
+
+        assertEquals(List.of("VIP", "PREMIUM", "PREMIUM", "COMMON", "COMMON"), tiers());
+        assertNotNull(run.getFinishedOn());
+        assertEquals(3, run.getChunks());
+        assertEquals(3, run.getCompletedChunks());
+        assertEquals(5, run.getCustomers());
+        assertEquals(2, run.getChanged());
+        assertEquals(5, meterRegistry.counter("member.tier.recalculation.customers").count());
+        assertEquals(2, meterRegistry.counter("member.tier.recalculation.changed").count());
+        assertEquals(run, memberTierService.getLatestRun());
+
+        // A customer losing its spend goes back to COMMON
+        jdbcTemplate.update("DELETE FROM orders WHERE customer_id = 2");
+        assertEquals(1, memberTierService.recalculate().getChanged());
+        assertEquals(List.of("VIP", "COMMON", "PREMIUM", "COMMON", "COMMON"), tiers());
+    }
+
+    @Test
+    @DisplayName("An unfinished run resumes with the chunks it has not completed")
+    void recalculate_UnfinishedRun_Resumed() {
+        Long runId = jdbcTemplate.queryForObject("""
+            INSERT INTO member_tier_runs (as_of, first_customer_id, last_customer_id, chunk_size, started_on)
+            VALUES (now(), 1, 4, 2, now()) RETURNING id
+            """, Long.class);
+        // Customers 1 and 2 were completed before the restart
+        jdbcTemplate.update("""
+            INSERT INTO member_tier_run_chunks (run_id, first_customer_id, customers, changed, completed_on)
+            VALUES (?, 1, 2, 0, now())
+            """, runId);
+
+        MemberTierRunRes run = memberTierService.recalculate();
+
+        assertEquals(runId, run.getId());
+        assertEquals(2, run.getChunks());
+        assertEquals(4, run.getCustomers());
+        assertEquals(1, run.getChanged());
+        // Neither the completed chunk nor the customer beyond the range of the run are recalculated
+        assertEquals(List.of("COMMON", "COMMON", "PREMIUM", "COMMON", "COMMON"), tiers());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM member_tier_run_chunks WHERE run_id = ?", Integer.class, runId));
+    }
+
+    @Test
+    @DisplayName("Without any run there is no progress to report")
+    void getLatestRun_NoRun_NotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> memberTierService.getLatestRun());
+    }
+
+    @Test
+    @DisplayName("The spend of a chunk of customers is read from the orders index")
+    void spendOfChunk_UsesIndex() {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // The few orders of the test would be read with a sequential scan whatever the indexes
+                statement.execute("VACUUM ANALYZE orders");
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder lines = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery("""
+                    EXPLAIN SELECT customer_id, sum(total) AS total FROM orders
+                    WHERE customer_id BETWEEN 1 AND 2 AND created_on >= now() - interval '1 year' AND created_on < now()
+                    GROUP BY customer_id
+                    """)) {
+                    while (resultSet.next()) {
+                        lines.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return lines.toString();
+            }
+        });
+
+        assertFalse(plan.contains("Seq Scan on orders"), plan);
+        assertTrue(plan.contains("idx_orders_customer_created"), plan);
+    }
+}
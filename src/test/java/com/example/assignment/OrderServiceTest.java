@@ -0,0 +1,84 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.CursorPageRes;
+import com.example.assignment.dto.response.OrderSummaryRes;
+import com.example.assignment.enums.OrderStatus;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.service.impl.OrderServiceImpl;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the order history to ensure:
+ * - The keyset pages list the orders of one customer newest first, without gaps or duplicates on equal dates
+ * - Invalid cursors and page sizes are refused
+ * - A status change updates the order and its summary
+ */
+class OrderServiceTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static JdbcTemplate jdbcTemplate;
+    private static OrderServiceImpl orderService;
+
+    @BeforeAll
+    static void seed() {
+        jdbcTemplate = new JdbcTemplate(DATABASE.getTestDatabase());
+        TestDatabase.insertCustomers(jdbcTemplate, 2);
+        TestDatabase.insertShippingAddresses(jdbcTemplate, 2);
+        // Orders 1 to 7 of customer 1, two by two on the same date, and order 8 of customer 2
+        jdbcTemplate.update("""
+            INSERT INTO orders (id, customer_id, shipping_address_id, total, status, created_on)
+            SELECT n, CASE WHEN n = 8 THEN 2 ELSE 1 END, CASE WHEN n = 8 THEN 2 ELSE 1 END, n, 'PLACED',
+                   timestamp '2026-01-01 10:00:00.123456' + (n / 2) * interval '1 day'
+            FROM generate_series(1, 8) n
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO order_summaries (order_id, customer_id, created_on, status, total, item_count)
+            SELECT id, customer_id, created_on, status, total, 1 FROM orders
+            """);
+        orderService = new OrderServiceImpl(DATABASE.getTestDatabase());
+    }
+
+    @Test
+    @DisplayName("The pages list the orders of the customer newest first")
+    void getOrderHistory_Pages_NewestFirst() {
+        List<Long> orderIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageRes<OrderSummaryRes> page = orderService.getOrderHistory(1L, cursor, 2);
+            page.getContent().forEach(order -> orderIds.add(order.getOrderId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L), orderIds);
+        assertEquals(4, pages);
+        assertEquals(List.of(8L), orderService.getOrderHistory(2L, null, 20).getContent().stream()
+            .map(OrderSummaryRes::getOrderId).toList());
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderHistory(1L, "not-a-cursor", 2));
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderHistory(1L, null, 101));
+    }
+
+    @Test
+    @DisplayName("A status change updates the order and its summary")
+    void updateOrderStatus_UpdatesSummary() {
+        orderService.updateOrderStatus(3L, "delivering");
+
+        assertEquals("DELIVERING", jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = 3", String.class));
+        assertEquals(OrderStatus.DELIVERING, orderService.getOrderHistory(1L, null, 20).getContent().stream()
+            .filter(order -> order.getOrderId() == 3L).findFirst().orElseThrow().getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrderStatus(99L, "completed"));
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateOrderStatus(3L, "lost"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.RatingRes;
+import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.entity.Rating;
+import com.example.assignment.service.PagingService;
+import com.example.assignment.service.RatingService;
+import com.example.assignment.service.UserService;
+import com.example.assignment.util.FetchPlan;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the fetch plans of the paged listings to ensure:
+ * - A page of 100 users is read with its profiles in the page query, without one query per user
+ * - A page of 100 ratings, of a product, of a customer or of all ratings, is read with the customers and their profiles
+ * - A batch fetch plan loads the associations of a page with one query per association and batch
+ * - The pages are mapped as before (customer names, product ids)
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "seed.mode=off",
+    "spring.jpa.show-sql=false"
+})
+class PagingFetchPlanTest {
+    private static final int ROWS = 100;
+
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private PagingService<RatingRes, Rating> ratingPagingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(DATABASE, registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM ratings");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM user_profiles");
+        jdbcTemplate.update("DELETE FROM customers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("""
+            INSERT INTO users (id, email, role, is_active)
+            SELECT i, 'customer-' || i || '@example.com', 'CUSTOMER', true FROM generate_series(1, ?) i
+            """, ROWS);
+        jdbcTemplate.update("INSERT INTO customers (id, member_tier) SELECT i, 'COMMON' FROM generate_series(1, ?) i", ROWS);
+        jdbcTemplate.update("""
+            INSERT INTO user_profiles (id, first_name, last_name, phone_number)
+            SELECT i, 'First ' || i, 'Last ' || i, '09' || lpad(i::text, 8, '0') FROM generate_series(1, ?) i
+            """, ROWS);
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Books')");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active, is_featured, average_rating, rating_count)
+            SELECT i, 'Product ' || i, 10.0, 1, 1, true, false, 0, 0 FROM generate_series(1, ?) i
+            """, ROWS);
+        // Every customer rates product 1, and customer 1 rates every product
+        jdbcTemplate.update("""
+            INSERT INTO ratings (score, comment, customer_id, product_id, created_on)
+            SELECT 5, 'Great', i, 1, now() - i * interval '1 minute' FROM generate_series(1, ?) i
+            UNION ALL
+            SELECT 4, 'Good', 1, i, now() - i * interval '1 hour' FROM generate_series(2, ?) i
+            """, ROWS, ROWS);
+    }
+
+    /**
+     * Run a listing and return the number of statements it prepared.
+     */
+    private long statements(Supplier<PagingRes<?>> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        PagingRes<?> page = listing.get();
+        assertEquals(ROWS, page.getContent().size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("A page of 100 users takes the page and count queries, with the profiles mapped")
+    void getUsers_FetchesProfilesWithThePage() {
+        assertEquals(2, statements(() -> userService.getUsers(0, ROWS, "asc", "id")));
+
+        UserRes user = userService.getUsers(0, ROWS, "asc", "id").getContent().iterator().next();
+        assertEquals("First 1", user.getFirstName());
+        assertEquals("Last 1", user.getLastName());
+    }
+
+    @Test
+    @DisplayName("A page of 100 ratings takes a constant number of queries, with the customers and product ids mapped")
+    void getRatings_FetchCustomersWithThePage() {
+        // The existence check, the page and the count
+        assertEquals(3, statements(() -> ratingService.getRatingsByProductId(1L, 0, ROWS, "desc", "createdOn")));
+        assertEquals(3, statements(() -> ratingService.getRatingsByCustomerId(1L, 0, ROWS, "desc", "createdOn")));
+        assertEquals(2, statements(() -> ratingService.getAllRatings(0, ROWS, "desc", "createdOn")));
+
+        RatingRes rating = ratingService.getRatingsByProductId(1L, 0, ROWS, "desc", "createdOn").getContent().iterator().next();
+        assertEquals(1L, rating.getProductId());
+        assertEquals("First 1", rating.getCustomer().getFirstName());
+    }
+
+    @Test
+    @DisplayName("A batch fetch plan loads the associations of a page in batches")
+    void getMany_WithBatchSize_LoadsAssociationsInBatches() {
+        long unbatched = statements(() -> transactionTemplate.execute(status ->
+            ratingPagingService.getMany(null, FetchPlan.DEFAULT, 0, ROWS, "desc", "createdOn")));
+        long batched = statements(() -> transactionTemplate.execute(status ->
+            ratingPagingService.getMany(null, FetchPlan.batch(ROWS), 0, ROWS, "desc", "createdOn")));
+
+        assertTrue(unbatched > ROWS, "Expected one query per row without a fetch plan, was " + unbatched);
+        // The page, the count and the customers with their profiles, the product proxies only give their ids
+        assertEquals(3, batched);
+    }
+
+    @Test
+    @DisplayName("A batch size below 1 is refused")
+    void batch_WithInvalidSize_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> FetchPlan.batch(0));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.request.ProductBulkUpdateReq;
+import com.example.assignment.dto.request.ProductFilterReq;
+import com.example.assignment.dto.response.ProductBulkUpdateRes;
+import com.example.assignment.service.ProductService;
+import com.example.assignment.service.ResponseCacheService;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the bulk product updates to ensure:
+ * - Products selected by ids (over several statements) or by filter are updated with one change
+ * - Prices are set or multiplied and rounded to cents, the updated date moves forward
+ * - The cached featured products are evicted after the commit
+ * - Invalid requests are rejected without updating anything
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "seed.mode=off",
+    "spring.jpa.show-sql=false"
+})
+class ProductBulkUpdateTest {
+    private static final long PRODUCTS = 25_000;
+
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(DATABASE, registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Electronics'), (2, 'Books')");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active, is_featured, updated_on)
+            SELECT i, 'Product ' || i, 10.0, 1, CASE WHEN i % 2 = 0 THEN 1 ELSE 2 END, true, false, '2024-01-01'
+            FROM generate_series(1, ?) i
+            """, PRODUCTS);
+    }
+
+    private long count(String where) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM products WHERE " + where, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("Products selected by ids are updated in chunks")
+    void bulkUpdate_ByIds_UpdatesSelected() {
+        List<Long> ids = LongStream.rangeClosed(1, 12_000).boxed().toList();
+
+        ProductBulkUpdateRes result = productService.bulkUpdateProducts(ProductBulkUpdateReq.builder()
+            .ids(ids).featured(true).price(5.0).build());
+
+        assertEquals(12_000, result.getAffected());
+        assertEquals(12_000, count("is_featured AND price = 5.0 AND updated_on > '2024-01-01'"));
+        assertEquals(PRODUCTS - 12_000, count("NOT is_featured AND price = 10.0 AND updated_on = '2024-01-01'"));
+    }
+
+    @Test
+    @DisplayName("Products selected by filter are repriced and moved to another category")
+    void bulkUpdate_ByFilter_RepricesAndMoves() {
+        ProductBulkUpdateRes result = productService.bulkUpdateProducts(ProductBulkUpdateReq.builder()
+            .filter(ProductFilterReq.builder().categoryId(1L).build())
+            .priceFactor(1.115)
+            .categoryId(2L)
+            .build());
+
+        assertEquals(PRODUCTS / 2, result.getAffected());
+        assertEquals(PRODUCTS / 2, count("price = 11.15"));
+        assertEquals(0, count("category_id = 1"));
+    }
+
+    @Test
+    @DisplayName("The cached featured products are rebuilt after a bulk update")
+    void bulkUpdate_EvictsFeaturedProducts() {
+        AtomicInteger builds = new AtomicInteger();
+        responseCacheService.get(ResponseCacheService.FEATURED_PRODUCTS, builds::incrementAndGet);
+        responseCacheService.get(ResponseCacheService.FEATURED_PRODUCTS, builds::incrementAndGet);
+        assertEquals(1, builds.get());
+
+        productService.bulkUpdateProducts(ProductBulkUpdateReq.builder().ids(List.of(1L)).featured(true).build());
+        responseCacheService.get(ResponseCacheService.FEATURED_PRODUCTS, builds::incrementAndGet);
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    @DisplayName("Requests without a selection, a change or with an unknown category are rejected")
+    void bulkUpdate_Invalid_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> productService.bulkUpdateProducts(
+            ProductBulkUpdateReq.builder().featured(true).build()));
+        assertThrows(IllegalArgumentException.class, () -> productService.bulkUpdateProducts(
+            ProductBulkUpdateReq.builder().ids(List.of(1L)).build()));
+        assertThrows(IllegalArgumentException.class, () -> productService.bulkUpdateProducts(
+            ProductBulkUpdateReq.builder().ids(List.of(1L)).price(1.0).priceFactor(2.0).build()));
+        assertThrows(IllegalArgumentException.class, () -> productService.bulkUpdateProducts(
+            ProductBulkUpdateReq.builder().ids(List.of(1L)).categoryId(99L).build()));
+
+        assertEquals(PRODUCTS, count("updated_on = '2024-01-01'"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.ProductImportRes;
+import com.example.assignment.enums.DataFormat;
+import com.example.assignment.repository.CategoryRepository;
+import com.example.assignment.service.impl.ProductImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the bulk product import to ensure:
+ * - NDJSON and CSV rows are copied with ids from the products sequence, across several batches
+ * - Invalid rows and unknown categories are rejected with their line, the valid rows are still imported
+ * - Products created afterwards through the identity column do not collide with imported ids
+ */
+class ProductImportTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeAll
+    static void seed() {
+        jdbcTemplate = new JdbcTemplate(DATABASE.getTestDatabase());
+        TestDatabase.insertCategory(jdbcTemplate, 1, "Electronics");
+        TestDatabase.insertCategory(jdbcTemplate, 2, "Books");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products");
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findAllIds()).thenReturn(Set.of(1L, 2L));
+        productImportService = new ProductImportServiceImpl(DATABASE.getTestDatabase(), categoryRepository,
+            Validation.buildDefaultValidatorFactory().getValidator(), Optional::empty, new ObjectMapper());
+        ReflectionTestUtils.setField(productImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(productImportService, "maxErrors", 10);
+    }
+
+    private ProductImportRes importProducts(DataFormat format, String body) throws IOException {
+        return productImportService.importProducts(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("NDJSON rows are imported in batches with the product defaults")
+    void importNdjson_ValidRows_Imported() throws IOException {
+        ProductImportRes result = importProducts(DataFormat.NDJSON, """
+            {"name":"Phone","description":"A \\"smart\\" phone, 5G","categoryId":1,"price":199.5,"quantity":3}
+            {"name":"Laptop","categoryId":1,"price":999,"quantity":1,"imageUrl":"https://cdn.example.com/l.jpg"}
+
+            {"name":"Novel","categoryId":2,"price":12,"quantity":40}
+            """);
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertTrue(result.getErrors().isEmpty());
+
+        Map<String, Object> phone = jdbcTemplate.queryForMap("SELECT * FROM products WHERE name = 'Phone'");
+        assertEquals("A \"smart\" phone, 5G", phone.get("description"));
+        assertEquals(199.5, phone.get("price"));
+        assertEquals(false, phone.get("is_featured"));
+        assertEquals(true, phone.get("is_active"));
+        assertEquals(0L, phone.get("rating_count"));
+        assertNotNull(phone.get("created_on"));
+        assertNull(jdbcTemplate.queryForObject("SELECT image_url FROM products WHERE name = 'Novel'", String.class));
+    }
+
+    @Test
+    @DisplayName("Invalid rows are rejected with their line and the valid rows are imported")
+    void importNdjson_InvalidRows_Rejected() throws IOException {
+        ProductImportRes result = importProducts(DataFormat.NDJSON, """
+            {"name":"Phone","categoryId":1,"price":199.5,"quantity":3}
+            {"name":"","categoryId":1,"price":-1,"quantity":3}
+            {"name":"Ghost","categoryId":99,"price":1,"quantity":1}
+            not json
+            {"name":"Novel","categoryId":2,"price":12,"quantity":40}
+            """);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(
+            "line 2: Price must be greater than or equal to 0, Product name cannot be blank",
+            "line 3: Category not found: 99",
+            "line 4: invalid JSON"), result.getErrors());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM products", Integer.class));
+    }
+
+    @Test
+    @DisplayName("CSV rows are matched by header and empty values are null")
+    void importCsv_HeaderRows_Imported() throws IOException {
+        ProductImportRes result = importProducts(DataFormat.CSV, """
+            name,categoryId,price,quantity,description
+            Phone,1,199.5,3,"Smart, 5G"
+            Laptop,1,abc,1,
+            Novel,2,12,40,
+            """);
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of("line 3: invalid CSV row"), result.getErrors());
+        assertEquals("Smart, 5G", jdbcTemplate.queryForObject("SELECT description FROM products WHERE name = 'Phone'", String.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT description FROM products WHERE name = 'Novel'", String.class));
+    }
+
+    @Test
+    @DisplayName("Identity inserts after an import get ids after the imported ones")
+    void importThenInsert_IdsDoNotCollide() throws IOException {
+        importProducts(DataFormat.NDJSON, """
+            {"name":"Phone","categoryId":1,"price":199.5,"quantity":3}
+            {"name":"Laptop","categoryId":1,"price":999,"quantity":1}
+            {"name":"Novel","categoryId":2,"price":12,"quantity":40}
+            """);
+
+        Long maxImported = jdbcTemplate.queryForObject("SELECT max(id) FROM products", Long.class);
+        Long created = jdbcTemplate.queryForObject(
+            "INSERT INTO products (name, price, quantity, category_id) VALUES ('Single', 1, 1, 1) RETURNING id", Long.class);
+
+        assertNotNull(maxImported);
+        assertTrue(created > maxImported);
+    }
+}
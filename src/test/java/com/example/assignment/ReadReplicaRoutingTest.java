@@ -0,0 +1,127 @@
+package com.example.assignment;
+
+import com.example.assignment.config.ReplicaDataSourceConfig;
+import com.example.assignment.filter.ReadYourWritesFilter;
+import com.example.assignment.util.ReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the read replica routing to ensure:
+ * - Read-only transactions read from the replica, other statements from the primary
+ * - Reads flagged by ReadYourWrites use the primary even in a read-only transaction
+ * - A write request flags the following requests of the client until its cookie expires
+ * Two embedded Postgres instances stand in for the primary and the replica, with a different category name in each.
+ */
+class ReadReplicaRoutingTest {
+    private static final String CATEGORY_NAME = "SELECT name FROM categories WHERE id = 1";
+
+    @RegisterExtension
+    static final PreparedDbExtension PRIMARY = TestDatabase.migrated();
+    @RegisterExtension
+    static final PreparedDbExtension REPLICA = TestDatabase.migrated();
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+    private static JdbcTemplate jdbcTemplate;
+    private static DataSourceTransactionManager transactionManager;
+
+    @BeforeAll
+    static void startPools() {
+        primaryPool = pool(PRIMARY);
+        replicaPool = pool(REPLICA);
+        TestDatabase.insertCategory(new JdbcTemplate(primaryPool), 1, "primary");
+        TestDatabase.insertCategory(new JdbcTemplate(replicaPool), 1, "replica");
+        DataSource dataSource = new ReplicaDataSourceConfig().dataSource(primaryPool, replicaPool);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterAll
+    static void stopPools() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    private static HikariDataSource pool(PreparedDbExtension database) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(TestDatabase.jdbcUrl(database));
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    private static String read(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(CATEGORY_NAME, String.class));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions read from the replica, the other statements from the primary")
+    void readOnlyTransaction_Replica() {
+        assertEquals("replica", read(true));
+        assertEquals("primary", read(false));
+        assertEquals("primary", jdbcTemplate.queryForObject(CATEGORY_NAME, String.class));
+    }
+
+    @Test
+    @DisplayName("Flagged reads use the primary even in a read-only transaction")
+    void readYourWrites_Primary() {
+        assertEquals("primary", ReadYourWrites.onPrimary(() -> read(true)));
+        assertFalse(ReadYourWrites.isPrimaryRequired());
+        assertEquals("replica", read(true));
+    }
+
+    @Test
+    @DisplayName("A write request flags the next requests of the client until its cookie expires")
+    void filter_WriteRequest_FlagsNextRequests() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        AtomicBoolean flagged = new AtomicBoolean();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                flagged.set(ReadYourWrites.isPrimaryRequired());
+            }
+        };
+
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/ratings"), written, chain);
+        assertTrue(flagged.get());
+        Cookie cookie = written.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertFalse(ReadYourWrites.isPrimaryRequired());
+
+        MockHttpServletRequest next = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        next.setCookies(cookie);
+        filter.doFilter(next, new MockHttpServletResponse(), chain);
+        assertTrue(flagged.get());
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        filter.doFilter(expired, new MockHttpServletResponse(), chain);
+        assertFalse(flagged.get());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products/1"), new MockHttpServletResponse(), chain);
+        assertFalse(flagged.get());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.assignment;
+
+import com.example.assignment.util.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ResourceVersion to ensure:
+ * - A GET without validators gets the body with a weak ETag and Last-Modified
+ * - A matching If-None-Match or If-Modified-Since gets a 304 without the body being built
+ * - A stale validator gets the new body
+ * - The version changes with the row count and the last update
+ */
+class ResourceVersionTest {
+    private static final Date UPDATED_ON = new Date(1_700_000_000_000L);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private AtomicInteger bodyCalls;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        response = new MockHttpServletResponse();
+        bodyCalls = new AtomicInteger();
+    }
+
+    private ResponseEntity<String> respond(ResourceVersion version) {
+        return version.respond(new ServletWebRequest(request, response), () -> {
+            bodyCalls.incrementAndGet();
+            return "body";
+        });
+    }
+
+    @Test
+    @DisplayName("Test GET without validators returns the body with validators")
+    void testGetWithoutValidators() {
+        ResourceVersion version = ResourceVersion.of("product-1", 3, UPDATED_ON);
+
+        ResponseEntity<String> entity = respond(version);
+
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertEquals("body", entity.getBody());
+        assertEquals("W/\"product-1-3-1700000000000\"", response.getHeader("ETag"));
+        assertEquals(UPDATED_ON.getTime(), response.getDateHeader("Last-Modified"));
+        assertEquals("no-cache", entity.getHeaders().getCacheControl());
+    }
+
+    @Test
+    @DisplayName("Test matching If-None-Match returns 304 without building the body")
+    void testMatchingETagReturnsNotModified() {
+        ResourceVersion version = ResourceVersion.of("product-1", 3, UPDATED_ON);
+        request.addHeader("If-None-Match", version.etag());
+
+        ResponseEntity<String> entity = respond(version);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+        assertNull(entity.getBody());
+        assertEquals(0, bodyCalls.get());
+    }
+
+    @Test
+    @DisplayName("Test If-Modified-Since at the last update returns 304")
+    void testIfModifiedSinceReturnsNotModified() {
+        request.addHeader("If-Modified-Since", UPDATED_ON.getTime());
+
+        ResponseEntity<String> entity = respond(ResourceVersion.of("category-tree", 12, UPDATED_ON));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+        assertEquals(0, bodyCalls.get());
+    }
+
+    @Test
+    @DisplayName("Test stale If-None-Match returns the new body")
+    void testStaleETagReturnsBody() {
+        request.addHeader("If-None-Match", ResourceVersion.of("product-1", 3, UPDATED_ON).etag());
+
+        ResponseEntity<String> entity = respond(ResourceVersion.of("product-1", 4, UPDATED_ON));
+
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertEquals(1, bodyCalls.get());
+    }
+
+    @Test
+    @DisplayName("Test version changes with the count and the last update")
+    void testVersionChanges() {
+        ResourceVersion version = ResourceVersion.of("category-tree", 12, UPDATED_ON);
+
+        assertNotEquals(version.etag(), ResourceVersion.of("category-tree", 11, UPDATED_ON).etag());
+        assertNotEquals(version.etag(), ResourceVersion.of("category-tree", 12, new Date(UPDATED_ON.getTime() + 1)).etag());
+        assertEquals(-1, ResourceVersion.of("category-tree", 0, null).lastModified());
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.assignment;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.example.assignment.service.impl.ResponseCacheServiceImpl;
+import com.example.assignment.util.CachedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the response cache to ensure:
+ * - The body is serialized once and served from memory until evicted or expired
+ * - A response built while an eviction happens is not stored
+ * - The brotli, gzip or identity variant is chosen from Accept-Encoding
+ * - A matching If-None-Match gets a 304
+ * - Concurrent misses build the body once
+ * - A disabled cache serializes the body per request without compressing it
+ */
+class ResponseCacheTest {
+    private static final String KEY = "category-tree";
+
+    private ResponseCacheServiceImpl responseCacheService;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCacheService = new ResponseCacheServiceImpl(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(responseCacheService, "enabled", true);
+        ReflectionTestUtils.setField(responseCacheService, "maxAge", Duration.ofMinutes(1));
+        builds = new AtomicInteger();
+    }
+
+    private List<String> body() {
+        builds.incrementAndGet();
+        return List.of("Electronics", "Books");
+    }
+
+    private ResponseEntity<byte[]> get(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/categories/tree");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return responseCacheService.get(KEY, this::body)
+            .respond(new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    @DisplayName("Test body is built once and served from memory")
+    void testBodyBuiltOnce() {
+        CachedResponse first = responseCacheService.get(KEY, this::body);
+        CachedResponse second = responseCacheService.get(KEY, this::body);
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals("[\"Electronics\",\"Books\"]", new String(first.json(), StandardCharsets.UTF_8));
+        assertEquals(1.0, meterRegistry.get("response.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test eviction and expiry rebuild the body")
+    void testEvictionAndExpiryRebuild() {
+        responseCacheService.get(KEY, this::body);
+        responseCacheService.evict(KEY);
+        responseCacheService.get(KEY, this::body);
+        assertEquals(2, builds.get());
+
+        ReflectionTestUtils.setField(responseCacheService, "maxAge", Duration.ZERO);
+        responseCacheService.get(KEY, this::body);
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    @DisplayName("Test response built during an eviction is not stored")
+    void testConcurrentEvictionDropsBuiltResponse() {
+        responseCacheService.get(KEY, () -> {
+            // The data changes and the transaction commits while the old data is being serialized
+            responseCacheService.evict(KEY);
+            return body();
+        });
+        responseCacheService.get(KEY, this::body);
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    @DisplayName("Test encoding variant follows Accept-Encoding")
+    void testEncodingVariants() throws IOException {
+        ResponseEntity<byte[]> gzip = get("gzip, deflate", null);
+        assertEquals("gzip", gzip.getHeaders().getFirst("Content-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertEquals("[\"Electronics\",\"Books\"]", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        ResponseEntity<byte[]> identity = get("br;q=0, gzip;q=0", null);
+        assertNull(identity.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("[\"Electronics\",\"Books\"]", new String(identity.getBody(), StandardCharsets.UTF_8));
+        assertEquals(List.of("Accept-Encoding"), identity.getHeaders().getVary());
+
+        if (Brotli4jLoader.isAvailable()) {
+            ResponseEntity<byte[]> brotli = get("gzip, deflate, br", null);
+            assertEquals("br", brotli.getHeaders().getFirst("Content-Encoding"));
+            assertEquals("[\"Electronics\",\"Books\"]",
+                new String(Decoder.decompress(brotli.getBody()).getDecompressedData(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    @DisplayName("Test matching If-None-Match returns 304")
+    void testMatchingETagReturnsNotModified() {
+        String etag = responseCacheService.get(KEY, this::body).etag();
+
+        ResponseEntity<byte[]> response = get("gzip", etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    @DisplayName("Test concurrent misses wait for a single build")
+    void testConcurrentMissesBuildOnce() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int waiters = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(waiters + 1);
+        try {
+            Future<CachedResponse> first = executor.submit(() -> responseCacheService.get(KEY, () -> {
+                building.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return body();
+            }));
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            List<Future<CachedResponse>> others = new ArrayList<>();
+            for (int i = 0; i < waiters; i++) {
+                others.add(executor.submit(() -> responseCacheService.get(KEY, this::body)));
+            }
+            // Every miss has joined the running build before it completes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.counter("response.cache.requests", "cache", KEY, "result", "coalesced").count() < waiters
+                && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            CachedResponse built = first.get(5, TimeUnit.SECONDS);
+            for (Future<CachedResponse> other : others) {
+                assertSame(built, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, builds.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test disabled cache serializes per request without compressing")
+    void testDisabledCacheSkipsCompression() {
+        ReflectionTestUtils.setField(responseCacheService, "enabled", false);
+
+        CachedResponse first = responseCacheService.get(KEY, this::body);
+        responseCacheService.get(KEY, this::body);
+
+        assertEquals(2, builds.get());
+        assertNull(first.gzip());
+        assertNull(first.brotli());
+        ResponseEntity<byte[]> response = get("gzip, br", null);
+        assertNull(response.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("[\"Electronics\",\"Books\"]", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+}
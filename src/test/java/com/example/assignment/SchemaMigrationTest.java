@@ -0,0 +1,63 @@
+package com.example.assignment;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Flyway migrations to ensure:
+ * - They apply on an empty database
+ * - The migrated schema matches the entities (Hibernate validates it)
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "seed.mode=off",
+    "spring.jpa.show-sql=false"
+})
+class SchemaMigrationTest {
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start the embedded Postgres", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    @DisplayName("Test migrations are applied and validated against the entities")
+    void testMigrationsApplied() {
+        Integer applied = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM flyway_schema_history WHERE success", Integer.class);
+
+        assertNotNull(applied);
+        assertTrue(applied >= 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.assignment;
+
+import com.example.assignment.config.seed.DataSeed;
+import com.example.assignment.config.seed.SeedRunner;
+import com.example.assignment.enums.SeedMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for SeedRunner to ensure:
+ * - The sync mode runs the seeds in order before the application is ready
+ * - The background mode runs the seeds on the task executor once the application is ready
+ * - The off mode never runs the seeds
+ */
+@ExtendWith(MockitoExtension.class)
+class SeedRunnerTest {
+
+    @Mock
+    private DataSeed firstSeed;
+
+    @Mock
+    private DataSeed secondSeed;
+
+    private SeedRunner seedRunner(SeedMode mode, TaskExecutor taskExecutor) {
+        SeedRunner seedRunner = new SeedRunner(List.of(firstSeed, secondSeed), taskExecutor);
+        ReflectionTestUtils.setField(seedRunner, "mode", mode);
+        return seedRunner;
+    }
+
+    @Test
+    @DisplayName("Test sync mode runs the seeds in order at startup")
+    void testSyncModeRunsSeedsAtStartup() throws Exception {
+        TaskExecutor taskExecutor = mock(TaskExecutor.class);
+        SeedRunner seedRunner = seedRunner(SeedMode.SYNC, taskExecutor);
+
+        seedRunner.run();
+        seedRunner.onApplicationReady();
+
+        InOrder inOrder = inOrder(firstSeed, secondSeed);
+        inOrder.verify(firstSeed).seed();
+        inOrder.verify(secondSeed).seed();
+        verifyNoInteractions(taskExecutor);
+    }
+
+    @Test
+    @DisplayName("Test background mode runs the seeds on the executor once ready")
+    void testBackgroundModeRunsSeedsWhenReady() throws Exception {
+        TaskExecutor taskExecutor = spy(new SyncTaskExecutor());
+        SeedRunner seedRunner = seedRunner(SeedMode.BACKGROUND, taskExecutor);
+
+        seedRunner.run();
+        verifyNoInteractions(firstSeed, secondSeed);
+
+        seedRunner.onApplicationReady();
+
+        verify(taskExecutor).execute(any(Runnable.class));
+        InOrder inOrder = inOrder(firstSeed, secondSeed);
+        inOrder.verify(firstSeed).seed();
+        inOrder.verify(secondSeed).seed();
+    }
+
+    @Test
+    @DisplayName("Test background seed failure does not propagate")
+    void testBackgroundSeedFailureIsLogged() throws Exception {
+        doThrow(new IllegalStateException("seed failed")).when(firstSeed).seed();
+        SeedRunner seedRunner = seedRunner(SeedMode.BACKGROUND, new SyncTaskExecutor());
+
+        seedRunner.onApplicationReady();
+
+        verify(secondSeed, never()).seed();
+    }
+
+    @Test
+    @DisplayName("Test off mode never runs the seeds")
+    void testOffModeSkipsSeeds() throws Exception {
+        SeedRunner seedRunner = seedRunner(SeedMode.OFF, new SyncTaskExecutor());
+
+        seedRunner.run();
+        seedRunner.onApplicationReady();
+
+        verifyNoInteractions(firstSeed, secondSeed);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.assignment;
+
+import com.example.assignment.config.ServerTimingJpaListener;
+import com.example.assignment.filter.ServerTimingFilter;
+import com.example.assignment.util.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ServerTiming to ensure:
+ * - Stages are no-ops when no timing context is bound
+ * - Stages are accumulated and rendered as a Server-Timing header
+ * - Count queries are attributed to the count stage
+ * - The filter writes the header before the response commits, without buffering the body
+ * - The stages of asynchronous requests are recorded when they complete
+ */
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.end();
+    }
+
+    @Test
+    @DisplayName("Test stages are no-ops when timing is disabled")
+    void testStagesAreNoOpWhenDisabled() {
+        assertNull(ServerTiming.current());
+        ServerTiming.Stage first = ServerTiming.start(ServerTiming.AUTH);
+        ServerTiming.Stage second = ServerTiming.start(ServerTiming.QUERY);
+
+        // The same shared no-op stage is returned, nothing is allocated
+        assertSame(first, second);
+        assertEquals("value", ServerTiming.time(ServerTiming.MAP, () -> "value"));
+    }
+
+    @Test
+    @DisplayName("Test stages are accumulated into the header")
+    void testStagesAreAccumulatedIntoHeader() {
+        ServerTiming timing = ServerTiming.begin();
+        timing.record(ServerTiming.QUERY, 1_000_000);
+        timing.record(ServerTiming.QUERY, 2_000_000);
+        timing.record(ServerTiming.MAP, 500_000);
+
+        String header = timing.toHeaderValue();
+
+        assertTrue(header.startsWith("query;dur=3.000;desc=\"2\", map;dur=0.500, total;dur="));
+        assertEquals(3_000_000L, timing.getStageNanos().get(ServerTiming.QUERY));
+    }
+
+    @Test
+    @DisplayName("Test count queries are routed to the count stage")
+    void testCountQueriesAreRoutedToCountStage() {
+        ServerTiming timing = ServerTiming.begin();
+        ServerTimingJpaListener listener = new ServerTimingJpaListener();
+
+        listener.inspect("/* <criteria> */ select count(p1_0.id) from products p1_0");
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        listener.inspect("select p1_0.id, p1_0.name from products p1_0");
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+
+        assertTrue(timing.getStageNanos().containsKey(ServerTiming.COUNT));
+        assertTrue(timing.getStageNanos().containsKey(ServerTiming.QUERY));
+    }
+
+    private static boolean recorded(MeterRegistry registry) {
+        return registry.find(ServerTimingFilter.METRIC).tag("stage", ServerTiming.TOTAL).timer() != null;
+    }
+
+    @Test
+    @DisplayName("Test the filter writes the header before the body commits, without buffering it")
+    void testFilterWritesHeaderBeforeCommit() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(registry).doFilter(new MockHttpServletRequest("GET", "/api/v1/products"), response,
+            (request, chainResponse) -> {
+                ServerTiming.current().record(ServerTiming.QUERY, 1_000_000);
+                chainResponse.getOutputStream().write("body".getBytes(StandardCharsets.UTF_8));
+                chainResponse.flushBuffer();
+                // The body reached the client response while the request is still running
+                assertTrue(response.isCommitted());
+                assertEquals("body", response.getContentAsString());
+            });
+
+        assertTrue(response.getHeader(ServerTimingFilter.HEADER).startsWith("query;dur=1.000, total;dur="));
+        assertTrue(recorded(registry));
+    }
+
+    @Test
+    @DisplayName("Test the stages of an asynchronous request are recorded when it completes")
+    void testFilterRecordsAsyncRequestOnComplete() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/exports/products");
+        request.setAsyncSupported(true);
+        AsyncContext[] async = new AsyncContext[1];
+
+        new ServerTimingFilter(registry).doFilter(request, new MockHttpServletResponse(),
+            (chainRequest, chainResponse) -> async[0] = chainRequest.startAsync());
+
+        assertFalse(recorded(registry));
+        async[0].complete();
+        assertTrue(recorded(registry));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.response.NearbyAddressRes;
+import com.example.assignment.service.impl.ShippingAddressServiceImpl;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the shipping address searches to ensure:
+ * - The radius and nearest searches return the same addresses as a scan computing every distance
+ * - The per-customer searches keep the closest address of each customer
+ * - The searches use the spatial index
+ */
+class ShippingAddressServiceTest {
+    private static final double HANOI_LATITUDE = 21.0285;
+    private static final double HANOI_LONGITUDE = 105.8542;
+    private static final int CUSTOMERS = 2_000;
+
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static JdbcTemplate jdbcTemplate;
+    private static DataSource dataSource;
+
+    private ShippingAddressServiceImpl shippingAddressService;
+
+    @BeforeAll
+    static void seed() {
+        dataSource = DATABASE.getTestDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TestDatabase.insertCustomers(jdbcTemplate, CUSTOMERS);
+        // Ten addresses per customer spread over about 300 km around Hanoi
+        jdbcTemplate.update("""
+            INSERT INTO shipping_addresses (address_line_1, city, country, postal_code, phone_number, latitude, longitude, customer_id)
+            SELECT n || ' Main St', 'Hanoi', 'VN', '100000', '0900000000',
+                   ? + (random() - 0.5) * 3, ? + (random() - 0.5) * 3, 1 + n % ?
+            FROM generate_series(1, ?) n
+            """, HANOI_LATITUDE, HANOI_LONGITUDE, CUSTOMERS, CUSTOMERS * 10);
+        jdbcTemplate.execute("ANALYZE shipping_addresses");
+    }
+
+    @BeforeEach
+    void setUp() {
+        shippingAddressService = new ShippingAddressServiceImpl(dataSource);
+        ReflectionTestUtils.setField(shippingAddressService, "maxRadius", 200_000.0);
+        ReflectionTestUtils.setField(shippingAddressService, "maxResults", 1_000);
+        ReflectionTestUtils.setField(shippingAddressService, "maxAddresses", 20_000);
+    }
+
+    /**
+     * The ids of the addresses by distance, computing the distance of every address.
+     */
+    private List<Long> scan(double radius, int limit) {
+        return jdbcTemplate.queryForList("""
+            SELECT id FROM shipping_addresses
+            WHERE earth_distance(ll_to_earth(?, ?), ll_to_earth(latitude, longitude)) <= ?
+            ORDER BY earth_distance(ll_to_earth(?, ?), ll_to_earth(latitude, longitude)), id LIMIT ?
+            """, Long.class, HANOI_LATITUDE, HANOI_LONGITUDE, radius, HANOI_LATITUDE, HANOI_LONGITUDE, limit);
+    }
+
+    private static List<Long> ids(List<NearbyAddressRes> addresses) {
+        return addresses.stream().map(NearbyAddressRes::getAddressId).toList();
+    }
+
+    @Test
+    @DisplayName("A radius search returns the addresses within the radius, closest first")
+    void findWithinRadius_SameAsScan() {
+        List<NearbyAddressRes> addresses = shippingAddressService.findWithinRadius(HANOI_LATITUDE, HANOI_LONGITUDE, 10_000, 1_000, false);
+
+        assertFalse(addresses.isEmpty());
+        assertEquals(scan(10_000, 1_000), ids(addresses));
+        assertTrue(addresses.stream().allMatch(address -> address.getDistance() <= 10_000));
+    }
+
+    @Test
+    @DisplayName("A nearest search returns the k addresses closest to the point")
+    void findNearest_SameAsScan() {
+        List<NearbyAddressRes> addresses = shippingAddressService.findNearest(HANOI_LATITUDE, HANOI_LONGITUDE, 25, false);
+
+        assertEquals(scan(Double.MAX_VALUE, 25), ids(addresses));
+    }
+
+    @Test
+    @DisplayName("The per-customer searches keep the closest address of each customer")
+    void perCustomer_ClosestAddressOfEachCustomer() {
+        List<NearbyAddressRes> nearest = shippingAddressService.findNearest(HANOI_LATITUDE, HANOI_LONGITUDE, 50, true);
+        List<NearbyAddressRes> within = shippingAddressService.findWithinRadius(HANOI_LATITUDE, HANOI_LONGITUDE, 20_000, 50, true);
+
+        assertEquals(50, nearest.size());
+        assertEquals(50, nearest.stream().map(NearbyAddressRes::getCustomerId).distinct().count());
+        for (NearbyAddressRes address : nearest) {
+            Double closest = jdbcTemplate.queryForObject("""
+                SELECT min(earth_distance(ll_to_earth(?, ?), ll_to_earth(latitude, longitude)))
+                FROM shipping_addresses WHERE customer_id = ?
+                """, Double.class, HANOI_LATITUDE, HANOI_LONGITUDE, address.getCustomerId());
+            assertEquals(closest, address.getDistance(), 1e-6);
+        }
+        assertEquals(ids(nearest), ids(within));
+
+        // Past the addresses bound the closest address of every customer is queried, with the same results
+        ReflectionTestUtils.setField(shippingAddressService, "maxAddresses", 50);
+        assertEquals(ids(nearest), ids(shippingAddressService.findNearest(HANOI_LATITUDE, HANOI_LONGITUDE, 50, true)));
+        assertEquals(ids(within), ids(shippingAddressService.findWithinRadius(HANOI_LATITUDE, HANOI_LONGITUDE, 20_000, 50, true)));
+    }
+
+    @Test
+    @DisplayName("The searches use the spatial index")
+    void searches_UseSpatialIndex() {
+        String radiusPlan = String.join("\n", jdbcTemplate.queryForList("""
+            EXPLAIN SELECT a.id FROM shipping_addresses a, (SELECT ll_to_earth(21.0, 105.8) AS earth) point
+            WHERE earth_box(point.earth, 5000) @> ll_to_earth(a.latitude, a.longitude)
+            ORDER BY ll_to_earth(a.latitude, a.longitude) <-> point.earth LIMIT 10
+            """, String.class));
+        String nearestPlan = String.join("\n", jdbcTemplate.queryForList("""
+            EXPLAIN SELECT a.id FROM shipping_addresses a, (SELECT ll_to_earth(21.0, 105.8) AS earth) point
+            ORDER BY ll_to_earth(a.latitude, a.longitude) <-> point.earth LIMIT 10
+            """, String.class));
+
+        assertTrue(radiusPlan.contains("idx_shipping_addresses_earth"), radiusPlan);
+        assertTrue(nearestPlan.contains("idx_shipping_addresses_earth"), nearestPlan);
+    }
+
+    @Test
+    @DisplayName("A point, radius or count out of range is rejected")
+    void invalidSearch_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> shippingAddressService.findNearest(91, 0, 10, false));
+        assertThrows(IllegalArgumentException.class, () -> shippingAddressService.findNearest(0, 0, 0, false));
+        assertThrows(IllegalArgumentException.class, () -> shippingAddressService.findWithinRadius(0, 0, 300_000, 10, false));
+        assertThrows(IllegalArgumentException.class, () -> shippingAddressService.findWithinRadius(0, 0, 1_000, 1_001, false));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.request.ProductFilterReq;
+import com.example.assignment.dto.response.CategoryRes;
+import com.example.assignment.dto.response.PagingRes;
+import com.example.assignment.dto.response.ProductDetailRes;
+import com.example.assignment.dto.response.ProductRes;
+import com.example.assignment.dto.response.RatingRes;
+import com.example.assignment.dto.response.UserRes;
+import com.example.assignment.mapper.ProductMapper;
+import com.example.assignment.mapper.RatingMapper;
+import com.example.assignment.mapper.UserMapper;
+import com.example.assignment.service.ProductService;
+import com.example.assignment.service.RatingService;
+import com.example.assignment.service.UserService;
+import com.example.assignment.util.SparseFields;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the sparse fieldsets (?fields=) to ensure:
+ * - Only the requested fields are returned, with the names and nesting of the full DTOs
+ * - Only the columns of the requested fields are selected, the associations they do not need are not queried
+ * - The ratings of a product detail are only queried when they are requested
+ * - The member tier of the customers is read through the users
+ * - Unknown fields are refused
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "seed.mode=off",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.assignment.SparseFieldsTest$StatementRecorder"
+})
+class SparseFieldsTest {
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class StatementRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(DATABASE, registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM ratings");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM user_profiles");
+        jdbcTemplate.update("DELETE FROM customers");
+        jdbcTemplate.update("DELETE FROM users");
+        // Users 1 to 3 are customers, user 4 is the admin who created the products
+        jdbcTemplate.update("""
+            INSERT INTO users (id, email, role, is_active)
+            SELECT i, 'user-' || i || '@example.com', CASE WHEN i = 4 THEN 'ADMIN' ELSE 'CUSTOMER' END, true
+            FROM generate_series(1, 4) i
+            """);
+        jdbcTemplate.update("INSERT INTO customers (id, member_tier) SELECT i, 'COMMON' FROM generate_series(1, 3) i");
+        jdbcTemplate.update("""
+            INSERT INTO user_profiles (id, first_name, last_name, phone_number)
+            SELECT i, 'First ' || i, 'Last ' || i, '09' || lpad(i::text, 8, '0') FROM generate_series(1, 4) i
+            """);
+        jdbcTemplate.update("INSERT INTO categories (id, name, description) VALUES (1, 'Books', 'Paper')");
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, description, price, quantity, category_id, created_by, is_active, is_featured,
+                                  average_rating, rating_count)
+            SELECT i, 'Product ' || i, 'About ' || i, 10.0 * i, 1, 1, CASE WHEN i = 1 THEN 4 END, true, false, 0, 0
+            FROM generate_series(1, 3) i
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO ratings (score, comment, customer_id, product_id, created_on)
+            SELECT 5, 'Great', i, 1, now() - i * interval '1 minute' FROM generate_series(1, 3) i
+            """);
+        StatementRecorder.STATEMENTS.clear();
+    }
+
+    private static List<String> statements(String table) {
+        return StatementRecorder.STATEMENTS.stream().filter(sql -> sql.contains(table)).toList();
+    }
+
+    private static List<Map<String, Object>> content(PagingRes<Map<String, Object>> page) {
+        return new ArrayList<>(page.getContent());
+    }
+
+    /**
+     * @return the JSON property names of a DTO as the controllers serialize it
+     */
+    private Set<String> jsonNames(Object dto) {
+        return new LinkedHashSet<>(objectMapper.convertValue(dto, new TypeReference<Map<String, Object>>() { }).keySet());
+    }
+
+    @Test
+    @DisplayName("A product page selects the columns of the requested fields only, without the categories")
+    void getProducts_WithFields_SelectsRequestedColumns() {
+        PagingRes<Map<String, Object>> page = productService.getProducts(new ProductFilterReq(), Set.of("name", "price"),
+            0, 10, "asc", "id");
+
+        assertEquals(3, page.getTotalElements());
+        List<Map<String, Object>> products = content(page);
+        assertEquals(Map.of("name", "Product 1", "price", 10.0), products.get(0));
+        // The page only, it is the last one so its size is the count
+        assertEquals(1, StatementRecorder.STATEMENTS.size());
+        assertEquals(List.of(), statements("categories"));
+        assertEquals(List.of(), statements("description"));
+        assertEquals(List.of(), statements("ratings"));
+    }
+
+    @Test
+    @DisplayName("A rating page returns the requested customer fields, with the member tier of the customer")
+    void getRatings_WithCustomerFields_ReturnsNestedCustomer() {
+        PagingRes<Map<String, Object>> page = ratingService.getRatingsByProductId(1L, Set.of("score", "customer"),
+            0, 10, "asc", "id");
+
+        Map<String, Object> rating = content(page).get(0);
+        assertEquals(Set.of("score", "customer"), rating.keySet());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> customer = (Map<String, Object>) rating.get("customer");
+        assertEquals(1L, customer.get("id"));
+        assertEquals("First 1", customer.get("firstName"));
+        assertEquals("COMMON", objectMapper.convertValue(customer.get("memberTier"), String.class));
+        // The product existence check only, the product id of the ratings is their foreign key
+        assertEquals(1, statements("products").size());
+
+        StatementRecorder.STATEMENTS.clear();
+        Map<String, Object> scoreOnly = content(ratingService.getAllRatings(Set.of("score", "productId"), 0, 10, "asc", "id")).get(0);
+        assertEquals(Map.of("score", 5.0, "productId", 1L), scoreOnly);
+        assertEquals(List.of(), statements("user_profiles"));
+    }
+
+    @Test
+    @DisplayName("A user page returns the member tier of the customers and null for the other users")
+    void getUsers_WithMemberTier_ReadsSubtypeColumn() {
+        List<Map<String, Object>> users = content(userService.getUsers(Set.of("id", "memberTier", "active"), 0, 10, "asc", "id"));
+
+        assertEquals(4, users.size());
+        assertEquals("COMMON", objectMapper.convertValue(users.get(0).get("memberTier"), String.class));
+        assertNull(users.get(3).get("memberTier"));
+        assertEquals(true, users.get(3).get("active"));
+        assertEquals(List.of(), statements("user_profiles"));
+    }
+
+    @Test
+    @DisplayName("A product detail queries its ratings only when they are requested")
+    void getProductById_WithFields_QueriesRatingsOnlyWhenRequested() {
+        Map<String, Object> product = productService.getProductById(1L, Set.of("name", "category", "createdBy"));
+
+        assertEquals(Set.of("name", "category", "createdBy"), product.keySet());
+        assertEquals("Books", ((Map<?, ?>) product.get("category")).get("name"));
+        assertEquals("First 4", ((Map<?, ?>) product.get("createdBy")).get("firstName"));
+        assertEquals(1, StatementRecorder.STATEMENTS.size());
+        assertEquals(List.of(), statements("ratings"));
+        // A product without a creator has a null creator, not a creator of nulls
+        assertNull(productService.getProductById(2L, Set.of("createdBy")).get("createdBy"));
+
+        StatementRecorder.STATEMENTS.clear();
+        Map<String, Object> withRatings = productService.getProductById(1L, Set.of("id", "ratings"));
+        List<?> ratings = (List<?>) withRatings.get("ratings");
+        assertEquals(3, ratings.size());
+        assertTrue(ratings.stream().allMatch(rating -> ((RatingRes) rating).getCustomer().getFirstName().startsWith("First ")));
+        assertEquals(List.of(), statements("categories"));
+    }
+
+    @Test
+    @DisplayName("Unknown fields and products are refused")
+    void getFields_UnknownField_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            productService.getProducts(new ProductFilterReq(), Set.of("name", "ratings"), 0, 10, "asc", "id"));
+        assertThrows(IllegalArgumentException.class, () ->
+            ratingService.getAllRatings(Set.of("customer.firstName"), 0, 10, "asc", "id"));
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsers(Set.of("email"), 0, 10, "asc", "id"));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductById(99L, Set.of("name")));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductById(99L, Set.of("ratings")));
+    }
+
+    @Test
+    @DisplayName("The field names are the JSON property names of the full DTOs")
+    void columns_MatchDtoPropertyNames() {
+        UserRes user = UserRes.builder().id(1L).firstName("First").lastName("Last").avatar("a.png").role("CUSTOMER")
+            .memberTier("COMMON").isActive(true).build();
+        ProductRes product = ProductRes.builder().id(1L).name("Product").price(1.0).imageUrl("p.png").isActive(true)
+            .avgRating(4.0).ratingCount(1L).build();
+        RatingRes rating = RatingRes.builder().id(1L).score(5).comment("Great").createdOn(new Date()).updatedOn(new Date())
+            .productId(1L).customer(user).build();
+        ProductDetailRes detail = ProductDetailRes.builder().id(1L).name("Product").description("About")
+            .category(CategoryRes.builder().id(1L).name("Books").description("Paper").parentId(2L).build()).price(1.0)
+            .quantity(1).imageUrl("p.png").isActive(true).createdOn(new Date()).updatedOn(new Date())
+            .ratings(Set.of(rating)).createdBy(user).build();
+
+        assertEquals(jsonNames(user), SparseFields.names(UserMapper.COLUMNS));
+        assertEquals(jsonNames(product), SparseFields.names(ProductMapper.COLUMNS));
+        assertEquals(jsonNames(rating), SparseFields.names(RatingMapper.COLUMNS));
+        Set<String> detailNames = new LinkedHashSet<>(SparseFields.names(ProductMapper.DETAIL_COLUMNS));
+        detailNames.add("ratings");
+        assertEquals(jsonNames(detail), detailNames);
+        assertEquals(jsonNames(detail.getCategory()), Set.of("id", "name", "description", "parentId"));
+    }
+}
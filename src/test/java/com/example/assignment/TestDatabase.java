@@ -0,0 +1,90 @@
+package com.example.assignment;
+
+import io.zonky.test.db.postgres.embedded.ConnectionInfo;
+import io.zonky.test.db.postgres.embedded.DatabasePreparer;
+import io.zonky.test.db.postgres.junit5.EmbeddedPostgresExtension;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import javax.sql.DataSource;
+
+/**
+ * Embedded Postgres shared by the database tests.
+ * A single server is started for the test run and migrated once by Flyway into a template database,
+ * every extension returned by {@link #migrated()} clones its own database from that template,
+ * so a test class only inserts the rows its tests need, with the seed helpers below.
+ * <p>
+ * Usage: {@code @RegisterExtension static final PreparedDbExtension DATABASE = TestDatabase.migrated();}
+ */
+final class TestDatabase {
+    /**
+     * The template is prepared once per preparer, the same instance is given to every extension.
+     */
+    private static final DatabasePreparer FLYWAY = new FlywayPreparer();
+
+    private TestDatabase() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return an extension giving the test class a migrated database of its own, registered as a static field
+     */
+    static PreparedDbExtension migrated() {
+        return EmbeddedPostgresExtension.preparedDatabase(FLYWAY);
+    }
+
+    /**
+     * @return the JDBC URL of the database of an extension, once its class has started
+     */
+    static String jdbcUrl(PreparedDbExtension database) {
+        ConnectionInfo info = database.getConnectionInfo();
+        return "jdbc:postgresql://localhost:%d/%s?user=%s".formatted(info.getPort(), info.getDbName(), info.getUser());
+    }
+
+    /**
+     * Point the application context of a Spring test at the database of an extension.
+     */
+    static void register(PreparedDbExtension database, DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> jdbcUrl(database));
+        registry.add("spring.datasource.username", () -> database.getConnectionInfo().getUser());
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    static void insertCategory(JdbcTemplate jdbcTemplate, long id, String name) {
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, ?)", id, name);
+    }
+
+    /**
+     * Insert the active customers 1 to count, in the COMMON tier, with the emails customer-{id}@example.com.
+     */
+    static void insertCustomers(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.update("""
+            INSERT INTO users (id, email, role, is_active)
+            SELECT n, 'customer-' || n || '@example.com', 'CUSTOMER', true FROM generate_series(1, ?) n
+            """, count);
+        jdbcTemplate.update("INSERT INTO customers (id, member_tier) SELECT n, 'COMMON' FROM generate_series(1, ?) n", count);
+    }
+
+    /**
+     * Insert the shipping addresses 1 to count in Hanoi, address n belonging to customer n.
+     */
+    static void insertShippingAddresses(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.update("""
+            INSERT INTO shipping_addresses (id, address_line_1, city, country, postal_code, phone_number, latitude, longitude, customer_id)
+            SELECT n, n || ' Main St', 'Hanoi', 'VN', '100000', '09' || lpad(n::text, 8, '0'), 21.0, 105.8, n
+            FROM generate_series(1, ?) n
+            """, count);
+    }
+
+    /**
+     * Migrates the template database with the application migrations.
+     */
+    private static final class FlywayPreparer implements DatabasePreparer {
+        @Override
+        public void prepare(DataSource dataSource) {
+            Flyway.configure().dataSource(dataSource).load().migrate();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.assignment;
+
+import com.example.assignment.util.TimerWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TimerWheel to ensure:
+ * - Timers expire on the first tick at or after their deadline, ordered by deadline
+ * - Timers on the upper levels cascade down and expire on time
+ * - Deadlines beyond the top level and deadlines already reached are not lost
+ */
+class TimerWheelTest {
+    private static final long START = 1_000_000;
+
+    @Test
+    @DisplayName("A timer expires on the first tick at or after its deadline")
+    void advance_LevelZero_ExpiresOnTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(10), 8, 3, START);
+        wheel.schedule("a", START + 25);
+
+        assertEquals(List.of(), wheel.advance(START + 29));
+        assertEquals(List.of("a"), wheel.advance(START + 30));
+        assertEquals(List.of(), wheel.advance(START + 100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timers on the upper levels cascade down and expire by deadline")
+    void advance_UpperLevels_Cascaded() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(10), 8, 3, START);
+        wheel.schedule("c", START + 10 * 300);
+        wheel.schedule("b", START + 10 * 70);
+        wheel.schedule("a", START + 10 * 9);
+        assertEquals(3, wheel.size());
+
+        assertEquals(List.of("a"), wheel.advance(START + 10 * 9));
+        assertEquals(List.of(), wheel.advance(START + 10 * 69));
+        assertEquals(List.of("b"), wheel.advance(START + 10 * 70));
+        assertEquals(List.of(), wheel.advance(START + 10 * 299));
+        assertEquals(List.of("c"), wheel.advance(START + 10 * 300));
+    }
+
+    @Test
+    @DisplayName("A deadline beyond the top level expires on time")
+    void advance_BeyondTopLevel_Expires() {
+        // Two levels of 4 slots cover 16 ticks
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(1), 4, 2, START);
+        wheel.schedule("a", START + 100);
+
+        for (long now = START; now < START + 100; now += 7) {
+            assertEquals(List.of(), wheel.advance(now));
+        }
+        assertEquals(List.of("a"), wheel.advance(START + 100));
+    }
+
+    @Test
+    @DisplayName("A timer already due expires on the next advance")
+    void schedule_Overdue_ExpiresOnNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(10), 8, 3, START);
+        wheel.advance(START + 500);
+        wheel.schedule("late", START + 100);
+        wheel.schedule("now", START + 500);
+
+        assertEquals(List.of("late", "now"), wheel.advance(START + 500));
+    }
+
+    @Test
+    @DisplayName("Timers expiring on the same advance are returned by deadline")
+    void advance_SeveralDue_OrderedByDeadline() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(Duration.ofMillis(10), 8, 3, START);
+        wheel.schedule(3, START + 600);
+        wheel.schedule(1, START + 15);
+        wheel.schedule(2, START + 95);
+
+        assertEquals(List.of(1, 2, 3), wheel.advance(START + 1_000));
+    }
+
+    @Test
+    @DisplayName("An invalid wheel is rejected")
+    void constructor_Invalid_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(Duration.ZERO, 8, 3, START));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(Duration.ofMillis(1), 1, 3, START));
+    }
+}
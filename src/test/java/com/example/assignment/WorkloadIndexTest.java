@@ -0,0 +1,122 @@
+package com.example.assignment;
+
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the indexes of the migrations to ensure:
+ * - The product listing filters (category, active price and rating ranges, featured, name) use an index
+ * - The rating pages sorted by date, per product, per customer or over all ratings, use an index
+ * - The email and sub-category lookups use an index
+ * The queries have the shape of those generated by Hibernate for the Specifications and the derived queries,
+ * and are explained on a catalog large enough for a sequential scan to be the worse plan.
+ */
+class WorkloadIndexTest {
+    private static final int PRODUCTS = 100_000;
+    private static final int CUSTOMERS = 5_000;
+    private static final int RATINGS = 300_000;
+    private static final String PRODUCT_PAGE = """
+        SELECT p.id, p.name, p.price, p.average_rating, p.category_id, f.priority
+        FROM products p LEFT JOIN feature_products f ON f.id = p.id
+        """;
+    private static final String RATING_PAGE = "SELECT r.id, r.score, r.comment, r.created_on FROM ratings r ";
+
+    @RegisterExtension
+    static final PreparedDbExtension DATABASE = TestDatabase.migrated();
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void seed() {
+        jdbcTemplate = new JdbcTemplate(DATABASE.getTestDatabase());
+        // 12 departments, 3 levels of 6 sub-categories, 2592 leaves (ids 517 to 3108)
+        jdbcTemplate.update("INSERT INTO categories (id, name) SELECT n, 'Department ' || n FROM generate_series(1, 12) n");
+        jdbcTemplate.update("""
+            INSERT INTO categories (id, name, parent_id)
+            SELECT n, 'Category ' || n, CASE WHEN n <= 84 THEN 1 + (n - 13) / 6 WHEN n <= 516 THEN 13 + (n - 85) / 6
+                                             ELSE 85 + (n - 517) / 6 END
+            FROM generate_series(13, 3108) n
+            """);
+        // Mostly active products, 1% featured, prices from 1 to 1000, ratings from 0 to 5
+        jdbcTemplate.update("""
+            INSERT INTO products (id, name, price, quantity, category_id, is_active, is_featured, average_rating, rating_count)
+            SELECT n, 'Product ' || n || ' ' || md5(n::text), 1 + random() * 999, 10, 517 + n % 2592,
+                   n % 10 <> 0, n % 100 = 0, random() * 5, 0
+            FROM generate_series(1, ?) n
+            """, PRODUCTS);
+        TestDatabase.insertCustomers(jdbcTemplate, CUSTOMERS);
+        jdbcTemplate.update("""
+            INSERT INTO ratings (score, comment, customer_id, product_id, created_on)
+            SELECT 1 + n % 5, 'Comment ' || n, 1 + n % ?, 1 + (n::bigint * 7919) % ?,
+                   timestamp '2024-01-01' + n * interval '1 minute'
+            FROM generate_series(1, ?) n
+            """, CUSTOMERS, PRODUCTS, RATINGS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Assert that the plan of the query reads the table through the index, never with a sequential scan.
+     */
+    private static void assertUsesIndex(String sql, String table, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertFalse(plan.contains("Seq Scan on " + table), plan);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    @Test
+    @DisplayName("The products of a category are paged on the category index")
+    void productsByCategory_UseIndex() {
+        assertUsesIndex(PRODUCT_PAGE + "WHERE p.category_id = 600 ORDER BY p.id OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY",
+            "products", "idx_products_category_id");
+        assertUsesIndex("SELECT count(p.id) FROM products p WHERE p.category_id = 600", "products", "idx_products_category_id");
+    }
+
+    @Test
+    @DisplayName("The active products in a price or rating range, or sorted by rating, are found on the partial indexes")
+    void activeProductsInRange_UsePartialIndexes() {
+        assertUsesIndex(PRODUCT_PAGE + "WHERE p.is_active = true AND p.price BETWEEN 100 AND 101 ORDER BY p.id FETCH FIRST 10 ROWS ONLY",
+            "products", "idx_products_active_price");
+        assertUsesIndex(PRODUCT_PAGE + "WHERE p.is_active = true AND p.average_rating >= 4 ORDER BY p.average_rating DESC FETCH FIRST 10 ROWS ONLY",
+            "products", "idx_products_active_rating");
+        assertUsesIndex("SELECT count(p.id) FROM products p WHERE p.is_active = true AND p.average_rating BETWEEN 4.95 AND 5",
+            "products", "idx_products_active_rating");
+        assertUsesIndex("SELECT count(p.id) FROM products p WHERE p.is_active = true AND p.price >= 990",
+            "products", "idx_products_active_price");
+    }
+
+    @Test
+    @DisplayName("The featured products and the name search use their indexes")
+    void featuredAndNameSearch_UseIndexes() {
+        assertUsesIndex(PRODUCT_PAGE + "WHERE p.is_featured = true ORDER BY p.id FETCH FIRST 10 ROWS ONLY",
+            "products", "idx_products_featured");
+        assertUsesIndex("SELECT count(p.id) FROM products p WHERE p.is_featured = true", "products", "idx_products_featured");
+        assertUsesIndex(PRODUCT_PAGE + "WHERE lower(p.name) LIKE '%product 4242 %' ORDER BY p.id FETCH FIRST 10 ROWS ONLY",
+            "products", "idx_products_name_trgm");
+    }
+
+    @Test
+    @DisplayName("The rating pages sorted by date use the rating indexes")
+    void ratingPages_UseIndexes() {
+        assertUsesIndex(RATING_PAGE + "WHERE r.product_id = 4242 ORDER BY r.created_on DESC FETCH FIRST 10 ROWS ONLY",
+            "ratings", "idx_ratings_product_created");
+        assertUsesIndex("SELECT count(r.id) FROM ratings r WHERE r.product_id = 4242", "ratings", "idx_ratings_product_created");
+        assertUsesIndex(RATING_PAGE + "WHERE r.customer_id = 42 ORDER BY r.created_on DESC FETCH FIRST 10 ROWS ONLY",
+            "ratings", "idx_ratings_customer_created");
+        assertUsesIndex(RATING_PAGE + "ORDER BY r.created_on DESC OFFSET 100 ROWS FETCH FIRST 10 ROWS ONLY",
+            "ratings", "idx_ratings_created");
+    }
+
+    @Test
+    @DisplayName("The email and sub-category lookups use an index")
+    void lookups_UseIndexes() {
+        assertUsesIndex("SELECT u.id, u.email, u.role FROM users u WHERE u.email = 'customer-42@example.com'",
+            "users", "users_email_key");
+        assertUsesIndex("SELECT c.id, c.name FROM categories c WHERE c.parent_id = 100", "categories", "idx_categories_parent_id");
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.assignment;
+
+import com.example.assignment.util.ZipfSampler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ZipfSampler to ensure:
+ * - Samples stay within [1, n]
+ * - The same seed yields the same samples
+ * - Rank frequencies follow the 1 / k^exponent law
+ * - Invalid parameters are rejected
+ */
+class ZipfSamplerTest {
+
+    @Test
+    @DisplayName("Test samples are within range")
+    void testSamplesWithinRange() {
+        ZipfSampler sampler = new ZipfSampler(50, 1.2);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 50, "rank out of range: " + rank);
+        }
+    }
+
+    @Test
+    @DisplayName("Test same seed yields same samples")
+    void testSameSeedSameSamples() {
+        ZipfSampler sampler = new ZipfSampler(1_000_000, 1.0);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    @Test
+    @DisplayName("Test rank frequencies follow the Zipf law")
+    void testFrequenciesFollowZipfLaw() {
+        int samples = 200_000;
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[101];
+
+        for (int i = 0; i < samples; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        double harmonic = 0;
+        for (int k = 1; k <= 100; k++) {
+            harmonic += 1.0 / k;
+        }
+        for (int k : new int[]{1, 2, 10}) {
+            double expected = samples / (k * harmonic);
+            assertEquals(expected, counts[k], expected * 0.05, "frequency of rank " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Test invalid parameters are rejected")
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, 0));
+    }
+}